@@ -0,0 +1,62 @@
+package com.innowise.order.client;
+
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.function.Supplier;
+
+/**
+ * Holder of the caller's {@code Authorization} header for calls to User Service.
+ * <p>
+ *     Inside a request the header is read from the current request. Tasks that run on other threads (for example
+ *     background cache refreshes) can be wrapped with {@link #wrap(String, Runnable)} to forward a given header.
+ * </p>
+ */
+public final class AuthorizationContext {
+
+    private static final String AUTHORIZATION_HEADER = "Authorization";
+    private static final ThreadLocal<String> AUTHORIZATION = new ThreadLocal<>();
+
+    private AuthorizationContext() {
+    }
+
+    /**
+     * Finds the {@code Authorization} header that should be forwarded from the current thread.
+     * @return header value or {@code null} if there's none
+     */
+    public static String currentAuthorization() {
+        var attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            return attributes.getRequest().getHeader(AUTHORIZATION_HEADER);
+        }
+        return AUTHORIZATION.get();
+    }
+
+    /**
+     * Wraps a task so that it forwards the given {@code Authorization} header.
+     * @param authorization header value, may be {@code null}
+     * @param task task to run on another thread
+     * @return wrapped task
+     */
+    public static Runnable wrap(String authorization, Runnable task) {
+        return () -> callWith(authorization, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs a call on the current thread forwarding the given {@code Authorization} header.
+     * @param authorization header value, may be {@code null}
+     * @param call call to run
+     * @return result of the call
+     */
+    public static <T> T callWith(String authorization, Supplier<T> call) {
+        AUTHORIZATION.set(authorization);
+        try {
+            return call.get();
+        } finally {
+            AUTHORIZATION.remove();
+        }
+    }
+}
@@ -1,32 +1,43 @@
 package com.innowise.order.client;
 
+import feign.Feign;
 import feign.RequestInterceptor;
 import feign.RequestTemplate;
-import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.openfeign.CircuitBreakerNameResolver;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
 
 @Configuration
 @RequiredArgsConstructor
 public class FeignClientConfig {
 
+    private static final String USER_SERVICE_CLIENT = "user-service";
+
     @Bean
     public RequestInterceptor requestInterceptor() {
         return new RequestInterceptor() {
             @Override
             public void apply(RequestTemplate template) {
-                var attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-                if (attributes != null) {
-                    HttpServletRequest request = attributes.getRequest();
-                    String authorization = request.getHeader("Authorization");
-                    if (authorization != null) {
-                        template.header("Authorization", authorization);
-                    }
+                String authorization = AuthorizationContext.currentAuthorization();
+                if (authorization != null) {
+                    template.header("Authorization", authorization);
                 }
             }
         };
     }
-}
\ No newline at end of file
+
+    /**
+     * Puts all calls to User Service behind the one circuit breaker {@code user.snapshot.circuit-breaker}, so its
+     * {@code resilience4j.circuitbreaker.instances.*} settings apply and its state can be checked. Calls of other
+     * clients keep the per-method names of Spring Cloud OpenFeign.
+     */
+    @Bean
+    public CircuitBreakerNameResolver circuitBreakerNameResolver(
+            @Value("${user.snapshot.circuit-breaker:userService}") String userServiceCircuitBreaker) {
+        return (feignClientName, target, method) -> USER_SERVICE_CLIENT.equals(feignClientName)
+                ? userServiceCircuitBreaker
+                : Feign.configKey(target.type(), method);
+    }
+}
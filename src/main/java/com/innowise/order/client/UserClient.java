@@ -5,7 +5,9 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 
-@FeignClient(name = "user-service", url = "${USER_SERVICE_URL}", fallback = UserClientFallback.class,
+import java.util.List;
+
+@FeignClient(name = "user-service", url = "${USER_SERVICE_URL}", fallbackFactory = UserClientFallbackFactory.class,
 configuration = FeignClientConfig.class)
 public interface UserClient {
 
@@ -14,4 +16,7 @@ public interface UserClient {
 
     @GetMapping("/users/get/{id}")
     UserResponseDto getUserById(@PathVariable Long id);
+
+    @GetMapping("/users/get")
+    List<UserResponseDto> getUsersByIds(@RequestParam List<Long> ids);
 }
@@ -3,29 +3,58 @@ package com.innowise.order.client;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
 
+/**
+ * Fallback for {@link UserClient} used while User Service is unavailable, chosen by {@link UserClientFallbackFactory}.
+ * <p>
+ *     Serves the last known snapshot of a user from {@link UserSnapshotStore}, marked as stale. Placeholder data is
+ *     returned only for users that were never loaded before.
+ * </p>
+ */
 @Component
 public class UserClientFallback implements UserClient {
 
+    private final UserSnapshotStore snapshotStore;
+
+    public UserClientFallback(UserSnapshotStore snapshotStore) {
+        this.snapshotStore = snapshotStore;
+    }
+
     @Override
     public UserResponseDto getUserByEmail(String email) {
-        UserResponseDto fallbackUser = new UserResponseDto();
-        fallbackUser.setId(0L);
-        fallbackUser.setName("Unknown");
-        fallbackUser.setSurname("User");
-        fallbackUser.setBirthDate(LocalDate.of(1970, 1, 1));
-        fallbackUser.setEmail(email);
-        return fallbackUser;
+        return snapshotStore.serveStaleByEmail(email).orElseGet(() -> {
+            UserResponseDto fallbackUser = new UserResponseDto();
+            fallbackUser.setId(0L);
+            fallbackUser.setName("Unknown");
+            fallbackUser.setSurname("User");
+            fallbackUser.setBirthDate(LocalDate.of(1970, 1, 1));
+            fallbackUser.setEmail(email);
+            fallbackUser.setStale(true);
+            return fallbackUser;
+        });
     }
 
     @Override
     public UserResponseDto getUserById(Long id) {
-        UserResponseDto fallbackUser = new UserResponseDto();
-        fallbackUser.setId(id);
-        fallbackUser.setName("Unknown");
-        fallbackUser.setSurname("User");
-        fallbackUser.setBirthDate(LocalDate.of(1970, 1, 1));
-        fallbackUser.setEmail("unknown@user.service");
-        return fallbackUser;
+        return snapshotStore.serveStaleById(id).orElseGet(() -> {
+            UserResponseDto fallbackUser = new UserResponseDto();
+            fallbackUser.setId(id);
+            fallbackUser.setName("Unknown");
+            fallbackUser.setSurname("User");
+            fallbackUser.setBirthDate(LocalDate.of(1970, 1, 1));
+            fallbackUser.setEmail("unknown@user.service");
+            fallbackUser.setStale(true);
+            return fallbackUser;
+        });
+    }
+
+    @Override
+    public List<UserResponseDto> getUsersByIds(List<Long> ids) {
+        return ids.stream()
+                .map(snapshotStore::serveStaleById)
+                .flatMap(Optional::stream)
+                .toList();
     }
 }
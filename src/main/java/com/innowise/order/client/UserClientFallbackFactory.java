@@ -0,0 +1,51 @@
+package com.innowise.order.client;
+
+import feign.FeignException;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Chooses the fallback of {@link UserClient} by the cause of the failure.
+ * <p>
+ *     Only failures of User Service itself are served by {@link UserClientFallback}. Client errors ({@code 4xx})
+ *     are answers, not outages: they are rethrown, so callers still see a missing user ({@code 404}), a rejected
+ *     token ({@code 401}) or a missing batch endpoint ({@code 404}/{@code 405}).
+ * </p>
+ */
+@Component
+public class UserClientFallbackFactory implements FallbackFactory<UserClient> {
+
+    private final UserClientFallback fallback;
+
+    public UserClientFallbackFactory(UserClientFallback fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public UserClient create(Throwable cause) {
+        if (cause instanceof FeignException.FeignClientException clientError) {
+            return new RethrowingUserClient(clientError);
+        }
+        return fallback;
+    }
+
+    private record RethrowingUserClient(FeignException.FeignClientException clientError) implements UserClient {
+
+        @Override
+        public UserResponseDto getUserByEmail(String email) {
+            throw clientError;
+        }
+
+        @Override
+        public UserResponseDto getUserById(Long id) {
+            throw clientError;
+        }
+
+        @Override
+        public List<UserResponseDto> getUsersByIds(List<Long> ids) {
+            throw clientError;
+        }
+    }
+}
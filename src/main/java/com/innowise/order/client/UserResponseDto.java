@@ -1,5 +1,6 @@
 package com.innowise.order.client;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 
 import java.time.LocalDate;
@@ -15,4 +16,10 @@ public class UserResponseDto {
     private String surname;
     public LocalDate birthDate;
     private String email;
+
+    /**
+     * Whether the data was not loaded from User Service just now but taken from the last known snapshot.
+     */
+    @JsonIgnore
+    private boolean stale;
 }
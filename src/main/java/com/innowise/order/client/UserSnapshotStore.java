@@ -0,0 +1,92 @@
+package com.innowise.order.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Store of the last known good data of users loaded from User Service.
+ * <p>
+ *     {@link UserClientFallback} serves these snapshots, marked as stale, while User Service is unavailable and
+ *     remembers which users were served stale, so that they can be loaded again once the service recovers.
+ * </p>
+ */
+@Component
+public class UserSnapshotStore {
+
+    private final Cache<Long, UserResponseDto> snapshotsById;
+    private final Cache<String, Long> idsByEmail;
+    private final Set<Long> pendingRevalidations = ConcurrentHashMap.newKeySet();
+
+    public UserSnapshotStore(@Value("${user.snapshot.maximum-size:50000}") long maximumSize) {
+        this.snapshotsById = Caffeine.newBuilder().maximumSize(maximumSize).build();
+        this.idsByEmail = Caffeine.newBuilder().maximumSize(maximumSize).build();
+    }
+
+    /**
+     * Saves fresh user data as the last known snapshot.
+     * @param user user loaded from User Service
+     */
+    public void save(UserResponseDto user) {
+        if (user == null || user.getId() == null || user.isStale()) {
+            return;
+        }
+        snapshotsById.put(user.getId(), user);
+        if (user.getEmail() != null) {
+            idsByEmail.put(user.getEmail(), user.getId());
+        }
+        pendingRevalidations.remove(user.getId());
+    }
+
+    /**
+     * Finds the last known snapshot of a user and schedules it for revalidation.
+     * @param id user's unique identifier
+     * @return stale copy of the user, empty if the user was never loaded
+     */
+    public Optional<UserResponseDto> serveStaleById(Long id) {
+        UserResponseDto snapshot = snapshotsById.getIfPresent(id);
+        if (snapshot == null) {
+            return Optional.empty();
+        }
+        pendingRevalidations.add(id);
+        return Optional.of(staleCopy(snapshot));
+    }
+
+    /**
+     * Finds the last known snapshot of a user and schedules it for revalidation.
+     * @param email user's email
+     * @return stale copy of the user, empty if the user was never loaded
+     */
+    public Optional<UserResponseDto> serveStaleByEmail(String email) {
+        Long id = idsByEmail.getIfPresent(email);
+        return id != null ? serveStaleById(id) : Optional.empty();
+    }
+
+    /**
+     * Lists users that were served stale and should be loaded again.
+     * @param limit maximum number of users to return
+     * @return users' unique identifiers
+     */
+    public List<Long> pendingRevalidations(int limit) {
+        return pendingRevalidations.stream()
+                .limit(limit)
+                .toList();
+    }
+
+    private UserResponseDto staleCopy(UserResponseDto snapshot) {
+        UserResponseDto user = new UserResponseDto();
+        user.setId(snapshot.getId());
+        user.setName(snapshot.getName());
+        user.setSurname(snapshot.getSurname());
+        user.setBirthDate(snapshot.getBirthDate());
+        user.setEmail(snapshot.getEmail());
+        user.setStale(true);
+        return user;
+    }
+}
@@ -1,8 +1,10 @@
 package com.innowise.order.controller;
 
+import com.innowise.order.dto.CursorPage;
 import com.innowise.order.dto.ItemRequestDto;
 import com.innowise.order.dto.ItemResponseDto;
 import com.innowise.order.service.ItemService;
+import com.innowise.order.service.PageCursor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -68,16 +70,22 @@ public class ItemController {
      * Finds items by their ids.
      *
      * @param ids A list of items' ids.
-     * @return A list of found items.
+     * @param after Cursor of the previous page, omitted for the first page.
+     * @param limit Page size, at most 500.
+     * @return A page of found items.
      * @throws com.innowise.order.exception.EmptyEntityListException If there's no items with given ids.
      * @response 200 OK - Items found.
      * @response 404 Not Found - Items not found.
+     * @response 400 Bad Request - Invalid cursor.
      * @response 500 Internal Server Error - Unexpected server error occurred.
      */
     @PreAuthorize("isAuthenticated()")
     @GetMapping("/get")
-    public ResponseEntity<List<ItemResponseDto>> getItemsByIds(@RequestParam List<Long> ids) {
-        List<ItemResponseDto> items = service.getItemsByIds(ids);
+    public ResponseEntity<CursorPage<ItemResponseDto>> getItemsByIds(
+            @RequestParam List<Long> ids,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = PageCursor.DEFAULT_LIMIT) int limit) {
+        CursorPage<ItemResponseDto> items = service.getItemsByIds(ids, after, limit);
         return ResponseEntity.status(HttpStatus.OK).body(items);
     }
 
@@ -1,10 +1,15 @@
 package com.innowise.order.controller;
 
 import com.innowise.order.client.UserResponseDto;
+import com.innowise.order.dto.CursorPage;
+import com.innowise.order.dto.OrderBatchResultDto;
 import com.innowise.order.dto.OrderRequestDto;
 import com.innowise.order.dto.OrderResponseDto;
+import com.innowise.order.service.OrderBatchService;
 import com.innowise.order.service.OrderService;
+import com.innowise.order.service.PageCursor;
 import com.innowise.order.status.OrderStatus;
+import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -20,6 +25,7 @@ import java.util.List;
  *     <li>Getting a list of orders by user email</li>
  *     <li>Getting user info by email</li>
  *     <li>Creating a new order</li>
+ *     <li>Creating many orders at once</li>
  *     <li>Getting an order by id</li>
  *     <li>Getting a list of orders by their ids</li>
  *     <li>Updating an order by id</li>
@@ -31,23 +37,31 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService service;
+    private final OrderBatchService batchService;
 
-    public OrderController(OrderService service) {
+    public OrderController(OrderService service, OrderBatchService batchService) {
         this.service = service;
+        this.batchService = batchService;
     }
 
     /**
      * Finds orders by e-mail.
      *
      * @param email User's e-mail.
-     * @return A list of found orders.
+     * @param after Cursor of the previous page, omitted for the first page.
+     * @param limit Page size, at most 500.
+     * @return A page of found orders.
      * @response 200 OK - Orders found.
+     * @response 400 Bad Request - Invalid cursor.
      * @response 500 Internal Server Error - Unexpected server error occurred.
      */
     @PreAuthorize("@securityService.isOwnerOrAdminByEmail(#email)")
     @GetMapping("/get/email")
-    public ResponseEntity<List<OrderResponseDto>> getOrdersByUserEmail(@RequestParam String email) {
-        List<OrderResponseDto> orders = service.getOrdersByEmail(email);
+    public ResponseEntity<CursorPage<OrderResponseDto>> getOrdersByUserEmail(
+            @RequestParam String email,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = PageCursor.DEFAULT_LIMIT) int limit) {
+        CursorPage<OrderResponseDto> orders = service.getOrdersByEmail(email, after, limit);
         return ResponseEntity.status(HttpStatus.OK).body(orders);
     }
 
@@ -68,20 +82,44 @@ public class OrderController {
     }
 
     /**
-     * Creates a new order.
+     * Creates a new order together with its line items.
      *
-     * @param orderDto New order's data.
-     * @return Created order.
+     * @param orderDto New order's data and its line items.
+     * @return Created order with its line items.
+     * @throws com.innowise.order.exception.EntityNotFoundException If the user or some item doesn't exist.
+     * @throws com.innowise.order.exception.UserUnavailableException If User Service can't confirm the user now.
      * @response 201 Created - New order successfully created.
+     * @response 400 Bad Request - Invalid order or line item.
+     * @response 404 Not Found - User or item not found.
      * @response 500 Internal Server Error - Unexpected server error occurred.
+     * @response 503 Service Unavailable - User Service is unavailable.
      */
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
     @PostMapping("/add")
-    public ResponseEntity<OrderResponseDto> addOrder(@RequestBody OrderRequestDto orderDto) {
+    public ResponseEntity<OrderResponseDto> addOrder(@Valid @RequestBody OrderRequestDto orderDto) {
         OrderResponseDto newOrder = service.createOrder(orderDto);
         return ResponseEntity.status(HttpStatus.CREATED).body(newOrder);
     }
 
+    /**
+     * Creates many orders at once. Orders that can't be created don't stop the others.
+     *
+     * @param orderDtos New orders' data.
+     * @return Result for every order, in the order of the request.
+     * @throws com.innowise.order.exception.OrderBatchTooLargeException If there are more orders than allowed.
+     * @response 201 Created - All orders successfully created.
+     * @response 207 Multi-Status - Some orders weren't created, see their results.
+     * @response 400 Bad Request - Too many orders, or an invalid order or line item.
+     * @response 500 Internal Server Error - Unexpected server error occurred.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/batch")
+    public ResponseEntity<List<OrderBatchResultDto>> addOrders(@RequestBody List<@Valid OrderRequestDto> orderDtos) {
+        List<OrderBatchResultDto> results = batchService.createOrders(orderDtos);
+        boolean allCreated = results.stream().allMatch(OrderBatchResultDto::isCreated);
+        return ResponseEntity.status(allCreated ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS).body(results);
+    }
+
     /**
      * Finds an order by id.
      *
@@ -103,16 +141,22 @@ public class OrderController {
      * Finds orders by their ids.
      *
      * @param ids A list of orders' ids.
-     * @return A list of found orders.
+     * @param after Cursor of the previous page, omitted for the first page.
+     * @param limit Page size, at most 500.
+     * @return A page of found orders.
      * @throws com.innowise.order.exception.EmptyEntityListException If there's no orders with given ids.
      * @response 200 OK - Orders found.
      * @response 404 Not Found - Orders not found.
+     * @response 400 Bad Request - Invalid cursor.
      * @response 500 Internal Server Error - Unexpected server error occurred.
      */
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/get")
-    public ResponseEntity<List<OrderResponseDto>> getOrdersByIds(@RequestParam List<Long> ids) {
-        List<OrderResponseDto> orders = service.getOrdersByIds(ids);
+    public ResponseEntity<CursorPage<OrderResponseDto>> getOrdersByIds(
+            @RequestParam List<Long> ids,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = PageCursor.DEFAULT_LIMIT) int limit) {
+        CursorPage<OrderResponseDto> orders = service.getOrdersByIds(ids, after, limit);
         return ResponseEntity.status(HttpStatus.OK).body(orders);
     }
 
@@ -120,16 +164,23 @@ public class OrderController {
      * Finds orders by status.
      *
      * @param status Some {@code Status} value.
-     * @return A list of found orders.
+     * @param after Cursor of the previous page, omitted for the first page.
+     * @param limit Page size, at most 500.
+     * @return A page of found orders.
      * @throws com.innowise.order.exception.OrdersWithStatusNotFoundException If there's no orders with given status.
      * @response 200 OK - Orders found.
      * @response 404 Not Found - Orders not found.
+     * @response 400 Bad Request - Invalid cursor.
      * @response 500 Internal Server Error - Unexpected server error occurred.
      */
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/get/status")
-    public ResponseEntity<List<OrderResponseDto>> getOrdersByStatus(@RequestParam String status) {
-        List<OrderResponseDto> orders = service.getOrdersByStatus(OrderStatus.valueOf(status.toUpperCase()));
+    public ResponseEntity<CursorPage<OrderResponseDto>> getOrdersByStatus(
+            @RequestParam String status,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = PageCursor.DEFAULT_LIMIT) int limit) {
+        CursorPage<OrderResponseDto> orders = service.getOrdersByStatus(OrderStatus.valueOf(status.toUpperCase()),
+                after, limit);
         return ResponseEntity.status(HttpStatus.OK).body(orders);
     }
 
@@ -137,16 +188,22 @@ public class OrderController {
      * Finds orders by user ID.
      *
      * @param userId User's unique identifier.
-     * @return A list of found orders.
+     * @param after Cursor of the previous page, omitted for the first page.
+     * @param limit Page size, at most 500.
+     * @return A page of found orders.
      * @throws com.innowise.order.exception.OrdersWithUserIdNotFoundException If there's no orders with given user ID.
      * @response 200 OK - Orders found.
      * @response 404 Not Found - Orders not found.
+     * @response 400 Bad Request - Invalid cursor.
      * @response 500 Internal Server Error - Unexpected server error occurred.
      */
     @PreAuthorize("@securityService.isOwnerOrAdminByUserId(#userId)")
     @GetMapping("/get/user_id")
-    public ResponseEntity<List<OrderResponseDto>> getOrdersByUserId(@RequestParam Long userId) {
-        List<OrderResponseDto> orders = service.getOrdersByUserId(userId);
+    public ResponseEntity<CursorPage<OrderResponseDto>> getOrdersByUserId(
+            @RequestParam Long userId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = PageCursor.DEFAULT_LIMIT) int limit) {
+        CursorPage<OrderResponseDto> orders = service.getOrdersByUserId(userId, after, limit);
         return ResponseEntity.status(HttpStatus.OK).body(orders);
     }
 
@@ -0,0 +1,67 @@
+package com.innowise.order.controller;
+
+import com.innowise.order.client.AuthorizationContext;
+import com.innowise.order.service.OrderExportService;
+import com.innowise.order.status.OrderStatus;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+
+/**
+ * REST-controller for exporting orders.
+ * <p>
+ * Provides operations:
+ * <ul>
+ *     <li>Streaming all orders with some status as NDJSON</li>
+ * </ul>
+ * Exports run longer than ordinary requests, so their async timeout is {@code order.export.timeout} instead of the
+ * default one of Spring MVC.
+ */
+@RestController
+@RequestMapping("/orders/admin/export")
+public class OrderExportController {
+
+    private final OrderExportService service;
+    private final Duration timeout;
+
+    public OrderExportController(OrderExportService service,
+                                 @Value("${order.export.timeout:30m}") Duration timeout) {
+        this.service = service;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Streams all orders with given status, one JSON object per line. The response is written while orders are
+     * read from the database, so the first orders arrive before the last ones are loaded.
+     *
+     * @param status Some {@code Status} value.
+     * @param request Current request, whose async timeout is set to {@code order.export.timeout}.
+     * @return Stream of orders in NDJSON.
+     * @response 200 OK - Orders are being streamed.
+     * @response 500 Internal Server Error - Unexpected server error occurred.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> exportOrdersByStatus(@RequestParam String status,
+                                                                      HttpServletRequest request) {
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(timeout.toMillis());
+        OrderStatus orderStatus = OrderStatus.valueOf(status.toUpperCase());
+        String authorization = AuthorizationContext.currentAuthorization();
+        StreamingResponseBody body = out -> AuthorizationContext.callWith(authorization,
+                () -> service.exportByStatus(orderStatus, out));
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
@@ -1,8 +1,10 @@
 package com.innowise.order.controller;
 
+import com.innowise.order.dto.CursorPage;
 import com.innowise.order.dto.OrderItemRequestDto;
 import com.innowise.order.dto.OrderItemResponseDto;
 import com.innowise.order.service.OrderItemService;
+import com.innowise.order.service.PageCursor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -70,16 +72,22 @@ public class OrderItemController {
      * Finds order items by their ids.
      *
      * @param ids A list of order items' ids.
-     * @return A list of found order items.
+     * @param after Cursor of the previous page, omitted for the first page.
+     * @param limit Page size, at most 500.
+     * @return A page of found order items.
      * @throws com.innowise.order.exception.EmptyEntityListException If there's no order items with given ids.
      * @response 200 OK - Order items found.
      * @response 404 Not Found - Order items not found.
+     * @response 400 Bad Request - Invalid cursor.
      * @response 500 Internal Server Error - Unexpected server error occurred.
      */
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/get")
-    public ResponseEntity<List<OrderItemResponseDto>> getOrderItemsByIds(@RequestParam List<Long> ids) {
-        List<OrderItemResponseDto> orderItems = service.getOrderItemsByIds(ids);
+    public ResponseEntity<CursorPage<OrderItemResponseDto>> getOrderItemsByIds(
+            @RequestParam List<Long> ids,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = PageCursor.DEFAULT_LIMIT) int limit) {
+        CursorPage<OrderItemResponseDto> orderItems = service.getOrderItemsByIds(ids, after, limit);
         return ResponseEntity.status(HttpStatus.OK).body(orderItems);
     }
 
@@ -87,16 +95,22 @@ public class OrderItemController {
      * Finds order items by order id.
      *
      * @param orderId Identifier of some order.
-     * @return A list of found order items.
+     * @param after Cursor of the previous page, omitted for the first page.
+     * @param limit Page size, at most 500.
+     * @return A page of found order items.
      * @throws com.innowise.order.exception.EmptyOrderItemListSingleIdException If there's no order items with given id.
      * @response 200 OK - Order items found.
      * @response 404 Not Found - Order items not found.
+     * @response 400 Bad Request - Invalid cursor.
      * @response 500 Internal Server Error - Unexpected server error occurred.
      */
-    @PreAuthorize("@securityService.isOrderOwnerOrAdmin(#orderId)")
+    @PreAuthorize("@securityService.isOrderItemsOwnerOrAdmin(#orderId, #after, #limit)")
     @GetMapping("/get/order-id/{orderId}")
-    public ResponseEntity<List<OrderItemResponseDto>> getOrderItemsByOrderId(@PathVariable Long orderId) {
-        List<OrderItemResponseDto> orderItems = service.getOrderItemsByOrderId(orderId);
+    public ResponseEntity<CursorPage<OrderItemResponseDto>> getOrderItemsByOrderId(
+            @PathVariable Long orderId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = PageCursor.DEFAULT_LIMIT) int limit) {
+        CursorPage<OrderItemResponseDto> orderItems = service.getOrderItemsByOrderId(orderId, after, limit);
         return ResponseEntity.status(HttpStatus.OK).body(orderItems);
     }
 
@@ -104,16 +118,22 @@ public class OrderItemController {
      * Finds order items by item id.
      *
      * @param itemId Identifier of some item.
-     * @return A list of found order items.
+     * @param after Cursor of the previous page, omitted for the first page.
+     * @param limit Page size, at most 500.
+     * @return A page of found order items.
      * @throws com.innowise.order.exception.EmptyOrderItemListSingleIdException If there's no order items with given id.
      * @response 200 OK - Order items found.
      * @response 404 Not Found - Order items not found.
+     * @response 400 Bad Request - Invalid cursor.
      * @response 500 Internal Server Error - Unexpected server error occurred.
      */
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/get/item-id/{itemId}")
-    public ResponseEntity<List<OrderItemResponseDto>> getOrderItemsByItemId(@PathVariable Long itemId) {
-        List<OrderItemResponseDto> orderItems = service.getOrderItemsByItemId(itemId);
+    public ResponseEntity<CursorPage<OrderItemResponseDto>> getOrderItemsByItemId(
+            @PathVariable Long itemId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = PageCursor.DEFAULT_LIMIT) int limit) {
+        CursorPage<OrderItemResponseDto> orderItems = service.getOrderItemsByItemId(itemId, after, limit);
         return ResponseEntity.status(HttpStatus.OK).body(orderItems);
     }
 
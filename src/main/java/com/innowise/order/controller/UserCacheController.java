@@ -0,0 +1,69 @@
+package com.innowise.order.controller;
+
+import com.innowise.order.service.UserLookupService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST-controller for managing the local cache of users loaded from User Service.
+ * <p>
+ * Provides operations:
+ * <ul>
+ *     <li>Evicting a user by id</li>
+ *     <li>Evicting a user by email</li>
+ *     <li>Evicting all users</li>
+ * </ul>
+ */
+@RestController
+@RequestMapping("/orders/admin/user-cache")
+public class UserCacheController {
+
+    private final UserLookupService service;
+
+    public UserCacheController(UserLookupService service) {
+        this.service = service;
+    }
+
+    /**
+     * Evicts a user with given id from the cache.
+     *
+     * @param id User's id.
+     * @response 204 No Content - User evicted.
+     * @response 500 Internal Server Error - Unexpected server error occurred.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @DeleteMapping("/id/{id}")
+    public ResponseEntity<Void> evictUserById(@PathVariable Long id) {
+        service.evictUserById(id);
+        return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+    }
+
+    /**
+     * Evicts a user with given e-mail from the cache.
+     *
+     * @param email User's e-mail.
+     * @response 204 No Content - User evicted.
+     * @response 500 Internal Server Error - Unexpected server error occurred.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @DeleteMapping("/email")
+    public ResponseEntity<Void> evictUserByEmail(@RequestParam String email) {
+        service.evictUserByEmail(email);
+        return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+    }
+
+    /**
+     * Evicts all users from the cache.
+     *
+     * @response 204 No Content - Cache cleared.
+     * @response 500 Internal Server Error - Unexpected server error occurred.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @DeleteMapping
+    public ResponseEntity<Void> evictAll() {
+        service.evictAll();
+        return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+    }
+}
@@ -0,0 +1,28 @@
+package com.innowise.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a list returned by keyset pagination.
+ *
+ * @param <T> type of the elements
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> {
+
+    /**
+     * Elements of the page, sorted by id.
+     */
+    private List<T> items;
+
+    /**
+     * Opaque cursor to pass as {@code after} to get the next page. {@code null} if this is the last page.
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,34 @@
+package com.innowise.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for returning the result of one order of a bulk creation request.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderBatchResultDto {
+
+    /**
+     * Position of the order in the request, starting from 0.
+     */
+    private int index;
+
+    /**
+     * Whether the order was created.
+     */
+    private boolean created;
+
+    /**
+     * Created order. {@code null} if the order wasn't created.
+     */
+    private OrderResponseDto order;
+
+    /**
+     * Reason why the order wasn't created. {@code null} if the order was created.
+     */
+    private String error;
+}
@@ -4,6 +4,7 @@ import com.innowise.order.status.OrderStatus;
 import lombok.Data;
 
 import java.time.LocalDate;
+import java.util.List;
 
 @Data
 public class OrderEventDto {
@@ -12,4 +13,5 @@ public class OrderEventDto {
     private OrderStatus status;
     private LocalDate creationDate;
     private String source;
+    private List<OrderEventLineDto> lines;
 }
@@ -0,0 +1,13 @@
+package com.innowise.order.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class OrderEventLineDto {
+    private Long orderItemId;
+    private Long itemId;
+    private Integer quantity;
+    private BigDecimal price;
+}
@@ -0,0 +1,25 @@
+package com.innowise.order.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+/**
+ * Data Transfer Object for one line item of an order created together with its items.
+ */
+@Data
+public class OrderLineRequestDto {
+
+    /**
+     * Some {@code Item} from table "items" to put in the order.
+     */
+    @NotNull(message = "Item ID must not be NULL")
+    private Long itemId;
+
+    /**
+     * The amount of mentioned items in the order.
+     */
+    @NotNull(message = "Quantity must not be NULL")
+    @Positive(message = "Quantity must be positive")
+    private Integer quantity;
+}
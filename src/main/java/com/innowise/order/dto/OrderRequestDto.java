@@ -1,10 +1,12 @@
 package com.innowise.order.dto;
 
 import com.innowise.order.status.OrderStatus;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
 import java.time.LocalDate;
+import java.util.List;
 
 /**
  * Data Transfer Object for creating or updating an order in REST API requests.
@@ -29,4 +31,10 @@ public class OrderRequestDto {
      */
     @NotNull
     private LocalDate creationDate;
+
+    /**
+     * Line items created together with the order. May be omitted to create an order without items.
+     */
+    @Valid
+    private List<OrderLineRequestDto> items;
 }
@@ -5,6 +5,7 @@ import com.innowise.order.status.OrderStatus;
 import lombok.Data;
 
 import java.time.LocalDate;
+import java.util.List;
 
 /**
  * Data Transfer Object for returning order data in REST API responses.
@@ -36,4 +37,14 @@ public class OrderResponseDto {
      * User with {@code userId} who own current order.
      */
     private UserResponseDto user;
+
+    /**
+     * Whether {@code user} is a last known snapshot served while User Service is unavailable.
+     */
+    private boolean userStale;
+
+    /**
+     * Line items created together with the order. Returned only by order creation.
+     */
+    private List<OrderItemResponseDto> items;
 }
@@ -19,11 +19,12 @@ import java.util.List;
 public class Item {
 
     /**
-     * Unique identifier of the item. Generates automatically by the database.
+     * Unique identifier of the item. Generated from a database sequence, 50 values per round trip.
      */
     @Id
     @Column(name = "id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_id_generator")
+    @SequenceGenerator(name = "item_id_generator", sequenceName = "items_id_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -20,11 +20,12 @@ import java.util.List;
 public class Order {
 
     /**
-     * Unique identifier of the order. Generates automatically by the database.
+     * Unique identifier of the order. Generated from a database sequence, 50 values per round trip.
      */
     @Id
     @Column(name = "id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_id_generator")
+    @SequenceGenerator(name = "order_id_generator", sequenceName = "orders_id_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 /**
  * Entity that stores an entry of an {@code Item} within a singular {@code Order}.
@@ -16,25 +18,31 @@ import lombok.NoArgsConstructor;
 public class OrderItem {
 
     /**
-     * Unique identifier of the record about a singular {@code Item} entry. Generates automatically by the database.
+     * Unique identifier of the record about a singular {@code Item} entry. Generated from a database sequence,
+     * 50 values per round trip.
      */
     @Id
     @Column(name = "id")
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_id_generator")
+    @SequenceGenerator(name = "order_item_id_generator", sequenceName = "order_items_id_seq", allocationSize = 50)
     private Long id;
 
     /**
-     * Unique identifier of the {@code Order}that owns the entry.
+     * Unique identifier of the {@code Order}that owns the entry. The entry is deleted by the database together with
+     * the order.
      */
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private Order order;
 
     /**
-     * Unique identifier of the {@code Item} that is the entry within the order.
+     * Unique identifier of the {@code Item} that is the entry within the order. The entry is deleted by the database
+     * together with the item.
      */
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private Item item;
 
     /**
@@ -0,0 +1,52 @@
+package com.innowise.order.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Entity that stores order events waiting to be published to Kafka.
+ */
+@Entity
+@Table(name = "order_outbox")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OutboxEvent {
+
+    /**
+     * Unique identifier of the event. Generated from a database sequence, 50 values per round trip.
+     */
+    @Id
+    @Column(name = "id")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_outbox_id_generator")
+    @SequenceGenerator(name = "order_outbox_id_generator", sequenceName = "order_outbox_id_seq", allocationSize = 50)
+    private Long id;
+
+    /**
+     * Unique identifier of the order the event is about.
+     */
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    /**
+     * The event as JSON.
+     */
+    @Column(name = "payload", nullable = false, columnDefinition = "text")
+    private String payload;
+
+    /**
+     * The time when the event was written.
+     */
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    /**
+     * The time when the broker acknowledged the event, {@code null} while it is not sent.
+     */
+    @Column(name = "sent_at")
+    private Instant sentAt;
+}
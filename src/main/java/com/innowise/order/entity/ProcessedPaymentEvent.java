@@ -0,0 +1,32 @@
+package com.innowise.order.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Entity that stores payment events whose status changes were applied to orders.
+ */
+@Entity
+@Table(name = "processed_payment_events")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProcessedPaymentEvent {
+
+    /**
+     * Unique identifier of the payment event, assigned by Payment Service.
+     */
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    /**
+     * The time when the event was applied.
+     */
+    @Column(name = "processed_at", nullable = false)
+    private Instant processedAt;
+}
@@ -0,0 +1,7 @@
+package com.innowise.order.exception;
+
+public class OrderBatchTooLargeException extends RuntimeException {
+    public OrderBatchTooLargeException(int size, int maxSize) {
+        super("Batch of " + size + " orders exceeds the limit of " + maxSize);
+    }
+}
@@ -0,0 +1,7 @@
+package com.innowise.order.exception;
+
+public class UserUnavailableException extends RuntimeException {
+    public UserUnavailableException(Long userId) {
+        super("User with id " + userId + " can't be verified while User Service is unavailable");
+    }
+}
@@ -0,0 +1,71 @@
+package com.innowise.order.kafka;
+
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
+
+import java.time.Duration;
+
+/**
+ * Listener containers of consumed events.
+ * <p>
+ *     A record the listener reports as failed is retried {@code payment.listener.retry.max-retries} times with
+ *     exponential backoff. After that it is published to {@code payment.listener.dead-letter-topic} and skipped, so
+ *     a record that can't be applied neither blocks its partition nor gets lost.
+ * </p>
+ */
+@Configuration
+public class KafkaConsumerConfig {
+
+    @Bean
+    public ProducerFactory<Object, Object> deadLetterProducerFactory(KafkaProperties kafkaProperties) {
+        return new DefaultKafkaProducerFactory<>(kafkaProperties.buildProducerProperties(null));
+    }
+
+    @Bean
+    public KafkaTemplate<Object, Object> deadLetterKafkaTemplate(
+            ProducerFactory<Object, Object> deadLetterProducerFactory) {
+        return new KafkaTemplate<>(deadLetterProducerFactory);
+    }
+
+    @Bean
+    public DefaultErrorHandler paymentErrorHandler(
+            KafkaOperations<Object, Object> deadLetterKafkaTemplate,
+            @Value("${payment.listener.dead-letter-topic:create_payment_v2.DLT}") String deadLetterTopic,
+            @Value("${payment.listener.retry.max-retries:5}") int maxRetries,
+            @Value("${payment.listener.retry.initial-interval:1s}") Duration initialInterval,
+            @Value("${payment.listener.retry.multiplier:2}") double multiplier,
+            @Value("${payment.listener.retry.max-interval:30s}") Duration maxInterval) {
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(deadLetterKafkaTemplate,
+                (record, exception) -> new TopicPartition(deadLetterTopic, -1));
+        ExponentialBackOffWithMaxRetries backOff = new ExponentialBackOffWithMaxRetries(maxRetries);
+        backOff.setInitialInterval(initialInterval.toMillis());
+        backOff.setMultiplier(multiplier);
+        backOff.setMaxInterval(maxInterval.toMillis());
+        return new DefaultErrorHandler(recoverer, backOff);
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> kafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> kafkaConsumerFactory,
+            DefaultErrorHandler paymentErrorHandler) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, kafkaConsumerFactory);
+        factory.setCommonErrorHandler(paymentErrorHandler);
+        return factory;
+    }
+}
@@ -0,0 +1,36 @@
+package com.innowise.order.kafka;
+
+import com.innowise.order.dto.OrderEventDto;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Producer of order events. Starts from the {@code spring.kafka.producer.*} settings and applies
+ * {@link OrderProducerProperties} on top of them.
+ */
+@Configuration
+@EnableConfigurationProperties(OrderProducerProperties.class)
+public class KafkaProducerConfig {
+
+    @Bean
+    public ProducerFactory<String, OrderEventDto> orderEventProducerFactory(KafkaProperties kafkaProperties,
+                                                                            OrderProducerProperties properties) {
+        Map<String, Object> config = new HashMap<>(kafkaProperties.buildProducerProperties(null));
+        config.putAll(properties.producerConfig());
+        return new DefaultKafkaProducerFactory<>(config);
+    }
+
+    @Bean
+    public KafkaTemplate<String, OrderEventDto> orderEventKafkaTemplate(
+            ProducerFactory<String, OrderEventDto> orderEventProducerFactory) {
+        return new KafkaTemplate<>(orderEventProducerFactory);
+    }
+}
@@ -1,27 +1,73 @@
 package com.innowise.order.kafka;
 
 import com.innowise.order.dto.OrderEventDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Producer of order events.
+ * <p>
+ *     Events are keyed by order id, so all events of one order go to the same partition and keep their order.
+ *     The time from a send to its acknowledgement is published as the {@code kafka.producer.send} timer with
+ *     {@code result=success} or {@code result=failure}, and failed sends as {@code kafka.producer.send.failures}.
+ * </p>
+ */
 @Service
 public class OrderProducer {
 
     private static final String TOPIC = "create_order_v2";
 
     private final KafkaTemplate<String, OrderEventDto> kafkaTemplate;
+    private final Timer succeeded;
+    private final Timer failed;
+    private final Counter failures;
 
-    public OrderProducer(KafkaTemplate<String, OrderEventDto> kafkaTemplate) {
+    public OrderProducer(KafkaTemplate<String, OrderEventDto> kafkaTemplate, MeterRegistry meterRegistry) {
         this.kafkaTemplate = kafkaTemplate;
+        this.succeeded = sendTimer(meterRegistry, "success");
+        this.failed = sendTimer(meterRegistry, "failure");
+        this.failures = Counter.builder("kafka.producer.send.failures")
+                .tag("topic", TOPIC)
+                .register(meterRegistry);
     }
 
     /**
-     * Sends an order creation event to Kafka.
+     * Sends an order creation event to Kafka without waiting for the broker. Records sent one after another are
+     * batched by the producer.
      *
      * @param orderEvent Order event DTO
+     * @return result of the send, completed when the broker acknowledges the record
      */
-    public void sendCreateOrderEvent(OrderEventDto orderEvent) {
-        kafkaTemplate.send(TOPIC, orderEvent);
-        System.out.println("Sent CREATE_ORDER event: " + orderEvent);
+    public CompletableFuture<SendResult<String, OrderEventDto>> sendCreateOrderEvent(OrderEventDto orderEvent) {
+        long start = System.nanoTime();
+        CompletableFuture<SendResult<String, OrderEventDto>> send;
+        try {
+            send = kafkaTemplate.send(TOPIC, String.valueOf(orderEvent.getOrderId()), orderEvent);
+        } catch (RuntimeException e) {
+            send = CompletableFuture.failedFuture(e);
+        }
+        return send.whenComplete((result, exception) -> {
+            long elapsed = System.nanoTime() - start;
+            if (exception == null) {
+                succeeded.record(elapsed, TimeUnit.NANOSECONDS);
+            } else {
+                failed.record(elapsed, TimeUnit.NANOSECONDS);
+                failures.increment();
+            }
+        });
+    }
+
+    private static Timer sendTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("kafka.producer.send")
+                .tag("topic", TOPIC)
+                .tag("result", result)
+                .register(meterRegistry);
     }
-}
\ No newline at end of file
+}
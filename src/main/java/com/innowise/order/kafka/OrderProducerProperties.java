@@ -0,0 +1,48 @@
+package com.innowise.order.kafka;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.record.CompressionType;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Batching, compression and delivery settings of the order event producer, bound from {@code order.producer.*}.
+ * <p>
+ *     The producer waits up to {@code linger} for a batch of {@code batch-size} bytes per partition to fill, and
+ *     compresses whole batches. Idempotence needs {@code acks=all} and at most 5 requests in flight, and keeps
+ *     the order of events with the same key across retries.
+ * </p>
+ *
+ * @param linger how long a batch may wait for more records
+ * @param batchSize maximum size of a batch per partition
+ * @param compressionType codec applied to batches
+ * @param idempotence whether the broker drops duplicates caused by retries
+ * @param acks acknowledgements the leader waits for
+ * @param maxInFlightRequests maximum number of unacknowledged requests per connection
+ */
+@ConfigurationProperties("order.producer")
+public record OrderProducerProperties(@DefaultValue("10ms") Duration linger,
+                                      @DefaultValue("64KB") DataSize batchSize,
+                                      @DefaultValue("lz4") CompressionType compressionType,
+                                      @DefaultValue("true") boolean idempotence,
+                                      @DefaultValue("all") String acks,
+                                      @DefaultValue("5") int maxInFlightRequests) {
+
+    /**
+     * Converts the settings to Kafka producer configuration.
+     * @return producer configuration entries
+     */
+    public Map<String, Object> producerConfig() {
+        return Map.of(
+                ProducerConfig.LINGER_MS_CONFIG, (int) linger.toMillis(),
+                ProducerConfig.BATCH_SIZE_CONFIG, (int) batchSize.toBytes(),
+                ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType.name,
+                ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, idempotence,
+                ProducerConfig.ACKS_CONFIG, acks,
+                ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, maxInFlightRequests);
+    }
+}
@@ -0,0 +1,170 @@
+package com.innowise.order.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innowise.order.dto.OrderEventDto;
+import com.innowise.order.entity.OutboxEvent;
+import com.innowise.order.repository.OutboxRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Background task that publishes the order events of the outbox to Kafka.
+ * <p>
+ *     Every batch locks the oldest unsent rows with {@code FOR UPDATE SKIP LOCKED}, so {@code outbox.relay.threads}
+ *     relay threads and any number of service instances share the outbox without sending a row twice. The whole
+ *     batch is handed to the producer at once, and the rows acknowledged by the broker are marked sent with one
+ *     statement before the locks are released. Rows that failed stay unsent and go out with a later batch, so an
+ *     event may be delivered more than once but is never lost.
+ * </p>
+ * <p>
+ *     The row locks and a pooled connection are held while the batch waits for its acknowledgements, so the wait
+ *     is bounded by the short {@code outbox.relay.send-timeout}, and {@code max.block.ms} of the producer bounds a
+ *     send that waits for metadata. Rows not acknowledged in time are left unsent and sent again with a later batch
+ *     rather than keeping the transaction open.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay implements DisposableBean {
+
+    private final OutboxRepository repository;
+    private final OrderProducer producer;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transaction;
+    private final ExecutorService workers;
+    private final int threads;
+    private final int batchSize;
+    private final Duration sendTimeout;
+    private final Duration retention;
+
+    public OutboxRelay(OutboxRepository repository, OrderProducer producer, ObjectMapper objectMapper,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${outbox.relay.threads:2}") int threads,
+                       @Value("${outbox.relay.batch-size:500}") int batchSize,
+                       @Value("${outbox.relay.send-timeout:2s}") Duration sendTimeout,
+                       @Value("${outbox.relay.retention:7d}") Duration retention) {
+        this.repository = repository;
+        this.producer = producer;
+        this.objectMapper = objectMapper;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.workers = Executors.newFixedThreadPool(threads);
+        this.threads = threads;
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+        this.retention = retention;
+    }
+
+    /**
+     * Publishes unsent events until the outbox is drained or a batch is not sent completely.
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:200}")
+    public void relay() {
+        List<Future<?>> drains = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            drains.add(workers.submit(this::drain));
+        }
+        for (Future<?> drain : drains) {
+            try {
+                drain.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                log.error("Error relaying order events", e.getCause());
+            }
+        }
+    }
+
+    /**
+     * Publishes one batch of unsent events.
+     * @return number of events acknowledged by the broker and marked sent
+     */
+    public int relayBatch() {
+        Integer sent = transaction.execute(status -> {
+            List<OutboxEvent> events = repository.lockUnsent(batchSize);
+            if (events.isEmpty()) {
+                return 0;
+            }
+
+            List<CompletableFuture<?>> sends = events.stream()
+                    .map(this::send)
+                    .toList();
+            List<Long> sentIds = new ArrayList<>(events.size());
+            long deadline = System.nanoTime() + sendTimeout.toNanos();
+            for (int i = 0; i < events.size(); i++) {
+                if (await(sends.get(i), deadline)) {
+                    sentIds.add(events.get(i).getId());
+                }
+            }
+
+            if (!sentIds.isEmpty()) {
+                repository.markSent(sentIds, Instant.now());
+            }
+            return sentIds.size();
+        });
+        return sent == null ? 0 : sent;
+    }
+
+    /**
+     * Deletes events sent longer than {@code outbox.relay.retention} ago.
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.cleanup-interval-ms:3600000}")
+    public void deleteSent() {
+        repository.deleteSentBefore(Instant.now().minus(retention));
+    }
+
+    @Override
+    public void destroy() {
+        workers.shutdownNow();
+    }
+
+    private void drain() {
+        while (relayBatch() == batchSize) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+        }
+    }
+
+    private CompletableFuture<?> send(OutboxEvent event) {
+        try {
+            return producer.sendCreateOrderEvent(objectMapper.readValue(event.getPayload(), OrderEventDto.class));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private boolean await(CompletableFuture<?> send, long deadline) {
+        try {
+            send.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            log.warn("Error sending order event: {}", e.getCause().getMessage());
+            return false;
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+}
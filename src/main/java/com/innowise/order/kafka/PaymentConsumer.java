@@ -0,0 +1,205 @@
+package com.innowise.order.kafka;
+
+import com.innowise.order.dto.PaymentEventDto;
+import com.innowise.order.service.PaymentEventLedger;
+import com.innowise.order.service.PaymentEventService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Consumer of payment events.
+ * <p>
+ *     {@code payment.listener.concurrency} consumers share the partitions of the topic, and every consumer handles
+ *     a poll at a time. Events the ledger already knows are dropped without a query. The others are split into
+ *     {@code payment.listener.shards} shards by the hash of their order id and the shards are applied by
+ *     {@link PaymentEventService} in parallel, a transaction per shard. The pool has a thread for every shard of
+ *     every consumer, so the consumers don't wait for each other's shards. All events of one order fall into the
+ *     same shard, so they are applied one after another in the order they were consumed. If the transaction of a
+ *     shard fails, its events are applied again one by one, so the events before the failing one are kept.
+ * </p>
+ * <p>
+ *     The listener returns once every shard is done. It then commits the offsets itself, so the ack mode is
+ *     {@code manual}: every partition is committed separately, up to the first event of the partition that wasn't
+ *     applied. If a shard failed, the listener reports the first
+ *     failed event of the poll, and the error handler of {@link KafkaConsumerConfig} delivers the events after it
+ *     again. The reported event is retried and finally dead-lettered. Redelivered events that were applied before
+ *     are dropped by the ledger.
+ * </p>
+ */
+@Slf4j
+@Component
+public class PaymentConsumer implements DisposableBean {
+
+    private static final String PAYMENT_SOURCE = "payment-service";
+
+    private final PaymentEventService paymentEventService;
+    private final PaymentEventLedger ledger;
+    private final int shards;
+    private final ExecutorService executor;
+
+    public PaymentConsumer(PaymentEventService paymentEventService, PaymentEventLedger ledger,
+                           @Value("${payment.listener.concurrency:3}") int concurrency,
+                           @Value("${payment.listener.shards:8}") int shards) {
+        this.paymentEventService = paymentEventService;
+        this.ledger = ledger;
+        this.shards = shards;
+        this.executor = Executors.newFixedThreadPool(concurrency * shards);
+    }
+
+    /**
+     * Applies the payment events of one poll to the statuses of their orders and commits their offsets.
+     * @param records consumed records in the order they were consumed, with {@code null} values for undeserializable
+     *                records
+     * @param consumer consumer that polled the records
+     */
+    @KafkaListener(topics = "create_payment_v2", groupId = "order-service-group-v2", batch = "true",
+            concurrency = "${payment.listener.concurrency:3}")
+    public void handleCreatePayments(List<ConsumerRecord<String, PaymentEventDto>> records, Consumer<?, ?> consumer) {
+        List<PaymentEventDto> paymentEvents = records.stream()
+                .map(ConsumerRecord::value)
+                .toList();
+        List<List<Integer>> shardIndexes = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            shardIndexes.add(new ArrayList<>());
+        }
+        for (int i = 0; i < paymentEvents.size(); i++) {
+            PaymentEventDto paymentEvent = paymentEvents.get(i);
+            if (paymentEvent == null) {
+                continue;
+            }
+            if (!PAYMENT_SOURCE.equals(paymentEvent.getSource())) {
+                log.debug("Ignoring payment event {} from source {}", paymentEvent.getId(), paymentEvent.getSource());
+                continue;
+            }
+            if (paymentEvent.getId() == null || !ledger.isProcessed(paymentEvent.getId())) {
+                shardIndexes.get(shardOf(paymentEvent)).add(i);
+            }
+        }
+
+        List<List<Integer>> submitted = new ArrayList<>(shards);
+        List<Future<ShardFailure>> results = new ArrayList<>(shards);
+        for (List<Integer> indexes : shardIndexes) {
+            if (!indexes.isEmpty()) {
+                submitted.add(indexes);
+                results.add(executor.submit(() -> applyShard(paymentEvents, indexes)));
+            }
+        }
+        List<ShardFailure> failures = awaitShards(submitted, results);
+
+        Set<Integer> unapplied = new HashSet<>();
+        failures.forEach(failure -> unapplied.addAll(failure.unapplied()));
+        commitApplied(records, unapplied, consumer);
+
+        Optional<ShardFailure> firstFailure = failures.stream()
+                .min(Comparator.comparingInt(ShardFailure::index));
+        if (firstFailure.isPresent()) {
+            throw new BatchListenerFailedException("Error applying payment events", firstFailure.get().cause(),
+                    firstFailure.get().index());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private int shardOf(PaymentEventDto paymentEvent) {
+        return paymentEvent.getOrderId() == null ? 0 : Math.floorMod(paymentEvent.getOrderId().hashCode(), shards);
+    }
+
+    private ShardFailure applyShard(List<PaymentEventDto> paymentEvents, List<Integer> indexes) {
+        try {
+            paymentEventService.applyPaymentEvents(indexes.stream()
+                    .map(paymentEvents::get)
+                    .toList());
+            return null;
+        } catch (RuntimeException e) {
+            if (indexes.size() == 1) {
+                return new ShardFailure(indexes, e);
+            }
+            log.warn("Error applying {} payment events at once, applying them one by one", indexes.size(), e);
+        }
+        for (int i = 0; i < indexes.size(); i++) {
+            try {
+                paymentEventService.applyPaymentEvents(List.of(paymentEvents.get(indexes.get(i))));
+            } catch (RuntimeException e) {
+                return new ShardFailure(indexes.subList(i, indexes.size()), e);
+            }
+        }
+        return null;
+    }
+
+    private List<ShardFailure> awaitShards(List<List<Integer>> submitted, List<Future<ShardFailure>> results) {
+        List<ShardFailure> failures = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            try {
+                ShardFailure failure = results.get(i).get();
+                if (failure != null) {
+                    failures.add(failure);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                results.forEach(result -> result.cancel(true));
+                throw new BatchListenerFailedException("Interrupted while applying payment events", e,
+                        submitted.stream().mapToInt(indexes -> indexes.get(0)).min().orElse(0));
+            } catch (ExecutionException e) {
+                failures.add(new ShardFailure(submitted.get(i), e.getCause()));
+            }
+        }
+        return failures;
+    }
+
+    private void commitApplied(List<ConsumerRecord<String, PaymentEventDto>> records, Set<Integer> unapplied,
+                               Consumer<?, ?> consumer) {
+        Map<TopicPartition, Long> nextOffsets = new LinkedHashMap<>();
+        Set<TopicPartition> blocked = new HashSet<>();
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<String, PaymentEventDto> record = records.get(i);
+            TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+            if (unapplied.contains(i)) {
+                blocked.add(partition);
+            } else if (!blocked.contains(partition)) {
+                nextOffsets.put(partition, record.offset() + 1);
+            }
+        }
+        if (nextOffsets.isEmpty()) {
+            return;
+        }
+        Map<TopicPartition, OffsetAndMetadata> offsets = new LinkedHashMap<>();
+        nextOffsets.forEach((partition, offset) -> offsets.put(partition, new OffsetAndMetadata(offset)));
+        consumer.commitSync(offsets);
+    }
+
+    /**
+     * Events of a shard that weren't applied.
+     * @param unapplied indexes of the failed event and of the events of the shard after it
+     * @param cause error of the failed event
+     */
+    private record ShardFailure(List<Integer> unapplied, Throwable cause) {
+
+        int index() {
+            return unapplied.get(0);
+        }
+    }
+}
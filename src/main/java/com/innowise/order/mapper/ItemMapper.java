@@ -3,6 +3,7 @@ package com.innowise.order.mapper;
 import com.innowise.order.dto.ItemRequestDto;
 import com.innowise.order.dto.ItemResponseDto;
 import com.innowise.order.entity.Item;
+import com.innowise.order.projection.ItemView;
 import org.mapstruct.Mapper;
 import org.mapstruct.MappingConstants;
 
@@ -19,6 +20,13 @@ public interface ItemMapper {
      */
     ItemResponseDto toItemResponseDto(Item item);
 
+    /**
+     * Maps {@code ItemView} projection to {@code ItemResponseDto}.
+     * @param item projection that needs to be mapped
+     * @return {@code ItemResponseDto} object
+     */
+    ItemResponseDto toItemResponseDto(ItemView item);
+
     /**
      * Maps {@code ItemRequestDto} to {@code Item} entity.
      * @param itemRequestDto DTO object that needs to be mapped
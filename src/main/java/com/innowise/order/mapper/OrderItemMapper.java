@@ -5,6 +5,7 @@ import com.innowise.order.dto.OrderItemResponseDto;
 import com.innowise.order.entity.Order;
 import com.innowise.order.entity.OrderItem;
 import com.innowise.order.entity.Item;
+import com.innowise.order.projection.OrderItemView;
 import org.mapstruct.*;
 
 /**
@@ -24,6 +25,13 @@ public interface OrderItemMapper {
     })
     OrderItemResponseDto toOrderItemResponseDto(OrderItem orderItem);
 
+    /**
+     * Maps {@code OrderItemView} projection to {@code OrderItemResponseDto}.
+     * @param orderItem projection that needs to be mapped
+     * @return {@code OrderItemResponseDto} object
+     */
+    OrderItemResponseDto toOrderItemResponseDto(OrderItemView orderItem);
+
     /**
      * Maps {@code OrderItemRequestDto} to {@code OrderItem} entity.
      * @param orderItemRequestDto DTO object that needs to be mapped
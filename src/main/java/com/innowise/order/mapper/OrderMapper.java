@@ -1,13 +1,19 @@
 package com.innowise.order.mapper;
 
+import com.innowise.order.dto.OrderEventDto;
+import com.innowise.order.dto.OrderEventLineDto;
 import com.innowise.order.dto.OrderRequestDto;
 import com.innowise.order.dto.OrderResponseDto;
 import com.innowise.order.entity.Order;
+import com.innowise.order.entity.OrderItem;
+import com.innowise.order.projection.OrderView;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
 
 /**
- * Mapper for converting between {@code Order} entity, {@code OrderRequestDto} and {@code OrderResponseDto}.
+ * Mapper for converting between {@code Order} entity, {@code OrderRequestDto}, {@code OrderResponseDto} and
+ * {@code OrderEventDto}.
  */
 @Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
 public interface OrderMapper {
@@ -17,12 +23,47 @@ public interface OrderMapper {
      * @param order entity object that needs to be mapped
      * @return {@code OrderResponseDto} object
      */
+    @Mapping(target = "user", ignore = true)
+    @Mapping(target = "userStale", ignore = true)
+    @Mapping(target = "items", ignore = true)
     OrderResponseDto toOrderResponseDto(Order order);
 
+    /**
+     * Maps {@code OrderView} projection to {@code OrderResponseDto}.
+     * @param order projection that needs to be mapped
+     * @return {@code OrderResponseDto} object
+     */
+    @Mapping(target = "user", ignore = true)
+    @Mapping(target = "userStale", ignore = true)
+    @Mapping(target = "items", ignore = true)
+    OrderResponseDto toOrderResponseDto(OrderView order);
+
     /**
      * Maps {@code OrderRequestDto} to {@code Order} entity.
      * @param orderRequestDto DTO object that needs to be mapped
      * @return {@code Order} entity
      */
+    @Mapping(target = "orderItems", ignore = true)
     Order toOrder(OrderRequestDto orderRequestDto);
+
+    /**
+     * Maps a created {@code Order} entity to the {@code OrderEventDto} published to Kafka.
+     * @param order entity object that needs to be mapped
+     * @return {@code OrderEventDto} object
+     */
+    @Mapping(target = "orderId", source = "id")
+    @Mapping(target = "status", source = "orderStatus")
+    @Mapping(target = "source", constant = "order-service")
+    @Mapping(target = "lines", source = "orderItems")
+    OrderEventDto toOrderEventDto(Order order);
+
+    /**
+     * Maps an {@code OrderItem} entity to a line of {@code OrderEventDto}.
+     * @param orderItem entity object that needs to be mapped
+     * @return {@code OrderEventLineDto} object
+     */
+    @Mapping(target = "orderItemId", source = "id")
+    @Mapping(target = "itemId", source = "item.id")
+    @Mapping(target = "price", source = "item.price")
+    OrderEventLineDto toOrderEventLineDto(OrderItem orderItem);
 }
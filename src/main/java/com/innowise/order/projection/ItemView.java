@@ -0,0 +1,13 @@
+package com.innowise.order.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Read-only columns of an item, selected without loading the {@code Item} entity.
+ *
+ * @param id unique identifier of the item
+ * @param name the name of the item
+ * @param price the price of the item
+ */
+public record ItemView(Long id, String name, BigDecimal price) {
+}
@@ -0,0 +1,12 @@
+package com.innowise.order.projection;
+
+/**
+ * Read-only columns of an order item, selected without loading the {@code OrderItem} entity or its order and item.
+ *
+ * @param id unique identifier of the order item
+ * @param orderId unique identifier of the order that owns the record
+ * @param itemId unique identifier of the item inside the order
+ * @param quantity the amount of mentioned items in the order
+ */
+public record OrderItemView(Long id, Long orderId, Long itemId, Integer quantity) {
+}
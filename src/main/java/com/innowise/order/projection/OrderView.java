@@ -0,0 +1,16 @@
+package com.innowise.order.projection;
+
+import com.innowise.order.status.OrderStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Read-only columns of an order, selected without loading the {@code Order} entity.
+ *
+ * @param id unique identifier of the order
+ * @param userId unique identifier of the user who owns the order
+ * @param orderStatus the current status of the order
+ * @param creationDate the date when the order was created
+ */
+public record OrderView(Long id, Long userId, OrderStatus orderStatus, LocalDate creationDate) {
+}
@@ -1,6 +1,8 @@
 package com.innowise.order.repository;
 
 import com.innowise.order.entity.Item;
+import com.innowise.order.projection.ItemView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -8,14 +10,34 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemRepositoryCustom {
+
+    /**
+     * Selects the columns of {@link ItemView} without loading entities into the persistence context.
+     */
+    String SELECT_VIEW = "SELECT new com.innowise.order.projection.ItemView(i.id, i.name, i.price) FROM Item i ";
+
+    @Query(SELECT_VIEW + "WHERE i.id = :id")
+    Optional<ItemView> findViewById(@Param("id") Long id);
+
+    @Query(SELECT_VIEW + "WHERE i.id IN :ids")
+    List<ItemView> findViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(SELECT_VIEW + "WHERE i.id > :after ORDER BY i.id")
+    List<ItemView> findViewsByIdGreaterThan(@Param("after") Long after, Limit limit);
+
+    @Query(SELECT_VIEW + "WHERE i.id IN :ids AND i.id > :after ORDER BY i.id")
+    List<ItemView> findByIdInAndIdGreaterThanOrderByIdAsc(@Param("ids") Collection<Long> ids,
+                                                          @Param("after") Long after, Limit limit);
 
     @Modifying
     @Transactional
-    @Query(value = "UPDATE items SET name = :name, price = :price WHERE id = :id", nativeQuery = true)
-    int updateItem(@Param("id") Long id, @Param("name") String name, @Param("price") BigDecimal price);
+    @Query(value = "DELETE FROM items WHERE id = :id", nativeQuery = true)
+    int deleteItem(@Param("id") Long id);
 
 }
@@ -0,0 +1,21 @@
+package com.innowise.order.repository;
+
+import com.innowise.order.projection.ItemView;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * Queries of {@link ItemRepository} that Spring Data can't derive.
+ */
+public interface ItemRepositoryCustom {
+
+    /**
+     * Updates an item and reads it back with the same statement.
+     * @param id item's unique identifier
+     * @param name new name
+     * @param price new price
+     * @return item as written, empty if there's no item with this id
+     */
+    Optional<ItemView> updateItem(Long id, String name, BigDecimal price);
+}
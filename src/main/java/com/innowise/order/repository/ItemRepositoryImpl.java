@@ -0,0 +1,41 @@
+package com.innowise.order.repository;
+
+import com.innowise.order.projection.ItemView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementation of {@link ItemRepositoryCustom} with native PostgreSQL statements.
+ */
+public class ItemRepositoryImpl implements ItemRepositoryCustom {
+
+    private static final String UPDATE_ITEM = "UPDATE items SET name = :name, price = :price WHERE id = :id " +
+            "RETURNING id, name, price";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public Optional<ItemView> updateItem(Long id, String name, BigDecimal price) {
+        List<Object[]> rows = entityManager.createNativeQuery(UPDATE_ITEM)
+                .unwrap(NativeQuery.class)
+                .addScalar("id", Long.class)
+                .addScalar("name", String.class)
+                .addScalar("price", BigDecimal.class)
+                .setParameter("id", id)
+                .setParameter("name", name)
+                .setParameter("price", price)
+                .getResultList();
+        return rows.stream()
+                .findFirst()
+                .map(row -> new ItemView((Long) row[0], (String) row[1], (BigDecimal) row[2]));
+    }
+}
@@ -1,6 +1,8 @@
 package com.innowise.order.repository;
 
 import com.innowise.order.entity.OrderItem;
+import com.innowise.order.projection.OrderItemView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -8,22 +10,43 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+public interface OrderItemRepository extends JpaRepository<OrderItem, Long>, OrderItemRepositoryCustom {
 
-    @Query("SELECT oi FROM OrderItem oi WHERE oi.order.id = :orderId")
-    List<OrderItem> findByOrderId(@Param("orderId") Long orderId);
+    /**
+     * Selects the columns of {@link OrderItemView} without loading entities into the persistence context.
+     */
+    String SELECT_VIEW = "SELECT new com.innowise.order.projection.OrderItemView(oi.id, oi.order.id, oi.item.id, " +
+            "oi.quantity) FROM OrderItem oi ";
 
-    @Query("SELECT oi FROM OrderItem oi WHERE oi.item.id = :itemId")
-    List<OrderItem> findByItemId(@Param("itemId") Long itemId);
+    @Query(SELECT_VIEW + "WHERE oi.id = :id")
+    Optional<OrderItemView> findViewById(@Param("id") Long id);
+
+    @Query(SELECT_VIEW + "WHERE oi.order.id = :orderId AND oi.id > :after ORDER BY oi.id")
+    List<OrderItemView> findByOrderId(@Param("orderId") Long orderId, @Param("after") Long after, Limit limit);
+
+    @Query(SELECT_VIEW + "WHERE oi.id = :id AND oi.order.userId = :userId")
+    Optional<OrderItemView> findByIdAndOwnerId(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Query(SELECT_VIEW + "WHERE oi.order.id = :orderId AND oi.order.userId = :userId " +
+            "AND oi.id > :after ORDER BY oi.id")
+    List<OrderItemView> findByOrderIdAndOwnerId(@Param("orderId") Long orderId, @Param("userId") Long userId,
+                                                @Param("after") Long after, Limit limit);
+
+    @Query(SELECT_VIEW + "WHERE oi.item.id = :itemId AND oi.id > :after ORDER BY oi.id")
+    List<OrderItemView> findByItemId(@Param("itemId") Long itemId, @Param("after") Long after, Limit limit);
+
+    @Query(SELECT_VIEW + "WHERE oi.id IN :ids AND oi.id > :after ORDER BY oi.id")
+    List<OrderItemView> findByIdInAndIdGreaterThanOrderByIdAsc(@Param("ids") Collection<Long> ids,
+                                                               @Param("after") Long after, Limit limit);
 
     @Modifying
     @Transactional
-    @Query(value = "UPDATE order_items SET order_id = :orderId, item_id = :itemId, quantity = :quantity " +
-            "WHERE id = :id", nativeQuery = true)
-    int updateOrderItem(@Param("id") Long id, @Param("orderId") Long orderId, @Param("itemId") Long itemId,
-                    @Param("quantity") Integer quantity);
+    @Query(value = "DELETE FROM order_items WHERE id = :id", nativeQuery = true)
+    int deleteOrderItem(@Param("id") Long id);
 
 }
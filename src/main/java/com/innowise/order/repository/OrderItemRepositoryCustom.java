@@ -0,0 +1,21 @@
+package com.innowise.order.repository;
+
+import com.innowise.order.projection.OrderItemView;
+
+import java.util.Optional;
+
+/**
+ * Queries of {@link OrderItemRepository} that Spring Data can't derive.
+ */
+public interface OrderItemRepositoryCustom {
+
+    /**
+     * Updates an order item and reads it back with the same statement.
+     * @param id order item's unique identifier
+     * @param orderId new order id
+     * @param itemId new item id
+     * @param quantity new quantity
+     * @return order item as written, empty if there's no order item with this id
+     */
+    Optional<OrderItemView> updateOrderItem(Long id, Long orderId, Long itemId, Integer quantity);
+}
@@ -0,0 +1,42 @@
+package com.innowise.order.repository;
+
+import com.innowise.order.projection.OrderItemView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementation of {@link OrderItemRepositoryCustom} with native PostgreSQL statements.
+ */
+public class OrderItemRepositoryImpl implements OrderItemRepositoryCustom {
+
+    private static final String UPDATE_ORDER_ITEM = "UPDATE order_items SET order_id = :orderId, item_id = :itemId, " +
+            "quantity = :quantity WHERE id = :id RETURNING id, order_id, item_id, quantity";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public Optional<OrderItemView> updateOrderItem(Long id, Long orderId, Long itemId, Integer quantity) {
+        List<Object[]> rows = entityManager.createNativeQuery(UPDATE_ORDER_ITEM)
+                .unwrap(NativeQuery.class)
+                .addScalar("id", Long.class)
+                .addScalar("order_id", Long.class)
+                .addScalar("item_id", Long.class)
+                .addScalar("quantity", Integer.class)
+                .setParameter("id", id)
+                .setParameter("orderId", orderId)
+                .setParameter("itemId", itemId)
+                .setParameter("quantity", quantity)
+                .getResultList();
+        return rows.stream()
+                .findFirst()
+                .map(row -> new OrderItemView((Long) row[0], (Long) row[1], (Long) row[2], (Integer) row[3]));
+    }
+}
@@ -1,28 +1,65 @@
 package com.innowise.order.repository;
 
 import com.innowise.order.entity.Order;
+import com.innowise.order.projection.OrderView;
 import com.innowise.order.status.OrderStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, OrderRepositoryCustom {
 
-    List<Order> findByUserId(Long userId);
-    List<Order> findByOrderStatus(OrderStatus orderStatus);
+    /**
+     * Number of rows the JDBC driver fetches per round trip while streaming orders.
+     */
+    int EXPORT_FETCH_SIZE = 500;
+
+    /**
+     * Selects the columns of {@link OrderView} without loading entities into the persistence context.
+     */
+    String SELECT_VIEW = "SELECT new com.innowise.order.projection.OrderView(o.id, o.userId, o.orderStatus, " +
+            "o.creationDate) FROM Order o ";
+
+    @Query(SELECT_VIEW + "WHERE o.id = :id")
+    Optional<OrderView> findViewById(@Param("id") Long id);
+
+    @Query(SELECT_VIEW + "WHERE o.userId = :userId AND o.id > :after ORDER BY o.id")
+    List<OrderView> findByUserIdAndIdGreaterThanOrderByIdAsc(@Param("userId") Long userId,
+                                                             @Param("after") Long after, Limit limit);
+
+    @Query(SELECT_VIEW + "WHERE o.orderStatus = :orderStatus AND o.id > :after ORDER BY o.id")
+    List<OrderView> findByOrderStatusAndIdGreaterThanOrderByIdAsc(@Param("orderStatus") OrderStatus orderStatus,
+                                                                  @Param("after") Long after, Limit limit);
+
+    @Query(SELECT_VIEW + "WHERE o.id IN :ids AND o.id > :after ORDER BY o.id")
+    List<OrderView> findByIdInAndIdGreaterThanOrderByIdAsc(@Param("ids") Collection<Long> ids,
+                                                           @Param("after") Long after, Limit limit);
+
+    @Query(SELECT_VIEW + "WHERE o.id = :id AND o.userId = :userId")
+    Optional<OrderView> findByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    boolean existsByIdAndUserId(Long id, Long userId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query(SELECT_VIEW + "WHERE o.orderStatus = :orderStatus ORDER BY o.id")
+    Stream<OrderView> streamByOrderStatus(@Param("orderStatus") OrderStatus orderStatus);
 
     @Modifying
     @Transactional
-    @Query(value = "UPDATE orders SET user_id = :userId, status = :orderStatus, creation_date = :creationDate " +
-            "WHERE id = :id", nativeQuery = true)
-    int updateOrder(@Param("id") Long id, @Param("userId") Long userId, @Param("orderStatus") String orderStatus,
-                       @Param("creationDate") LocalDate creationDate);
+    @Query(value = "DELETE FROM orders WHERE id = :id", nativeQuery = true)
+    int deleteOrder(@Param("id") Long id);
 
 }
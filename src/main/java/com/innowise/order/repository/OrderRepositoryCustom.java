@@ -0,0 +1,31 @@
+package com.innowise.order.repository;
+
+import com.innowise.order.projection.OrderView;
+import com.innowise.order.status.OrderStatus;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Queries of {@link OrderRepository} that Spring Data can't derive.
+ */
+public interface OrderRepositoryCustom {
+
+    /**
+     * Updates an order and reads it back with the same statement.
+     * @param id order's unique identifier
+     * @param userId new user id
+     * @param orderStatus new status
+     * @param creationDate new creation date
+     * @return order as written, empty if there's no order with this id
+     */
+    Optional<OrderView> updateOrder(Long id, Long userId, String orderStatus, LocalDate creationDate);
+
+    /**
+     * Sets statuses of many orders with one statement. The pairs are passed as two arrays.
+     * @param statuses new status by order's unique identifier
+     * @return number of updated orders
+     */
+    int updateStatuses(Map<Long, OrderStatus> statuses);
+}
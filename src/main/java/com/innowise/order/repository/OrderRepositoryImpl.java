@@ -0,0 +1,68 @@
+package com.innowise.order.repository;
+
+import com.innowise.order.projection.OrderView;
+import com.innowise.order.status.OrderStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Implementation of {@link OrderRepositoryCustom} with native PostgreSQL statements.
+ */
+public class OrderRepositoryImpl implements OrderRepositoryCustom {
+
+    private static final String UPDATE_ORDER = "UPDATE orders SET user_id = :userId, status = :orderStatus, " +
+            "creation_date = :creationDate WHERE id = :id RETURNING id, user_id, status, creation_date";
+    private static final String UPDATE_STATUSES = "UPDATE orders o SET status = s.status " +
+            "FROM unnest(CAST(:ids AS bigint[]), CAST(:statuses AS varchar[])) AS s(id, status) WHERE o.id = s.id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public Optional<OrderView> updateOrder(Long id, Long userId, String orderStatus, LocalDate creationDate) {
+        List<Object[]> rows = entityManager.createNativeQuery(UPDATE_ORDER)
+                .unwrap(NativeQuery.class)
+                .addScalar("id", Long.class)
+                .addScalar("user_id", Long.class)
+                .addScalar("status", String.class)
+                .addScalar("creation_date", LocalDate.class)
+                .setParameter("id", id)
+                .setParameter("userId", userId)
+                .setParameter("orderStatus", orderStatus)
+                .setParameter("creationDate", creationDate)
+                .getResultList();
+        return rows.stream()
+                .findFirst()
+                .map(row -> new OrderView((Long) row[0], (Long) row[1], OrderStatus.valueOf((String) row[2]),
+                        (LocalDate) row[3]));
+    }
+
+    @Override
+    @Transactional
+    public int updateStatuses(Map<Long, OrderStatus> statuses) {
+        if (statuses.isEmpty()) {
+            return 0;
+        }
+        Long[] ids = new Long[statuses.size()];
+        String[] values = new String[statuses.size()];
+        int i = 0;
+        for (Map.Entry<Long, OrderStatus> status : statuses.entrySet()) {
+            ids[i] = status.getKey();
+            values[i] = status.getValue().name();
+            i++;
+        }
+        return entityManager.createNativeQuery(UPDATE_STATUSES)
+                .setParameter("ids", ids)
+                .setParameter("statuses", values)
+                .executeUpdate();
+    }
+}
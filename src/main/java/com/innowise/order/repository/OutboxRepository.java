@@ -0,0 +1,36 @@
+package com.innowise.order.repository;
+
+import com.innowise.order.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Locks the oldest unsent events until the end of the current transaction. Rows locked by other transactions
+     * are skipped, so concurrent relays get disjoint batches.
+     */
+    @Query(value = "SELECT * FROM order_outbox WHERE sent_at IS NULL ORDER BY id LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> lockUnsent(@Param("limit") int limit);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE order_outbox SET sent_at = :sentAt WHERE id IN :ids", nativeQuery = true)
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") Instant sentAt);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM order_outbox WHERE sent_at < :before", nativeQuery = true)
+    int deleteSentBefore(@Param("before") Instant before);
+
+}
@@ -0,0 +1,22 @@
+package com.innowise.order.repository;
+
+import com.innowise.order.entity.ProcessedPaymentEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Repository
+public interface ProcessedPaymentEventRepository extends JpaRepository<ProcessedPaymentEvent, Long>,
+        ProcessedPaymentEventRepositoryCustom {
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM processed_payment_events WHERE processed_at < :before", nativeQuery = true)
+    int deleteProcessedBefore(@Param("before") Instant before);
+
+}
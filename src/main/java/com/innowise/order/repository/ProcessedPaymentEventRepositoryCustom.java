@@ -0,0 +1,19 @@
+package com.innowise.order.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Queries of {@link ProcessedPaymentEventRepository} that Spring Data can't derive.
+ */
+public interface ProcessedPaymentEventRepositoryCustom {
+
+    /**
+     * Records payment events as processed with one statement. Events recorded before are left as they are.
+     * @param eventIds payment events' unique identifiers
+     * @param processedAt time of processing
+     * @return identifiers of the events that weren't recorded before
+     */
+    List<Long> insertNew(Collection<Long> eventIds, Instant processedAt);
+}
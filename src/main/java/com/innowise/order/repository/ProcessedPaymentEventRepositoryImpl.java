@@ -0,0 +1,38 @@
+package com.innowise.order.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Implementation of {@link ProcessedPaymentEventRepositoryCustom} with native PostgreSQL statements.
+ */
+public class ProcessedPaymentEventRepositoryImpl implements ProcessedPaymentEventRepositoryCustom {
+
+    private static final String INSERT_NEW = "INSERT INTO processed_payment_events(event_id, processed_at) " +
+            "SELECT unnest(CAST(:eventIds AS bigint[])), :processedAt ON CONFLICT (event_id) DO NOTHING " +
+            "RETURNING event_id";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public List<Long> insertNew(Collection<Long> eventIds, Instant processedAt) {
+        if (eventIds.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.createNativeQuery(INSERT_NEW)
+                .unwrap(NativeQuery.class)
+                .addScalar("event_id", Long.class)
+                .setParameter("eventIds", eventIds.toArray(Long[]::new))
+                .setParameter("processedAt", processedAt)
+                .getResultList();
+    }
+}
@@ -0,0 +1,17 @@
+package com.innowise.order.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+/**
+ * Principal of a request authenticated with a JWT.
+ *
+ * @param email user's email, the subject of the token
+ * @param userId user's unique identifier from the {@code userId} claim, {@code null} if the token has no such claim
+ */
+public record AuthenticatedUser(String email, Long userId) implements AuthenticatedPrincipal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
@@ -5,18 +5,25 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
 
+/**
+ * The only authentication path of the service: verifies the bearer token with {@link JwtUtil} and puts the
+ * authenticated user into the security context. The context is also saved to the request, so async dispatches of
+ * the same request, which skip this filter, are authorized as the same user.
+ */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final SecurityContextRepository securityContextRepository = new RequestAttributeSecurityContextRepository();
 
     public JwtAuthenticationFilter(JwtUtil jwtUtil) {
         this.jwtUtil = jwtUtil;
@@ -31,17 +38,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        final String jwt = header.substring(7);
-        final String username = jwtUtil.extractUsername(jwt);
-        final String role = jwtUtil.extractRole(jwt);
+        final VerifiedToken token = jwtUtil.verify(header.substring(7));
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(username,
-                    null, List.of(new SimpleGrantedAuthority("ROLE_" + role)));
+        if (token.principal().email() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                    token.principal(), null, token.authorities());
 
-            SecurityContextHolder.getContext().setAuthentication(authToken);
+            SecurityContext context = SecurityContextHolder.getContext();
+            context.setAuthentication(authToken);
+            securityContextRepository.saveContext(context, request, response);
         }
 
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+}
@@ -1,39 +0,0 @@
-package com.innowise.order.security;
-
-import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.core.convert.converter.Converter;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.oauth2.jwt.Jwt;
-import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
-
-import java.util.Collection;
-import java.util.List;
-import java.util.stream.Collectors;
-
-@Configuration
-public class JwtConverterConfig {
-
-    @Bean
-    public JwtAuthenticationConverter jwtAuthenticationConverter() {
-        JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
-        converter.setJwtGrantedAuthoritiesConverter(new CustomRoleConverter());
-        return converter;
-    }
-
-    static class CustomRoleConverter implements Converter<Jwt, Collection<GrantedAuthority>> {
-        @Override
-        public Collection<GrantedAuthority> convert(Jwt jwt) {
-            Object rolesClaim = jwt.getClaim("role");
-            if (rolesClaim instanceof String role) {
-                return List.of(new SimpleGrantedAuthority("ROLE_" + role));
-            } else if (rolesClaim instanceof Collection<?> roles) {
-                return roles.stream()
-                        .map(r -> new SimpleGrantedAuthority("ROLE_" + r))
-                        .collect(Collectors.toList());
-            }
-            return List.of();
-        }
-    }
-}
\ No newline at end of file
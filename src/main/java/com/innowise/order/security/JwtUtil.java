@@ -1,42 +1,148 @@
 package com.innowise.order.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
-import java.security.Key;
-import java.util.function.Function;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Verifies JWTs signed with {@code jwt.secret} and maps them to the authenticated user and authorities.
+ * <p>
+ *     The signing key and the parser are built once. Verified tokens are cached by the SHA-256 digest of the token
+ *     until the token expires, so a token is verified and its roles are mapped once and not on every request. Tokens
+ *     without {@code exp} are kept for at most {@code jwt.cache.max-ttl}. Invalid tokens are never cached.
+ * </p>
+ * <p>
+ *     Roles are read from the {@code jwt.role-claim} claim, either a single role or a list of roles. Every distinct
+ *     set of roles is mapped to one shared, immutable list of authorities.
+ * </p>
+ */
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    public static final String USER_ID_CLAIM = "userId";
+    private static final String ROLE_PREFIX = "ROLE_";
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+    private final JwtParser parser;
+    private final String roleClaim;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+    private final Map<List<String>, List<GrantedAuthority>> authoritiesByRoles = new ConcurrentHashMap<>();
+
+    public JwtUtil(@Value("${jwt.secret}") String secretKey,
+                   @Value("${jwt.role-claim:role}") String roleClaim,
+                   @Value("${jwt.cache.maximum-size:10000}") long cacheSize,
+                   @Value("${jwt.cache.max-ttl:10m}") Duration maxTtl) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8)))
+                .build();
+        this.roleClaim = roleClaim;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new UntilTokenExpires(maxTtl))
+                .build();
+    }
+
+    /**
+     * Verifies a token and maps it to the authenticated user. Tokens that were already verified are not verified
+     * again until they expire.
+     * @param token compact JWT
+     * @return verified token
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, expired or its signature is invalid
+     */
+    public VerifiedToken verify(String token) {
+        return verifiedTokens.get(digest(token), key -> toVerifiedToken(parser.parseClaimsJws(token).getBody()));
+    }
+
+    /**
+     * Converts a value of the {@code userId} claim to a user id.
+     * @param claim claim value, a number or a numeric string
+     * @return user id or {@code null} if the claim is missing or malformed
+     */
+    public static Long toUserId(Object claim) {
+        if (claim instanceof Number number) {
+            return number.longValue();
+        }
+        if (claim instanceof String value) {
+            try {
+                return Long.valueOf(value.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
     }
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    /**
+     * Maps a role claim to authorities.
+     * @param claim claim value, a single role or a collection of roles
+     * @return shared list of authorities, empty if the claim is missing
+     */
+    public List<GrantedAuthority> toAuthorities(Object claim) {
+        List<String> roles;
+        if (claim instanceof String role) {
+            roles = List.of(role);
+        } else if (claim instanceof Collection<?> values) {
+            roles = values.stream().map(String::valueOf).toList();
+        } else {
+            return List.of();
+        }
+        return authoritiesByRoles.computeIfAbsent(roles, key -> key.stream()
+                .<GrantedAuthority>map(role -> new SimpleGrantedAuthority(ROLE_PREFIX + role))
+                .toList());
     }
 
-    public String extractRole(String token) {
-        return (String) extractAllClaims(token).get("role");
+    private VerifiedToken toVerifiedToken(Claims claims) {
+        AuthenticatedUser principal = new AuthenticatedUser(claims.getSubject(), toUserId(claims.get(USER_ID_CLAIM)));
+        Instant expiresAt = claims.getExpiration() == null ? null : claims.getExpiration().toInstant();
+        return new VerifiedToken(principal, toAuthorities(claims.get(roleClaim)), expiresAt);
     }
 
-    private <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        return claimsResolver.apply(extractAllClaims(token));
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private record UntilTokenExpires(Duration maxTtl) implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+            if (token.expiresAt() == null) {
+                return maxTtl.toNanos();
+            }
+            Duration left = Duration.between(Instant.now(), token.expiresAt());
+            return Math.max(0, (left.compareTo(maxTtl) < 0 ? left : maxTtl).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
-}
\ No newline at end of file
+}
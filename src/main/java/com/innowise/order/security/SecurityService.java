@@ -1,58 +1,128 @@
 package com.innowise.order.security;
 
-import com.innowise.order.client.UserClient;
-import com.innowise.order.entity.Order;
+import com.innowise.order.projection.OrderItemView;
 import com.innowise.order.repository.ItemRepository;
 import com.innowise.order.repository.OrderItemRepository;
 import com.innowise.order.repository.OrderRepository;
-import lombok.RequiredArgsConstructor;
+import com.innowise.order.service.PageCursor;
+import com.innowise.order.service.RequestMemo;
+import com.innowise.order.service.UserLookupService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Ownership checks used in {@code @PreAuthorize} expressions.
+ * <p>
+ *     If the token carries the {@code userId} claim, ownership is a comparison of ids. With
+ *     {@code security.ownership.fused-queries} enabled, the id is compared inside the query that loads the order or
+ *     order items, and the loaded projections are memoized in {@link RequestMemo} for the services, so an owner read is
+ *     a single query. Tokens without the claim fall back to loading the owner from User Service and comparing emails.
+ *     The {@code security.ownership.checks} counter shows which of the two paths was taken.
+ * </p>
+ * <p>
+ *     Checks that query orders or order items run in read-only transactions, so with read replicas enabled they are
+ *     served by a replica like the reads they guard.
+ * </p>
+ */
 @Service("securityService")
-@RequiredArgsConstructor
 public class SecurityService {
 
     private final OrderRepository orderRepository;
     private final ItemRepository itemRepository;
     private final OrderItemRepository orderItemRepository;
-    private final UserClient userClient;
+    private final UserLookupService userLookupService;
+    private final RequestMemo requestMemo;
+    private final boolean fusedQueries;
+    private final Counter claimChecks;
+    private final Counter emailChecks;
+
+    public SecurityService(OrderRepository orderRepository, ItemRepository itemRepository,
+                           OrderItemRepository orderItemRepository, UserLookupService userLookupService,
+                           RequestMemo requestMemo, MeterRegistry meterRegistry,
+                           @Value("${security.ownership.fused-queries:true}") boolean fusedQueries) {
+        this.orderRepository = orderRepository;
+        this.itemRepository = itemRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.userLookupService = userLookupService;
+        this.requestMemo = requestMemo;
+        this.fusedQueries = fusedQueries;
+        this.claimChecks = ownershipChecks(meterRegistry, "claim");
+        this.emailChecks = ownershipChecks(meterRegistry, "email");
+    }
 
+    @Transactional(readOnly = true)
     public boolean isOrderOwnerOrAdmin(Long orderId) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null || !auth.isAuthenticated()) return false;
 
         if (hasAdminRole(auth)) return true;
 
-        String currentEmail = auth.getName();
+        Long currentUserId = currentUserId(auth);
+        if (fusedQueries && currentUserId != null) {
+            claimChecks.increment();
+            return requestMemo.findOrder(orderId, id -> orderRepository.findByIdAndUserId(id, currentUserId))
+                    .isPresent();
+        }
 
-        return orderRepository.findById(orderId)
-                .map(order -> {
-                    var user = userClient.getUserById(order.getUserId());
-                    return user != null && user.getEmail().equals(currentEmail);
-                })
+        return requestMemo.findOrder(orderId, orderRepository::findViewById)
+                .map(order -> isOwner(auth, order.userId()))
                 .orElse(false);
     }
 
+    @Transactional(readOnly = true)
     public boolean isOrderItemOwnerOrAdmin(Long orderItemId) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null || !auth.isAuthenticated()) return false;
 
         if (hasAdminRole(auth)) return true;
 
-        String currentEmail = auth.getName();
+        Long currentUserId = currentUserId(auth);
+        if (fusedQueries && currentUserId != null) {
+            claimChecks.increment();
+            return requestMemo.findOrderItem(orderItemId,
+                    id -> orderItemRepository.findByIdAndOwnerId(id, currentUserId)).isPresent();
+        }
 
-        return orderItemRepository.findById(orderItemId)
-                .map(orderItem -> {
-                    Order order = orderItem.getOrder();
-                    if (order == null) return false;
-                    var user = userClient.getUserById(order.getUserId());
-                    return user != null && user.getEmail().equals(currentEmail);
-                })
+        return requestMemo.findOrderItem(orderItemId, orderItemRepository::findViewById)
+                .flatMap(orderItem -> requestMemo.findOrder(orderItem.orderId(), orderRepository::findViewById))
+                .map(order -> isOwner(auth, order.userId()))
                 .orElse(false);
     }
 
+    /**
+     * Checks that the current user may read a page of order items of an order. With fused queries the page is
+     * loaded together with the check; an empty page is told apart from a foreign order by one more query.
+     * @param orderId order's unique identifier
+     * @param after cursor of the previous page, {@code null} for the first page
+     * @param limit page size
+     * @return true if the current user owns the order or is an admin
+     */
+    @Transactional(readOnly = true)
+    public boolean isOrderItemsOwnerOrAdmin(Long orderId, String after, int limit) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated()) return false;
+
+        if (hasAdminRole(auth)) return true;
+
+        Long currentUserId = currentUserId(auth);
+        if (fusedQueries && currentUserId != null) {
+            claimChecks.increment();
+            List<OrderItemView> orderItems = requestMemo.findOrderItemsByOrderId(orderId,
+                    id -> orderItemRepository.findByOrderIdAndOwnerId(id, currentUserId, PageCursor.after(after),
+                            PageCursor.fetchLimit(limit)));
+            return !orderItems.isEmpty() || orderRepository.existsByIdAndUserId(orderId, currentUserId);
+        }
+
+        return isOrderOwnerOrAdmin(orderId);
+    }
+
     public boolean isOwnerOrAdminByEmail(String email) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null || !auth.isAuthenticated()) return false;
@@ -69,14 +139,43 @@ public class SecurityService {
 
         if (hasAdminRole(auth)) return true;
 
-        String currentEmail = auth.getName();
-        var user = userClient.getUserById(userId);
+        return isOwner(auth, userId);
+    }
 
-        return user != null && user.getEmail().equalsIgnoreCase(currentEmail);
+    /**
+     * Finds the id of the authenticated user from the {@code userId} claim of the token.
+     * @param authentication current authentication
+     * @return user's unique identifier or {@code null} if the token has no such claim
+     */
+    public Long currentUserId(Authentication authentication) {
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof AuthenticatedUser user) {
+            return user.userId();
+        }
+        return null;
+    }
+
+    private boolean isOwner(Authentication auth, Long ownerId) {
+        Long currentUserId = currentUserId(auth);
+        if (currentUserId != null) {
+            claimChecks.increment();
+            return currentUserId.equals(ownerId);
+        }
+
+        emailChecks.increment();
+        var user = userLookupService.getUserById(ownerId);
+        return user != null && user.getEmail().equals(auth.getName());
     }
 
     private boolean hasAdminRole(Authentication authentication) {
         return authentication.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
     }
-}
\ No newline at end of file
+
+    private static Counter ownershipChecks(MeterRegistry meterRegistry, String path) {
+        return Counter.builder("security.ownership.checks")
+                .description("Ownership checks by the way the caller's identity was resolved")
+                .tag("path", path)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,16 @@
+package com.innowise.order.security;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Result of verifying a JWT, ready to be turned into an authentication.
+ *
+ * @param principal authenticated user with the email and the optional user id from the token
+ * @param authorities authorities mapped from the role claim, shared between all tokens with the same roles
+ * @param expiresAt expiration time of the token, {@code null} if the token has no {@code exp} claim
+ */
+public record VerifiedToken(AuthenticatedUser principal, List<GrantedAuthority> authorities, Instant expiresAt) {
+}
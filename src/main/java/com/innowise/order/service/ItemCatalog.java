@@ -0,0 +1,158 @@
+package com.innowise.order.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.innowise.order.projection.ItemView;
+import com.innowise.order.repository.ItemRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-process catalog of items.
+ * <p>
+ *     Items change only through the admin endpoints, so they are kept in a size-bounded local cache filled on read.
+ *     Updates and deletes refresh or drop their entry once the transaction commits. Entries are also dropped after
+ *     {@code item.cache.expire-after-write}, which bounds how long other instances of the service may serve an item
+ *     changed elsewhere. With {@code item.cache.preload} the whole catalog is loaded when the application starts.
+ *     Missing items are never cached. Items are loaded in read-only transactions, so the loads may be served by a
+ *     replica.
+ * </p>
+ * <p>
+ *     Size, hits and misses are published as {@code cache.*} metrics of the {@code items} cache, and the hit ratio
+ *     as {@code cache.hit.ratio}.
+ * </p>
+ */
+@Component
+public class ItemCatalog {
+
+    private static final String CACHE_NAME = "items";
+    private static final int PRELOAD_PAGE_SIZE = 1000;
+
+    private final ItemRepository repository;
+    private final TransactionTemplate readTransaction;
+    private final boolean preload;
+    private final Cache<Long, ItemView> items;
+
+    public ItemCatalog(ItemRepository repository, MeterRegistry meterRegistry,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${item.cache.maximum-size:100000}") long maximumSize,
+                       @Value("${item.cache.expire-after-write:10m}") Duration expireAfterWrite,
+                       @Value("${item.cache.preload:false}") boolean preload) {
+        this.repository = repository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.preload = preload;
+        Cache<Long, ItemView> cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.items = CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+        Gauge.builder("cache.hit.ratio", cache, c -> c.stats().hitRate())
+                .tag("cache", CACHE_NAME)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Finds an item by id.
+     * @param id item's unique identifier
+     * @return item if found, empty if not found
+     */
+    public Optional<ItemView> findItem(Long id) {
+        return Optional.ofNullable(items.get(id, key -> readTransaction.execute(status ->
+                repository.findViewById(key).orElse(null))));
+    }
+
+    /**
+     * Finds items by ids. Items missing in the cache are loaded with one query.
+     * @param ids items' unique identifiers, may contain duplicates
+     * @return found items sorted by id
+     */
+    public List<ItemView> findItems(Collection<Long> ids) {
+        return items.getAll(ids, this::loadItems).values().stream()
+                .sorted(Comparator.comparing(ItemView::id))
+                .toList();
+    }
+
+    /**
+     * Replaces a cached item with its new state once the current transaction commits.
+     * @param item new state of the item
+     */
+    public void refresh(ItemView item) {
+        afterCommit(() -> items.put(item.id(), item));
+    }
+
+    /**
+     * Removes an item from the cache once the current transaction commits.
+     * @param id item's unique identifier
+     */
+    public void evict(Long id) {
+        afterCommit(() -> items.invalidate(id));
+    }
+
+    /**
+     * Removes all items from the cache.
+     */
+    public void evictAll() {
+        items.invalidateAll();
+    }
+
+    /**
+     * Loads all items into the cache page by page, if {@code item.cache.preload} is on.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        if (!preload) {
+            return;
+        }
+        long after = 0L;
+        List<ItemView> page;
+        do {
+            long pageAfter = after;
+            page = readTransaction.execute(status ->
+                    repository.findViewsByIdGreaterThan(pageAfter, Limit.of(PRELOAD_PAGE_SIZE)));
+            page.forEach(item -> items.put(item.id(), item));
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).id();
+            }
+        } while (page.size() == PRELOAD_PAGE_SIZE);
+    }
+
+    private Map<Long, ItemView> loadItems(Set<? extends Long> ids) {
+        return readTransaction.execute(status -> repository.findViewsByIdIn(List.copyOf(ids))).stream()
+                .collect(Collectors.toMap(ItemView::id, Function.identity()));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -1,22 +1,26 @@
 package com.innowise.order.service;
 
+import com.innowise.order.dto.CursorPage;
 import com.innowise.order.dto.ItemRequestDto;
 import com.innowise.order.dto.ItemResponseDto;
 import com.innowise.order.entity.Item;
 import com.innowise.order.exception.EmptyEntityListException;
 import com.innowise.order.exception.EntityNotFoundException;
 import com.innowise.order.mapper.ItemMapper;
+import com.innowise.order.projection.ItemView;
 import com.innowise.order.repository.ItemRepository;
-import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
  * Service class for managing Item entity.
  * <p>
  *     Provides CRUD operations: create, get item by id, get items by ids, update item by id, delete item by id.
+ *     Items are read through {@link ItemCatalog}, which is refreshed by updates and deletes.
  * </p>
  */
 @Service
@@ -24,10 +28,12 @@ public class ItemService {
 
     private final ItemRepository repository;
     private final ItemMapper mapper;
+    private final ItemCatalog catalog;
 
-    public ItemService(ItemRepository repository, ItemMapper mapper) {
+    public ItemService(ItemRepository repository, ItemMapper mapper, ItemCatalog catalog) {
         this.repository = repository;
         this.mapper = mapper;
+        this.catalog = catalog;
     }
 
     /**
@@ -47,41 +53,54 @@ public class ItemService {
      * @return item as DTO if found, empty if not found
      */
     public ItemResponseDto getItemById(Long id) {
-        return repository.findById(id)
+        return catalog.findItem(id)
                 .map(mapper::toItemResponseDto)
                 .orElseThrow(() -> new EntityNotFoundException("Item", id));
     }
 
     /**
-     * Finds items by ids.
+     * Finds a page of items by ids. Only the smallest ids after the cursor are looked up, one page and one more at
+     * a time, until the page is full or the ids run out.
      * @param ids list of items' unique identifiers
-     * @return list of items as DTOs
+     * @param after cursor of the previous page, {@code null} for the first page
+     * @param limit page size
+     * @return page of items as DTOs
      */
-    public List<ItemResponseDto> getItemsByIds(Iterable<Long> ids) {
-        List<ItemResponseDto> items = repository.findAllById(ids)
-                .stream()
-                .map(mapper::toItemResponseDto)
+    public CursorPage<ItemResponseDto> getItemsByIds(Collection<Long> ids, String after, int limit) {
+        long afterId = PageCursor.after(after);
+        int fetchLimit = PageCursor.fetchLimit(limit).max();
+        List<Long> pageIds = ids.stream()
+                .filter(id -> id != null && id > afterId)
+                .distinct()
+                .sorted()
                 .toList();
-        if (items.isEmpty()) {
+        List<ItemView> items = new ArrayList<>(fetchLimit);
+        int from = 0;
+        while (from < pageIds.size() && items.size() < fetchLimit) {
+            int to = Math.min(pageIds.size(), from + fetchLimit - items.size());
+            items.addAll(catalog.findItems(pageIds.subList(from, to)));
+            from = to;
+        }
+        if (items.isEmpty() && after == null) {
             throw new EmptyEntityListException("items", ids);
         }
-        return items;
+        return PageCursor.page(items, limit, ItemView::id, page -> page.stream()
+                .map(mapper::toItemResponseDto)
+                .toList());
     }
 
     /**
-     * Updates an item by id.
+     * Updates an item by id. The updated row is returned by the update statement itself.
      * @param id item's unique identifier
      * @param itemDto ItemRequestDto that contains new data
+     * @return item as written
      */
     @Transactional
     public ItemResponseDto updateItemById(Long id, ItemRequestDto itemDto) {
-        int updated = repository.updateItem(id, itemDto.getName(), itemDto.getPrice());
-        if (updated == 0) {
-            throw new EntityNotFoundException("Item", id);
-        }
-        return repository.findById(id)
-                .map(mapper::toItemResponseDto)
+        ItemView item = repository.updateItem(id, itemDto.getName(), itemDto.getPrice())
                 .orElseThrow(() -> new EntityNotFoundException("Item", id));
+        catalog.refresh(item);
+        return mapper.toItemResponseDto(item);
     }
 
     /**
@@ -90,10 +109,9 @@ public class ItemService {
      */
     @Transactional
     public void deleteItemById(Long id) {
-        try {
-            repository.deleteById(id);
-        } catch (EmptyResultDataAccessException e) {
+        if (repository.deleteItem(id) == 0) {
             throw new EntityNotFoundException("Item", id);
         }
+        catalog.evict(id);
     }
 }
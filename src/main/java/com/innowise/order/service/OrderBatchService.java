@@ -0,0 +1,164 @@
+package com.innowise.order.service;
+
+import com.innowise.order.client.UserResponseDto;
+import com.innowise.order.dto.OrderBatchResultDto;
+import com.innowise.order.dto.OrderRequestDto;
+import com.innowise.order.dto.OrderResponseDto;
+import com.innowise.order.entity.Item;
+import com.innowise.order.entity.Order;
+import com.innowise.order.exception.OrderBatchTooLargeException;
+import com.innowise.order.mapper.OrderItemMapper;
+import com.innowise.order.mapper.OrderMapper;
+import com.innowise.order.repository.ItemRepository;
+import com.innowise.order.repository.OrderRepository;
+import feign.FeignException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Service class for creating many orders with one request.
+ * <p>
+ *     Users of all orders are validated with one batch lookup and items of all lines with one query. Valid orders
+ *     and their line items are inserted with batched statements in one transaction, together with their creation
+ *     events in the outbox. Invalid orders don't stop the others: every order gets its own result. Orders of users
+ *     served by the User Service fallback, stale snapshots and placeholders alike, are not created.
+ * </p>
+ */
+@Service
+public class OrderBatchService {
+
+    private final OrderRepository repository;
+    private final ItemRepository itemRepository;
+    private final OrderMapper mapper;
+    private final OrderItemMapper orderItemMapper;
+    private final OrderEventOutbox orderEventOutbox;
+    private final UserLookupService userLookupService;
+    private final int maxSize;
+
+    public OrderBatchService(OrderRepository repository, ItemRepository itemRepository, OrderMapper mapper,
+                             OrderItemMapper orderItemMapper, OrderEventOutbox orderEventOutbox,
+                             UserLookupService userLookupService,
+                             @Value("${order.batch.max-size:5000}") int maxSize) {
+        this.repository = repository;
+        this.itemRepository = itemRepository;
+        this.mapper = mapper;
+        this.orderItemMapper = orderItemMapper;
+        this.orderEventOutbox = orderEventOutbox;
+        this.userLookupService = userLookupService;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Creates new orders in the database.
+     * @param orderDtos DTOs with new orders' data
+     * @return result for every DTO, in the order of the request
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public List<OrderBatchResultDto> createOrders(List<OrderRequestDto> orderDtos) {
+        if (orderDtos.size() > maxSize) {
+            throw new OrderBatchTooLargeException(orderDtos.size(), maxSize);
+        }
+
+        Map<Long, UserResponseDto> users = findUsers(orderDtos.stream()
+                .filter(Objects::nonNull)
+                .map(OrderRequestDto::getUserId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList());
+        List<Long> itemIds = OrderLines.itemIds(orderDtos);
+        Map<Long, Item> items = itemIds.isEmpty() ? Map.of() : OrderLines.byId(itemRepository.findAllById(itemIds));
+
+        OrderBatchResultDto[] results = new OrderBatchResultDto[orderDtos.size()];
+        List<Integer> indexes = new ArrayList<>();
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < orderDtos.size(); i++) {
+            OrderRequestDto orderDto = orderDtos.get(i);
+            String error = validate(orderDto, users, items);
+            if (error != null) {
+                results[i] = new OrderBatchResultDto(i, false, null, error);
+            } else {
+                Order order = mapper.toOrder(orderDto);
+                order.setOrderItems(OrderLines.toOrderItems(order, orderDto.getItems(), items));
+                indexes.add(i);
+                orders.add(order);
+            }
+        }
+
+        List<Order> savedOrders = repository.saveAllAndFlush(orders);
+        orderEventOutbox.addAll(savedOrders.stream()
+                .map(mapper::toOrderEventDto)
+                .toList());
+
+        for (int i = 0; i < savedOrders.size(); i++) {
+            Order savedOrder = savedOrders.get(i);
+            int index = indexes.get(i);
+            OrderResponseDto orderResponseDto = getOrderResponseWithUser(savedOrder,
+                    users.get(savedOrder.getUserId()));
+            orderResponseDto.setItems(savedOrder.getOrderItems().stream()
+                    .map(orderItemMapper::toOrderItemResponseDto)
+                    .toList());
+            results[index] = new OrderBatchResultDto(index, true, orderResponseDto, null);
+        }
+        return List.of(results);
+    }
+
+    private Map<Long, UserResponseDto> findUsers(List<Long> userIds) {
+        try {
+            return userLookupService.getUsersByIds(userIds);
+        } catch (FeignException.NotFound e) {
+            return findExistingUsers(userIds);
+        } catch (FeignException.Unauthorized e) {
+            throw new AccessDeniedException("Not enough rights");
+        }
+    }
+
+    private Map<Long, UserResponseDto> findExistingUsers(List<Long> userIds) {
+        Map<Long, UserResponseDto> users = new HashMap<>();
+        for (Long userId : userIds) {
+            try {
+                users.put(userId, userLookupService.getUserById(userId));
+            } catch (FeignException.NotFound e) {
+                // reported in the result of every order of this user
+            }
+        }
+        return users;
+    }
+
+    private String validate(OrderRequestDto orderDto, Map<Long, UserResponseDto> users, Map<Long, Item> items) {
+        if (orderDto == null) {
+            return "order must not be null";
+        }
+        if (orderDto.getUserId() == null) {
+            return "userId must not be null";
+        }
+        if (orderDto.getOrderStatus() == null) {
+            return "orderStatus must not be null";
+        }
+        if (orderDto.getCreationDate() == null) {
+            return "creationDate must not be null";
+        }
+        UserResponseDto user = users.get(orderDto.getUserId());
+        if (user == null) {
+            return "user with id " + orderDto.getUserId() + " not found";
+        }
+        if (user.isStale()) {
+            return "user with id " + orderDto.getUserId() + " can't be verified while User Service is unavailable";
+        }
+        return OrderLines.validate(orderDto.getItems(), items);
+    }
+
+    private OrderResponseDto getOrderResponseWithUser(Order order, UserResponseDto user) {
+        OrderResponseDto orderResponseDto = mapper.toOrderResponseDto(order);
+        orderResponseDto.setUser(user);
+        orderResponseDto.setUserStale(user.isStale());
+        return orderResponseDto;
+    }
+}
@@ -0,0 +1,60 @@
+package com.innowise.order.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innowise.order.dto.OrderEventDto;
+import com.innowise.order.entity.OutboxEvent;
+import com.innowise.order.repository.OutboxRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Writes order events to the {@code order_outbox} table.
+ * <p>
+ *     Events are inserted in the transaction that creates their orders, so an event is published only if its order
+ *     was committed, and creating an order never waits for Kafka. {@code OutboxRelay} sends them afterwards.
+ * </p>
+ */
+@Component
+public class OrderEventOutbox {
+
+    private final OutboxRepository repository;
+    private final ObjectMapper objectMapper;
+
+    public OrderEventOutbox(OutboxRepository repository, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Adds an order creation event to the outbox.
+     * @param event order event DTO
+     */
+    public void add(OrderEventDto event) {
+        addAll(List.of(event));
+    }
+
+    /**
+     * Adds order creation events to the outbox. The rows are inserted with batched statements.
+     * @param events order event DTOs
+     */
+    public void addAll(List<OrderEventDto> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        repository.saveAll(events.stream()
+                .map(event -> new OutboxEvent(null, event.getOrderId(), toJson(event), now, null))
+                .toList());
+    }
+
+    private String toJson(OrderEventDto event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Order event of order " + event.getOrderId() + " can't be written", e);
+        }
+    }
+}
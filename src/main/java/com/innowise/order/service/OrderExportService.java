@@ -0,0 +1,92 @@
+package com.innowise.order.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innowise.order.client.UserResponseDto;
+import com.innowise.order.dto.OrderResponseDto;
+import com.innowise.order.mapper.OrderMapper;
+import com.innowise.order.projection.OrderView;
+import com.innowise.order.repository.OrderRepository;
+import com.innowise.order.status.OrderStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Service class for exporting orders as NDJSON, one {@code OrderResponseDto} per line.
+ * <p>
+ *     Orders are read as {@link OrderView} projections through a database cursor, so nothing piles up in the
+ *     persistence context, and written in chunks: users of a chunk are loaded with one batch call, then the chunk is
+ *     written and flushed. Memory use depends on the chunk size and not on the number of exported orders.
+ * </p>
+ */
+@Service
+public class OrderExportService {
+
+    private static final byte NEW_LINE = '\n';
+
+    private final OrderRepository repository;
+    private final OrderMapper mapper;
+    private final UserLookupService userLookupService;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public OrderExportService(OrderRepository repository, OrderMapper mapper, UserLookupService userLookupService,
+                              ObjectMapper objectMapper, @Value("${order.export.chunk-size:500}") int chunkSize) {
+        this.repository = repository;
+        this.mapper = mapper;
+        this.userLookupService = userLookupService;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Writes all orders with some status to a stream as NDJSON.
+     * @param orderStatus orders' status
+     * @param out stream to write to; it's flushed after every chunk and isn't closed
+     * @return number of exported orders
+     */
+    @Transactional(readOnly = true)
+    public long exportByStatus(OrderStatus orderStatus, OutputStream out) {
+        long exported = 0;
+        try (Stream<OrderView> orders = repository.streamByOrderStatus(orderStatus)) {
+            Iterator<OrderView> iterator = orders.iterator();
+            List<OrderView> chunk = new ArrayList<>(chunkSize);
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == chunkSize || !iterator.hasNext()) {
+                    writeChunk(chunk, out);
+                    exported += chunk.size();
+                    chunk.clear();
+                }
+            }
+        }
+        return exported;
+    }
+
+    private void writeChunk(List<OrderView> chunk, OutputStream out) {
+        Map<Long, UserResponseDto> users = userLookupService.getUsersByIds(
+                chunk.stream().map(OrderView::userId).toList());
+        try {
+            for (OrderView order : chunk) {
+                UserResponseDto user = users.get(order.userId());
+                OrderResponseDto orderResponseDto = mapper.toOrderResponseDto(order);
+                orderResponseDto.setUser(user);
+                orderResponseDto.setUserStale(user != null && user.isStale());
+                out.write(objectMapper.writeValueAsBytes(orderResponseDto));
+                out.write(NEW_LINE);
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.innowise.order.service;
 
+import com.innowise.order.dto.CursorPage;
 import com.innowise.order.dto.OrderItemRequestDto;
 import com.innowise.order.dto.OrderItemResponseDto;
 import com.innowise.order.entity.OrderItem;
@@ -7,11 +8,12 @@ import com.innowise.order.exception.EmptyEntityListException;
 import com.innowise.order.exception.EmptyOrderItemListSingleIdException;
 import com.innowise.order.exception.EntityNotFoundException;
 import com.innowise.order.mapper.OrderItemMapper;
+import com.innowise.order.projection.OrderItemView;
 import com.innowise.order.repository.OrderItemRepository;
-import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -26,10 +28,12 @@ public class OrderItemService {
 
     private final OrderItemRepository repository;
     private final OrderItemMapper mapper;
+    private final RequestMemo requestMemo;
 
-    public OrderItemService(OrderItemRepository repository, OrderItemMapper mapper) {
+    public OrderItemService(OrderItemRepository repository, OrderItemMapper mapper, RequestMemo requestMemo) {
         this.repository = repository;
         this.mapper = mapper;
+        this.requestMemo = requestMemo;
     }
 
     /**
@@ -48,73 +52,75 @@ public class OrderItemService {
      * @param id order item's unique identifier
      * @return order item as DTO if found, empty if not found
      */
+    @Transactional(readOnly = true)
     public OrderItemResponseDto getOrderItemById(Long id) {
-        return repository.findById(id)
+        return requestMemo.findOrderItem(id, repository::findViewById)
                 .map(mapper::toOrderItemResponseDto)
                 .orElseThrow(() -> new EntityNotFoundException("Order item", id));
     }
 
     /**
-     * Finds order items by ids.
+     * Finds a page of order items by ids.
      * @param ids list of order items' unique identifiers
-     * @return list of order items as DTOs
+     * @param after cursor of the previous page, {@code null} for the first page
+     * @param limit page size
+     * @return page of order items as DTOs
      */
-    public List<OrderItemResponseDto> getOrderItemsByIds(Iterable<Long> ids) {
-        List<OrderItemResponseDto> orderItems = repository.findAllById(ids)
-                .stream()
-                .map(mapper::toOrderItemResponseDto)
-                .toList();
-        if (orderItems.isEmpty()) {
+    @Transactional(readOnly = true)
+    public CursorPage<OrderItemResponseDto> getOrderItemsByIds(Collection<Long> ids, String after, int limit) {
+        List<OrderItemView> orderItems = repository.findByIdInAndIdGreaterThanOrderByIdAsc(ids,
+                PageCursor.after(after), PageCursor.fetchLimit(limit));
+        if (orderItems.isEmpty() && after == null) {
             throw new EmptyEntityListException("order items", ids);
         }
-        return orderItems;
+        return PageCursor.page(orderItems, limit, OrderItemView::id, this::toResponseDtos);
     }
 
     /**
-     * Finds order items by order id.
+     * Finds a page of order items by order id.
      * @param orderId order's unique identifier
-     * @return list of order items as DTOs
+     * @param after cursor of the previous page, {@code null} for the first page
+     * @param limit page size
+     * @return page of order items as DTOs
      */
-    public List<OrderItemResponseDto> getOrderItemsByOrderId(Long orderId) {
-        List<OrderItemResponseDto> orderItems = repository.findByOrderId(orderId)
-                .stream()
-                .map(mapper::toOrderItemResponseDto)
-                .toList();
-        if (orderItems.isEmpty()) {
+    @Transactional(readOnly = true)
+    public CursorPage<OrderItemResponseDto> getOrderItemsByOrderId(Long orderId, String after, int limit) {
+        List<OrderItemView> orderItems = requestMemo.findOrderItemsByOrderId(orderId,
+                id -> repository.findByOrderId(id, PageCursor.after(after), PageCursor.fetchLimit(limit)));
+        if (orderItems.isEmpty() && after == null) {
             throw new EmptyOrderItemListSingleIdException("order", orderId);
         }
-        return orderItems;
+        return PageCursor.page(orderItems, limit, OrderItemView::id, this::toResponseDtos);
     }
 
     /**
-     * Finds order items by item id.
+     * Finds a page of order items by item id.
      * @param itemId item's unique identifier
-     * @return list of order items as DTOs
+     * @param after cursor of the previous page, {@code null} for the first page
+     * @param limit page size
+     * @return page of order items as DTOs
      */
-    public List<OrderItemResponseDto> getOrderItemsByItemId(Long itemId) {
-        List<OrderItemResponseDto> orderItems = repository.findByItemId(itemId)
-                .stream()
-                .map(mapper::toOrderItemResponseDto)
-                .toList();
-        if (orderItems.isEmpty()) {
+    @Transactional(readOnly = true)
+    public CursorPage<OrderItemResponseDto> getOrderItemsByItemId(Long itemId, String after, int limit) {
+        List<OrderItemView> orderItems = repository.findByItemId(itemId, PageCursor.after(after),
+                PageCursor.fetchLimit(limit));
+        if (orderItems.isEmpty() && after == null) {
             throw new EmptyOrderItemListSingleIdException("item", itemId);
         }
-        return orderItems;
+        return PageCursor.page(orderItems, limit, OrderItemView::id, this::toResponseDtos);
     }
 
     /**
-     * Updates an order item by id.
+     * Updates an order item by id. The updated row is returned by the update statement itself.
      * @param id order item's unique identifier
      * @param orderItemDto OrderItemRequestDto that contains new data
+     * @return order item as written
      */
     @Transactional
     public OrderItemResponseDto updateOrderItemById(Long id, OrderItemRequestDto orderItemDto) {
-        int updated = repository.updateOrderItem(id, orderItemDto.getOrderId(), orderItemDto.getItemId(),
-                orderItemDto.getQuantity());
-        if (updated == 0) {
-            throw new EntityNotFoundException("Order item", id);
-        }
-        return repository.findById(id)
+        requestMemo.evictOrderItem(id);
+        return repository.updateOrderItem(id, orderItemDto.getOrderId(), orderItemDto.getItemId(),
+                        orderItemDto.getQuantity())
                 .map(mapper::toOrderItemResponseDto)
                 .orElseThrow(() -> new EntityNotFoundException("Order item", id));
     }
@@ -125,10 +131,15 @@ public class OrderItemService {
      */
     @Transactional
     public void deleteOrderItemById(Long id) {
-        try {
-            repository.deleteById(id);
-        } catch (EmptyResultDataAccessException e) {
+        requestMemo.evictOrderItem(id);
+        if (repository.deleteOrderItem(id) == 0) {
             throw new EntityNotFoundException("Order item", id);
         }
     }
+
+    private List<OrderItemResponseDto> toResponseDtos(List<OrderItemView> orderItems) {
+        return orderItems.stream()
+                .map(mapper::toOrderItemResponseDto)
+                .toList();
+    }
 }
@@ -0,0 +1,96 @@
+package com.innowise.order.service;
+
+import com.innowise.order.dto.OrderLineRequestDto;
+import com.innowise.order.dto.OrderRequestDto;
+import com.innowise.order.entity.Item;
+import com.innowise.order.entity.Order;
+import com.innowise.order.entity.OrderItem;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Helpers for orders created together with their line items.
+ * <p>
+ *     Items of all lines are expected to be loaded with one query, then every line is checked and turned into an
+ *     {@code OrderItem} against the loaded items.
+ * </p>
+ */
+final class OrderLines {
+
+    private OrderLines() {
+    }
+
+    /**
+     * Collects distinct ids of items referenced by lines of orders.
+     * @param orderDtos DTOs with new orders' data
+     * @return distinct item ids
+     */
+    static List<Long> itemIds(Collection<OrderRequestDto> orderDtos) {
+        return orderDtos.stream()
+                .filter(Objects::nonNull)
+                .map(OrderRequestDto::getItems)
+                .filter(Objects::nonNull)
+                .flatMap(List::stream)
+                .filter(Objects::nonNull)
+                .map(OrderLineRequestDto::getItemId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+    }
+
+    /**
+     * Groups loaded items by id.
+     * @param items loaded items
+     * @return map of item id to item
+     */
+    static Map<Long, Item> byId(List<Item> items) {
+        return items.stream().collect(Collectors.toMap(Item::getId, Function.identity()));
+    }
+
+    /**
+     * Checks lines of an order.
+     * @param lines lines of the order, may be {@code null}
+     * @param items loaded items by id
+     * @return reason why the lines are invalid, {@code null} if they're valid
+     */
+    static String validate(List<OrderLineRequestDto> lines, Map<Long, Item> items) {
+        if (lines == null) {
+            return null;
+        }
+        for (OrderLineRequestDto line : lines) {
+            if (line == null || line.getItemId() == null) {
+                return "itemId must not be null";
+            }
+            if (line.getQuantity() == null || line.getQuantity() <= 0) {
+                return "quantity must be positive";
+            }
+            if (!items.containsKey(line.getItemId())) {
+                return "Item with id " + line.getItemId() + " not found";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Creates order items of an order. Lines must be valid.
+     * @param order order that owns the lines
+     * @param lines lines of the order, may be {@code null}
+     * @param items loaded items by id
+     * @return order items, not saved yet
+     */
+    static List<OrderItem> toOrderItems(Order order, List<OrderLineRequestDto> lines, Map<Long, Item> items) {
+        List<OrderItem> orderItems = new ArrayList<>();
+        if (lines != null) {
+            for (OrderLineRequestDto line : lines) {
+                orderItems.add(new OrderItem(null, order, items.get(line.getItemId()), line.getQuantity()));
+            }
+        }
+        return orderItems;
+    }
+}
@@ -1,30 +1,31 @@
 package com.innowise.order.service;
 
-import com.innowise.order.client.UserClient;
 import com.innowise.order.client.UserResponseDto;
-import com.innowise.order.dto.OrderEventDto;
+import com.innowise.order.dto.CursorPage;
 import com.innowise.order.dto.OrderRequestDto;
 import com.innowise.order.dto.OrderResponseDto;
-import com.innowise.order.dto.PaymentEventDto;
+import com.innowise.order.entity.Item;
 import com.innowise.order.entity.Order;
 import com.innowise.order.exception.EmptyEntityListException;
 import com.innowise.order.exception.EntityNotFoundException;
 import com.innowise.order.exception.OrdersWithStatusNotFoundException;
 import com.innowise.order.exception.OrdersWithUserIdNotFoundException;
-import com.innowise.order.kafka.OrderProducer;
+import com.innowise.order.exception.UserUnavailableException;
+import com.innowise.order.mapper.OrderItemMapper;
 import com.innowise.order.mapper.OrderMapper;
+import com.innowise.order.projection.OrderView;
+import com.innowise.order.repository.ItemRepository;
 import com.innowise.order.repository.OrderRepository;
 import com.innowise.order.status.OrderStatus;
-import com.innowise.order.status.PaymentStatus;
 import feign.FeignException;
-import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.kafka.annotation.KafkaListener;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service class for managing Order entity.
@@ -38,30 +39,41 @@ import java.util.List;
 public class OrderService {
 
     private final OrderRepository repository;
-    private final UserClient userClient;
+    private final ItemRepository itemRepository;
     private final OrderMapper mapper;
-    private final OrderProducer orderProducer;
+    private final OrderItemMapper orderItemMapper;
+    private final OrderEventOutbox orderEventOutbox;
+    private final UserLookupService userLookupService;
+    private final RequestMemo requestMemo;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    public OrderService(OrderRepository orderRepository, UserClient userClient, OrderMapper orderMapper,
-                        OrderProducer orderProducer) {
+    public OrderService(OrderRepository orderRepository, ItemRepository itemRepository, OrderMapper orderMapper,
+                        OrderItemMapper orderItemMapper, OrderEventOutbox orderEventOutbox,
+                        UserLookupService userLookupService, RequestMemo requestMemo) {
         this.repository = orderRepository;
-        this.userClient = userClient;
+        this.itemRepository = itemRepository;
         this.mapper = orderMapper;
-        this.orderProducer = orderProducer;
+        this.orderItemMapper = orderItemMapper;
+        this.orderEventOutbox = orderEventOutbox;
+        this.userLookupService = userLookupService;
+        this.requestMemo = requestMemo;
     }
 
     /**
-     * Finds orders by user's email.
+     * Finds a page of orders by user's email.
      * @param email user's email
-     * @return list of orders
+     * @param after cursor of the previous page, {@code null} for the first page
+     * @param limit page size
+     * @return page of orders
      */
-    public List<OrderResponseDto> getOrdersByEmail(String email) {
-        UserResponseDto userResponseDto = userClient.getUserByEmail(email);
-        List<Order> userOrders = repository.findByUserId(userResponseDto.getId());
-        return userOrders.stream()
-                .map(order ->  getOrderResponseWithUser(order, userResponseDto))
-                .toList();
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponseDto> getOrdersByEmail(String email, String after, int limit) {
+        UserResponseDto userResponseDto = userLookupService.getUserByEmail(email);
+        List<OrderView> userOrders = repository.findByUserIdAndIdGreaterThanOrderByIdAsc(userResponseDto.getId(),
+                PageCursor.after(after), PageCursor.fetchLimit(limit));
+        return PageCursor.page(userOrders, limit, OrderView::id, orders -> orders.stream()
+                .map(order -> withUser(mapper.toOrderResponseDto(order), userResponseDto))
+                .toList());
     }
 
     /**
@@ -70,38 +82,57 @@ public class OrderService {
      * @return user info
      */
     public UserResponseDto getUserByEmail(String email) {
-        return userClient.getUserByEmail(email);
+        return userLookupService.getUserByEmail(email);
     }
 
     /**
-     * Creates a new order in the database.
+     * Creates a new order in the database together with its line items. Items of all lines are loaded with one
+     * query, and the order items are inserted with the order in one batch. The creation event is written to the
+     * outbox in the same transaction. Orders aren't created for users that User Service can't confirm right now,
+     * that is for stale snapshots and placeholders.
      * @param orderDto DTO with new order's data
-     * @return created order as DTO with user info
+     * @return created order as DTO with user info and line items
+     * @throws UserUnavailableException if the user was served by the User Service fallback
      */
     @Transactional
     public OrderResponseDto createOrder(OrderRequestDto orderDto) {
         UserResponseDto userResponseDto;
         try {
-            userResponseDto = userClient.getUserById(orderDto.getUserId());
+            userResponseDto = userLookupService.getUserById(orderDto.getUserId());
         } catch (FeignException.NotFound e) {
             throw new EntityNotFoundException("user ", orderDto.getUserId());
         } catch (FeignException.Unauthorized e) {
             throw new AccessDeniedException("Not enough rights");
         }
+        if (userResponseDto.isStale()) {
+            throw new UserUnavailableException(orderDto.getUserId());
+        }
 
+        Map<Long, Item> items = findItems(OrderLines.itemIds(List.of(orderDto)));
         Order order = mapper.toOrder(orderDto);
+        order.setOrderItems(OrderLines.toOrderItems(order, orderDto.getItems(), items));
         Order savedOrder = repository.save(order);
 
-        OrderEventDto event = new OrderEventDto();
-        event.setOrderId(savedOrder.getId());
-        event.setUserId(savedOrder.getUserId());
-        event.setStatus(savedOrder.getOrderStatus());
-        event.setCreationDate(savedOrder.getCreationDate());
-        event.setSource("order-service");
+        orderEventOutbox.add(mapper.toOrderEventDto(savedOrder));
 
-        orderProducer.sendCreateOrderEvent(event);
+        OrderResponseDto orderResponseDto = withUser(mapper.toOrderResponseDto(savedOrder), userResponseDto);
+        orderResponseDto.setItems(savedOrder.getOrderItems().stream()
+                .map(orderItemMapper::toOrderItemResponseDto)
+                .toList());
+        return orderResponseDto;
+    }
 
-        return getOrderResponseWithUser(savedOrder, userResponseDto);
+    private Map<Long, Item> findItems(List<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Item> items = OrderLines.byId(itemRepository.findAllById(itemIds));
+        for (Long itemId : itemIds) {
+            if (!items.containsKey(itemId)) {
+                throw new EntityNotFoundException("Item", itemId);
+            }
+        }
+        return items;
     }
 
     /**
@@ -109,75 +140,77 @@ public class OrderService {
      * @param id order's unique identifier
      * @return order as DTO with user info if found, empty if not found
      */
+    @Transactional(readOnly = true)
     public OrderResponseDto getOrderById(Long id) {
-        Order order = repository.findById(id)
+        OrderView order = requestMemo.findOrder(id, repository::findViewById)
                 .orElseThrow(() -> new EntityNotFoundException("Order", id));
-        return getOrderResponseWithUser(order, userClient.getUserById(order.getUserId()));
+        return withUser(mapper.toOrderResponseDto(order), userLookupService.getUserById(order.userId()));
     }
 
     /**
-     * Finds orders by ids.
+     * Finds a page of orders by ids.
      * @param ids list of orders' unique identifiers
-     * @return list of orders as DTOs
+     * @param after cursor of the previous page, {@code null} for the first page
+     * @param limit page size
+     * @return page of orders as DTOs
      */
-    public List<OrderResponseDto> getOrdersByIds(Iterable<Long> ids) {
-        List<OrderResponseDto> orders = repository.findAllById(ids)
-                .stream()
-                .map(order -> getOrderResponseWithUser(order, userClient.getUserById(order.getUserId())))
-                .toList();
-        if (orders.isEmpty()) {
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponseDto> getOrdersByIds(Collection<Long> ids, String after, int limit) {
+        List<OrderView> orders = repository.findByIdInAndIdGreaterThanOrderByIdAsc(ids, PageCursor.after(after),
+                PageCursor.fetchLimit(limit));
+        if (orders.isEmpty() && after == null) {
             throw new EmptyEntityListException("orders", ids);
         }
-        return orders;
+        return PageCursor.page(orders, limit, OrderView::id, this::getOrderResponsesWithUsers);
     }
 
     /**
-     * Finds orders with some status.
+     * Finds a page of orders with some status.
      * @param orderStatus orders' status
-     * @return list of orders as DTOs
+     * @param after cursor of the previous page, {@code null} for the first page
+     * @param limit page size
+     * @return page of orders as DTOs
      */
-    public List<OrderResponseDto> getOrdersByStatus(OrderStatus orderStatus) {
-        List<OrderResponseDto> orders = repository.findByOrderStatus(orderStatus)
-                .stream()
-                .map(order -> getOrderResponseWithUser(order, userClient.getUserById(order.getUserId())))
-                .toList();
-        if (orders.isEmpty()) {
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponseDto> getOrdersByStatus(OrderStatus orderStatus, String after, int limit) {
+        List<OrderView> orders = repository.findByOrderStatusAndIdGreaterThanOrderByIdAsc(orderStatus,
+                PageCursor.after(after), PageCursor.fetchLimit(limit));
+        if (orders.isEmpty() && after == null) {
             throw new OrdersWithStatusNotFoundException(orderStatus.name());
         }
-        return orders;
+        return PageCursor.page(orders, limit, OrderView::id, this::getOrderResponsesWithUsers);
     }
 
     /**
-     * Finds orders with some user ID.
+     * Finds a page of orders with some user ID.
      * @param userId User ID.
-     * @return list of orders as DTOs
+     * @param after cursor of the previous page, {@code null} for the first page
+     * @param limit page size
+     * @return page of orders as DTOs
      */
-    public List<OrderResponseDto> getOrdersByUserId(Long userId) {
-        List<OrderResponseDto> orders = repository.findByUserId(userId)
-                .stream()
-                .map(order -> getOrderResponseWithUser(order, userClient.getUserById(order.getUserId())))
-                .toList();
-        if (orders.isEmpty()) {
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponseDto> getOrdersByUserId(Long userId, String after, int limit) {
+        List<OrderView> orders = repository.findByUserIdAndIdGreaterThanOrderByIdAsc(userId,
+                PageCursor.after(after), PageCursor.fetchLimit(limit));
+        if (orders.isEmpty() && after == null) {
             throw new OrdersWithUserIdNotFoundException(userId);
         }
-        return orders;
+        return PageCursor.page(orders, limit, OrderView::id, this::getOrderResponsesWithUsers);
     }
 
     /**
-     * Updates an order by id.
+     * Updates an order by id. The updated row is returned by the update statement itself.
      * @param id order's unique identifier
      * @param orderDto OrderRequestDto that contains new data
+     * @return order as written, with user info
      */
     @Transactional
     public OrderResponseDto updateOrderById(Long id, OrderRequestDto orderDto) {
-        int updated = repository.updateOrder(id, orderDto.getUserId(), orderDto.getOrderStatus().name(),
-                orderDto.getCreationDate());
-        if (updated == 0) {
-            throw new EntityNotFoundException("Order", id);
-        }
-        Order order = repository.findById(id)
+        requestMemo.evictOrder(id);
+        OrderView order = repository.updateOrder(id, orderDto.getUserId(), orderDto.getOrderStatus().name(),
+                        orderDto.getCreationDate())
                 .orElseThrow(() -> new EntityNotFoundException("Order", id));
-        return getOrderResponseWithUser(order, userClient.getUserById(order.getUserId()));
+        return withUser(mapper.toOrderResponseDto(order), userLookupService.getUserById(order.userId()));
     }
 
     /**
@@ -186,58 +219,43 @@ public class OrderService {
      */
     @Transactional
     public void deleteOrderById(Long id) {
-        try {
-            repository.deleteById(id);
-        } catch (EmptyResultDataAccessException  e) {
+        requestMemo.evictOrder(id);
+        if (repository.deleteOrder(id) == 0) {
             throw new EntityNotFoundException("Order", id);
         }
     }
 
-    private OrderResponseDto getOrderResponseWithUser(Order order, UserResponseDto user) {
-        OrderResponseDto orderResponseDto = mapper.toOrderResponseDto(order);
+    private OrderResponseDto withUser(OrderResponseDto orderResponseDto, UserResponseDto user) {
         orderResponseDto.setUser(user);
+        orderResponseDto.setUserStale(user != null && user.isStale());
         return orderResponseDto;
     }
 
-    public String getOrderOwnerEmail(Long orderId) {
-        return repository.findById(orderId)
-                .map(order -> userClient.getUserById(order.getUserId()).getEmail())
-                .orElseThrow(() -> new EntityNotFoundException("order", orderId));
+    private List<OrderResponseDto> getOrderResponsesWithUsers(List<OrderView> orders) {
+        Map<Long, UserResponseDto> users = userLookupService.getUsersByIds(
+                orders.stream().map(OrderView::userId).toList());
+        return orders.stream()
+                .map(order -> withUser(mapper.toOrderResponseDto(order), users.get(order.userId())))
+                .toList();
     }
 
-    @KafkaListener(topics = "create_payment_v2", groupId = "order-service-group-v2")
-    public void handleCreatePayment(PaymentEventDto paymentEventDto) {
-        if (!"payment-service".equals(paymentEventDto.getSource())) {
-            System.out.println("Ignoring event from non-payment source: " + paymentEventDto.getSource());
-            return;
-        }
-
-        try {
-            OrderRequestDto orderRequest = new OrderRequestDto();
-            orderRequest.setUserId(paymentEventDto.getUserId());
-            orderRequest.setOrderStatus(
-                    paymentEventDto.getStatus() == PaymentStatus.COMPLETED
-                            ? OrderStatus.CONFIRMED
-                            : OrderStatus.CANCELED
-            );
-            orderRequest.setCreationDate(paymentEventDto.getCreationDate());
-            updateOrderStatus(
-                    paymentEventDto.getUserId(),
-                    paymentEventDto.getStatus() == PaymentStatus.COMPLETED
-                            ? OrderStatus.CONFIRMED
-                            : OrderStatus.CANCELED
-            );
-        } catch (Exception e) {
-            System.err.println("Error processing payment event: " + e.getMessage());
-        }
+    @Transactional(readOnly = true)
+    public String getOrderOwnerEmail(Long orderId) {
+        return requestMemo.findOrder(orderId, repository::findViewById)
+                .map(order -> userLookupService.getUserById(order.userId()).getEmail())
+                .orElseThrow(() -> new EntityNotFoundException("order", orderId));
     }
 
+    /**
+     * Sets new statuses of orders with one update statement. Orders that don't exist are skipped.
+     * @param statuses new status by order's unique identifier
+     * @return number of updated orders
+     */
     @Transactional
-    public void updateOrderStatus(Long orderId, OrderStatus newStatus) {
-        Order order = repository.findById(orderId)
-                .orElseThrow(() -> new EntityNotFoundException("order", orderId));
-
-        order.setOrderStatus(newStatus);
-        repository.save(order);
+    public int updateOrderStatuses(Map<Long, OrderStatus> statuses) {
+        if (statuses.isEmpty()) {
+            return 0;
+        }
+        return repository.updateStatuses(statuses);
     }
 }
@@ -0,0 +1,98 @@
+package com.innowise.order.service;
+
+import com.innowise.order.dto.CursorPage;
+import com.innowise.order.exception.InvalidCursorException;
+import org.springframework.data.domain.Limit;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset pagination over entity ids.
+ * <p>
+ *     A page is read with {@code id > after ORDER BY id LIMIT limit + 1}, so its cost doesn't depend on how deep the
+ *     client scrolls. The extra row only tells whether there is a next page. Cursors are opaque to clients: the last
+ *     id of a page encoded with Base64.
+ * </p>
+ */
+public final class PageCursor {
+
+    /**
+     * Page size used when the client doesn't set {@code limit}, as the default value of the request parameter.
+     */
+    public static final String DEFAULT_LIMIT = "50";
+
+    /**
+     * Largest page size a client may request.
+     */
+    public static final int MAX_LIMIT = 500;
+
+    private static final String PREFIX = "id:";
+
+    private PageCursor() {
+    }
+
+    /**
+     * Decodes a cursor into the last id of the previous page.
+     * @param cursor cursor from a previous page, {@code null} for the first page
+     * @return id to continue after, {@code 0} for the first page
+     * @throws InvalidCursorException if the cursor wasn't issued by this service
+     */
+    public static long after(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!value.startsWith(PREFIX)) {
+                throw new InvalidCursorException(cursor);
+            }
+            return Long.parseLong(value.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    /**
+     * Encodes the last id of a page into a cursor.
+     * @param lastId id of the last element of the page
+     * @return opaque cursor
+     */
+    public static String encode(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns the number of rows to fetch for a page: the page size, limited to {@link #MAX_LIMIT}, plus one.
+     * @param limit page size requested by the client
+     * @return limit for the query
+     */
+    public static Limit fetchLimit(int limit) {
+        return Limit.of(pageSize(limit) + 1);
+    }
+
+    /**
+     * Builds a page from rows fetched with {@link #fetchLimit(int)}.
+     * @param rows rows sorted by id
+     * @param limit page size requested by the client
+     * @param idOf returns the id of a row
+     * @param mapper maps the rows of the page to response elements
+     * @return page with the cursor of the next page, if there is one
+     */
+    public static <T, R> CursorPage<R> page(List<T> rows, int limit, Function<T, Long> idOf,
+                                            Function<List<T>, List<R>> mapper) {
+        int pageSize = pageSize(limit);
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(mapper.apply(rows), null);
+        }
+        List<T> pageRows = rows.subList(0, pageSize);
+        return new CursorPage<>(mapper.apply(pageRows), encode(idOf.apply(pageRows.get(pageSize - 1))));
+    }
+
+    private static int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+}
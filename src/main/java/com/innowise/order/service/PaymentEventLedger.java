@@ -0,0 +1,93 @@
+package com.innowise.order.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.innowise.order.repository.ProcessedPaymentEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Ledger of payment events that were already applied to orders.
+ * <p>
+ *     The ledger is the {@code processed_payment_events} table. Events are recorded with one
+ *     {@code INSERT ... ON CONFLICT DO NOTHING} in the transaction that applies them, so an event is applied at most
+ *     once even if several consumers get it. Ids of committed events are also kept in a size-bounded local cache,
+ *     so redelivered events are usually dropped without a query. Records older than
+ *     {@code payment.ledger.retention} are deleted; the retention must be longer than the retention of the topic.
+ * </p>
+ */
+@Component
+public class PaymentEventLedger {
+
+    private static final String CACHE_NAME = "processed-payment-events";
+
+    private final ProcessedPaymentEventRepository repository;
+    private final Duration retention;
+    private final Cache<Long, Boolean> processed;
+
+    public PaymentEventLedger(ProcessedPaymentEventRepository repository, MeterRegistry meterRegistry,
+                              @Value("${payment.ledger.cache.maximum-size:100000}") long maximumSize,
+                              @Value("${payment.ledger.retention:14d}") Duration retention) {
+        this.repository = repository;
+        this.retention = retention;
+        this.processed = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build(), CACHE_NAME);
+    }
+
+    /**
+     * Checks whether an event is known to be processed, without querying the database.
+     * @param eventId payment event's unique identifier
+     * @return {@code true} if the event is processed, {@code false} if it is not or isn't cached
+     */
+    public boolean isProcessed(Long eventId) {
+        return processed.getIfPresent(eventId) != null;
+    }
+
+    /**
+     * Records events as processed in the current transaction. They are cached once the transaction commits.
+     * @param eventIds payment events' unique identifiers
+     * @return identifiers of the events that weren't processed before
+     */
+    public Set<Long> record(Collection<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return Set.of();
+        }
+        List<Long> recorded = repository.insertNew(eventIds, Instant.now());
+        afterCommit(() -> eventIds.forEach(eventId -> processed.put(eventId, Boolean.TRUE)));
+        return Set.copyOf(recorded);
+    }
+
+    /**
+     * Deletes records older than {@code payment.ledger.retention}.
+     */
+    @Scheduled(fixedDelayString = "${payment.ledger.cleanup-interval-ms:3600000}")
+    public void deleteExpired() {
+        repository.deleteProcessedBefore(Instant.now().minus(retention));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
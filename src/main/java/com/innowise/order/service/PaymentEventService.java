@@ -0,0 +1,56 @@
+package com.innowise.order.service;
+
+import com.innowise.order.dto.PaymentEventDto;
+import com.innowise.order.status.OrderStatus;
+import com.innowise.order.status.PaymentStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Service class for applying payment events to orders.
+ */
+@Service
+public class PaymentEventService {
+
+    private final PaymentEventLedger ledger;
+    private final OrderService orderService;
+
+    public PaymentEventService(PaymentEventLedger ledger, OrderService orderService) {
+        this.ledger = ledger;
+        this.orderService = orderService;
+    }
+
+    /**
+     * Applies payment events to the statuses of their orders in one transaction. Events recorded in the ledger
+     * before are skipped, and of the others only the latest event of every order counts. Events without an id
+     * can't be recognized when delivered again and are always applied.
+     * @param paymentEvents payment event DTOs in the order they were consumed
+     * @return number of updated orders
+     */
+    @Transactional
+    public int applyPaymentEvents(List<PaymentEventDto> paymentEvents) {
+        Set<Long> fresh = ledger.record(paymentEvents.stream()
+                .map(PaymentEventDto::getId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList());
+
+        Map<Long, OrderStatus> statuses = new LinkedHashMap<>();
+        for (PaymentEventDto paymentEvent : paymentEvents) {
+            if (paymentEvent.getOrderId() == null
+                    || paymentEvent.getId() != null && !fresh.contains(paymentEvent.getId())) {
+                continue;
+            }
+            statuses.put(paymentEvent.getOrderId(), paymentEvent.getStatus() == PaymentStatus.COMPLETED
+                    ? OrderStatus.CONFIRMED
+                    : OrderStatus.CANCELED);
+        }
+        return orderService.updateOrderStatuses(statuses);
+    }
+}
@@ -0,0 +1,123 @@
+package com.innowise.order.service;
+
+import com.innowise.order.client.UserResponseDto;
+import com.innowise.order.projection.OrderItemView;
+import com.innowise.order.projection.OrderView;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Memo of orders, order items and users loaded while handling the current HTTP request.
+ * <p>
+ *     Lets the security checks and the services read the same order or user without loading it twice. Values are
+ *     kept in request attributes and dropped with the request. Outside a request nothing is memoized.
+ * </p>
+ */
+@Component
+public class RequestMemo {
+
+    private static final String ORDERS = RequestMemo.class.getName() + ".orders";
+    private static final String USERS = RequestMemo.class.getName() + ".users";
+    private static final String ORDER_ITEMS = RequestMemo.class.getName() + ".orderItems";
+    private static final String ORDER_ITEMS_BY_ORDER = RequestMemo.class.getName() + ".orderItemsByOrder";
+
+    /**
+     * Finds an order memoized in the current request or loads it.
+     * @param id order's unique identifier
+     * @param loader loads the order if it's not memoized yet
+     * @return order if found, empty if not found
+     */
+    public Optional<OrderView> findOrder(Long id, Function<Long, Optional<OrderView>> loader) {
+        return computeIfAbsent(ORDERS, id, loader);
+    }
+
+    /**
+     * Finds a user memoized in the current request or loads it.
+     * @param id user's unique identifier
+     * @param loader loads the user if it's not memoized yet
+     * @return user info
+     */
+    public UserResponseDto findUser(Long id, Function<Long, UserResponseDto> loader) {
+        return computeIfAbsent(USERS, id, loader);
+    }
+
+    /**
+     * Finds an order item memoized in the current request or loads it.
+     * @param id order item's unique identifier
+     * @param loader loads the order item if it's not memoized yet
+     * @return order item if found, empty if not found
+     */
+    public Optional<OrderItemView> findOrderItem(Long id, Function<Long, Optional<OrderItemView>> loader) {
+        return computeIfAbsent(ORDER_ITEMS, id, loader);
+    }
+
+    /**
+     * Finds order items of an order memoized in the current request or loads them.
+     * @param orderId order's unique identifier
+     * @param loader loads the order items if they're not memoized yet
+     * @return list of order items
+     */
+    public List<OrderItemView> findOrderItemsByOrderId(Long orderId,
+                                                       Function<Long, List<OrderItemView>> loader) {
+        return computeIfAbsent(ORDER_ITEMS_BY_ORDER, orderId, loader);
+    }
+
+    /**
+     * Removes an order from the memo of the current request, for example after it was changed.
+     * @param id order's unique identifier
+     */
+    public void evictOrder(Long id) {
+        Map<Long, Object> orders = values(ORDERS);
+        if (orders != null) {
+            orders.remove(id);
+        }
+    }
+
+    /**
+     * Removes an order item and all memoized lists of order items from the memo of the current request, for example
+     * after the order item was changed.
+     * @param id order item's unique identifier
+     */
+    public void evictOrderItem(Long id) {
+        Map<Long, Object> orderItems = values(ORDER_ITEMS);
+        if (orderItems != null) {
+            orderItems.remove(id);
+            values(ORDER_ITEMS_BY_ORDER).clear();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <V> V computeIfAbsent(String name, Long key, Function<Long, V> loader) {
+        Map<Long, Object> memo = values(name);
+        if (memo == null) {
+            return loader.apply(key);
+        }
+        if (memo.containsKey(key)) {
+            return (V) memo.get(key);
+        }
+        V value = loader.apply(key);
+        memo.put(key, value);
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Long, Object> values(String name) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
+        }
+        Map<Long, Object> values = (Map<Long, Object>) attributes.getAttribute(name, RequestAttributes.SCOPE_REQUEST);
+        if (values == null) {
+            values = new HashMap<>();
+            attributes.setAttribute(name, values, RequestAttributes.SCOPE_REQUEST);
+        }
+        return values;
+    }
+}
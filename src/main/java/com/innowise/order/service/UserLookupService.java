@@ -0,0 +1,266 @@
+package com.innowise.order.service;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.innowise.order.client.AuthorizationContext;
+import com.innowise.order.client.UserClient;
+import com.innowise.order.client.UserResponseDto;
+import com.innowise.order.client.UserSnapshotStore;
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Service class for resolving users from User Service.
+ * <p>
+ *     Users are kept in a size-bounded local cache keyed both by id and by email. Entries are dropped after
+ *     {@code user.cache.expire-after-write}. With a service credential {@code user.snapshot.service-authorization}
+ *     they are also refreshed in the background after {@code user.cache.refresh-after-write}, never with the token
+ *     of the caller that happened to read them. Without it, expired users are loaded again with the token of the
+ *     next caller.
+ *     Users missing in the cache are loaded with as few remote calls as possible: ids are de-duplicated and
+ *     requested in chunks of {@code user.service.batch-size}. Ids that the batch endpoint did not return are
+ *     requested one by one. If User Service has no batch endpoint, all ids are requested one by one and the batch
+ *     endpoint is probed again after {@code user.service.batch-retry-interval}. Concurrent lookups of the same id
+ *     or email wait for a single load of the cache, so they share a single call to User Service.
+ *     Users found by id are also memoized for the current request in {@link RequestMemo}.
+ * </p>
+ * <p>
+ *     Every fresh user is saved to {@link UserSnapshotStore}. Stale users served by the fallback while User Service
+ *     is unavailable are never cached and never replace a cached fresh user on refresh.
+ * </p>
+ */
+@Service
+public class UserLookupService {
+
+    private final UserClient userClient;
+    private final UserSnapshotStore snapshotStore;
+    private final RequestMemo requestMemo;
+    private final int batchSize;
+    private final Duration batchRetryInterval;
+    private final LoadingCache<Long, UserResponseDto> usersById;
+    private final LoadingCache<String, UserResponseDto> usersByEmail;
+
+    private volatile boolean batchEndpointAvailable = true;
+    private volatile long batchEndpointRetryAt;
+
+    public UserLookupService(UserClient userClient, UserSnapshotStore snapshotStore, RequestMemo requestMemo,
+                             MeterRegistry meterRegistry,
+                             @Value("${user.service.batch-size:100}") int batchSize,
+                             @Value("${user.service.batch-retry-interval:5m}") Duration batchRetryInterval,
+                             @Value("${user.cache.maximum-size:10000}") long maximumSize,
+                             @Value("${user.cache.expire-after-write:30m}") Duration expireAfterWrite,
+                             @Value("${user.cache.refresh-after-write:5m}") Duration refreshAfterWrite,
+                             @Value("${user.snapshot.service-authorization:}") String serviceAuthorization) {
+        this.userClient = userClient;
+        this.snapshotStore = snapshotStore;
+        this.requestMemo = requestMemo;
+        this.batchSize = batchSize;
+        this.batchRetryInterval = batchRetryInterval;
+        LoadingCache<Long, UserResponseDto> byId = newCache(maximumSize, expireAfterWrite, refreshAfterWrite,
+                serviceAuthorization).build(freshOnly(this::loadUserById));
+        LoadingCache<String, UserResponseDto> byEmail = newCache(maximumSize, expireAfterWrite, refreshAfterWrite,
+                serviceAuthorization).build(freshOnly(this::loadUserByEmail));
+        this.usersById = CaffeineCacheMetrics.monitor(meterRegistry, byId, "users.by-id");
+        this.usersByEmail = CaffeineCacheMetrics.monitor(meterRegistry, byEmail, "users.by-email");
+    }
+
+    /**
+     * Finds a user by id.
+     * @param id user's unique identifier
+     * @return user info
+     */
+    public UserResponseDto getUserById(Long id) {
+        return requestMemo.findUser(id, this::getCachedUserById);
+    }
+
+    private UserResponseDto getCachedUserById(Long id) {
+        UserResponseDto user = usersById.get(id);
+        if (user != null && user.isStale()) {
+            usersById.invalidate(id);
+        }
+        return user;
+    }
+
+    /**
+     * Finds a user by email.
+     * @param email user's email
+     * @return user info
+     */
+    public UserResponseDto getUserByEmail(String email) {
+        UserResponseDto user = usersByEmail.get(email);
+        if (user != null && user.isStale()) {
+            usersByEmail.invalidate(email);
+        }
+        return user;
+    }
+
+    /**
+     * Finds users by ids.
+     * @param ids users' unique identifiers, may contain duplicates
+     * @return map of user id to user info
+     */
+    public Map<Long, UserResponseDto> getUsersByIds(Collection<Long> ids) {
+        List<Long> distinctIds = ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        Map<Long, UserResponseDto> users = new HashMap<>(usersById.getAllPresent(distinctIds));
+        List<Long> missingIds = distinctIds.stream()
+                .filter(id -> !users.containsKey(id))
+                .toList();
+
+        for (int from = 0; from < missingIds.size(); from += batchSize) {
+            List<Long> chunk = missingIds.subList(from, Math.min(from + batchSize, missingIds.size()));
+            for (UserResponseDto user : fetchChunk(chunk)) {
+                if (user != null && user.getId() != null) {
+                    users.put(user.getId(), user);
+                    if (!user.isStale()) {
+                        cache(user);
+                    }
+                }
+            }
+        }
+
+        for (Long id : missingIds) {
+            if (!users.containsKey(id)) {
+                users.put(id, getUserById(id));
+            }
+        }
+        return users;
+    }
+
+    /**
+     * Loads a user from User Service again, bypassing the cache, and caches the result if it is fresh.
+     * @param id user's unique identifier
+     * @return {@code true} if fresh data was loaded
+     */
+    public boolean revalidateUser(Long id) {
+        UserResponseDto user = userClient.getUserById(id);
+        if (user == null || user.isStale()) {
+            return false;
+        }
+        cache(user);
+        return true;
+    }
+
+    /**
+     * Removes a user from the cache.
+     * @param id user's unique identifier
+     */
+    public void evictUserById(Long id) {
+        UserResponseDto user = usersById.getIfPresent(id);
+        usersById.invalidate(id);
+        if (user != null && user.getEmail() != null) {
+            usersByEmail.invalidate(user.getEmail());
+        }
+    }
+
+    /**
+     * Removes a user from the cache.
+     * @param email user's email
+     */
+    public void evictUserByEmail(String email) {
+        UserResponseDto user = usersByEmail.getIfPresent(email);
+        usersByEmail.invalidate(email);
+        if (user != null && user.getId() != null) {
+            usersById.invalidate(user.getId());
+        }
+    }
+
+    /**
+     * Removes all users from the cache.
+     */
+    public void evictAll() {
+        usersById.invalidateAll();
+        usersByEmail.invalidateAll();
+    }
+
+    private Caffeine<Object, Object> newCache(long maximumSize, Duration expireAfterWrite,
+                                              Duration refreshAfterWrite, String serviceAuthorization) {
+        Caffeine<Object, Object> cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats();
+        if (serviceAuthorization == null || serviceAuthorization.isBlank()) {
+            return cache;
+        }
+        return cache
+                .refreshAfterWrite(refreshAfterWrite)
+                .executor(task -> ForkJoinPool.commonPool()
+                        .execute(AuthorizationContext.wrap(serviceAuthorization, task)));
+    }
+
+    private UserResponseDto loadUserById(Long id) {
+        UserResponseDto user = userClient.getUserById(id);
+        if (user != null && !user.isStale()) {
+            snapshotStore.save(user);
+            if (user.getEmail() != null) {
+                usersByEmail.put(user.getEmail(), user);
+            }
+        }
+        return user;
+    }
+
+    private UserResponseDto loadUserByEmail(String email) {
+        UserResponseDto user = userClient.getUserByEmail(email);
+        if (user != null && !user.isStale()) {
+            snapshotStore.save(user);
+            if (user.getId() != null) {
+                usersById.put(user.getId(), user);
+            }
+        }
+        return user;
+    }
+
+    private void cache(UserResponseDto user) {
+        snapshotStore.save(user);
+        usersById.put(user.getId(), user);
+        if (user.getEmail() != null) {
+            usersByEmail.put(user.getEmail(), user);
+        }
+    }
+
+    private static <K> CacheLoader<K, UserResponseDto> freshOnly(Function<K, UserResponseDto> load) {
+        return new CacheLoader<>() {
+            @Override
+            public UserResponseDto load(K key) {
+                return load.apply(key);
+            }
+
+            @Override
+            public UserResponseDto reload(K key, UserResponseDto oldValue) {
+                UserResponseDto user = load.apply(key);
+                return user == null || user.isStale() ? oldValue : user;
+            }
+        };
+    }
+
+    private List<UserResponseDto> fetchChunk(List<Long> chunk) {
+        if (!batchEndpointAvailable && System.nanoTime() - batchEndpointRetryAt < 0) {
+            return List.of();
+        }
+        try {
+            List<UserResponseDto> users = userClient.getUsersByIds(chunk);
+            batchEndpointAvailable = true;
+            return users != null ? users : List.of();
+        } catch (FeignException.NotFound | FeignException.MethodNotAllowed e) {
+            batchEndpointRetryAt = System.nanoTime() + batchRetryInterval.toNanos();
+            batchEndpointAvailable = false;
+            return List.of();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.innowise.order.service;
+
+import com.innowise.order.client.AuthorizationContext;
+import com.innowise.order.client.UserSnapshotStore;
+import feign.FeignException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Background task that reloads users served stale by the fallback of {@code UserClient}.
+ * <p>
+ *     Does nothing while the circuit breaker of User Service is open. Once it is half-open or closed, the pending
+ *     users are loaded again with the service credential {@code user.snapshot.service-authorization}, never with
+ *     the token of a caller. Without a service credential the task does nothing: stale users are never cached, so
+ *     the next request that needs one of them loads it again with its own token.
+ * </p>
+ */
+@Component
+public class UserSnapshotRefresher {
+
+    private final UserSnapshotStore snapshotStore;
+    private final UserLookupService userLookupService;
+    private final ObjectProvider<CircuitBreakerRegistry> circuitBreakerRegistry;
+    private final String circuitBreakerName;
+    private final String serviceAuthorization;
+    private final int batchSize;
+
+    public UserSnapshotRefresher(UserSnapshotStore snapshotStore, UserLookupService userLookupService,
+                                 ObjectProvider<CircuitBreakerRegistry> circuitBreakerRegistry,
+                                 @Value("${user.snapshot.circuit-breaker:userService}") String circuitBreakerName,
+                                 @Value("${user.snapshot.service-authorization:}") String serviceAuthorization,
+                                 @Value("${user.snapshot.revalidate-batch-size:100}") int batchSize) {
+        this.snapshotStore = snapshotStore;
+        this.userLookupService = userLookupService;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.circuitBreakerName = circuitBreakerName;
+        this.serviceAuthorization = serviceAuthorization;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Reloads users that were served stale, if User Service may be called again.
+     */
+    @Scheduled(fixedDelayString = "${user.snapshot.revalidate-interval-ms:5000}")
+    public void revalidate() {
+        if (serviceAuthorization == null || serviceAuthorization.isBlank()) {
+            return;
+        }
+        List<Long> pending = snapshotStore.pendingRevalidations(batchSize);
+        if (pending.isEmpty() || isCircuitOpen()) {
+            return;
+        }
+
+        for (Long userId : pending) {
+            boolean fresh = AuthorizationContext.callWith(serviceAuthorization, () -> revalidateQuietly(userId));
+            if (!fresh) {
+                return;
+            }
+        }
+    }
+
+    private boolean revalidateQuietly(Long userId) {
+        try {
+            return userLookupService.revalidateUser(userId);
+        } catch (FeignException e) {
+            return false;
+        }
+    }
+
+    private boolean isCircuitOpen() {
+        CircuitBreakerRegistry registry = circuitBreakerRegistry.getIfAvailable();
+        if (registry == null) {
+            return false;
+        }
+        CircuitBreaker.State state = registry.circuitBreaker(circuitBreakerName).getState();
+        return state == CircuitBreaker.State.OPEN || state == CircuitBreaker.State.FORCED_OPEN;
+    }
+}
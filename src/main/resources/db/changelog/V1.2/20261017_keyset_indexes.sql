@@ -0,0 +1,9 @@
+CREATE INDEX idx_orders_user_id_id ON orders(user_id, id);
+CREATE INDEX idx_orders_status_id ON orders(status, id);
+CREATE INDEX idx_order_items_order_id_id ON order_items(order_id, id);
+CREATE INDEX idx_order_items_item_id_id ON order_items(item_id, id);
+
+DROP INDEX IF EXISTS idx_orders_user_id;
+DROP INDEX IF EXISTS idx_orders_status;
+DROP INDEX IF EXISTS idx_order_items_order_id;
+DROP INDEX IF EXISTS idx_order_items_item_id;
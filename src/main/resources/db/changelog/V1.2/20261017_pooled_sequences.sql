@@ -0,0 +1,3 @@
+ALTER SEQUENCE orders_id_seq INCREMENT BY 50;
+ALTER SEQUENCE items_id_seq INCREMENT BY 50;
+ALTER SEQUENCE order_items_id_seq INCREMENT BY 50;
@@ -0,0 +1,9 @@
+CREATE TABLE IF NOT EXISTS order_outbox(
+    id BIGSERIAL PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    payload TEXT NOT NULL,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    sent_at TIMESTAMP WITH TIME ZONE
+);
+ALTER SEQUENCE order_outbox_id_seq INCREMENT BY 50;
+CREATE INDEX IF NOT EXISTS idx_order_outbox_unsent ON order_outbox(id) WHERE sent_at IS NULL;
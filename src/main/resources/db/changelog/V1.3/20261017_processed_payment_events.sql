@@ -0,0 +1,4 @@
+CREATE TABLE IF NOT EXISTS processed_payment_events(
+    event_id BIGINT PRIMARY KEY,
+    processed_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
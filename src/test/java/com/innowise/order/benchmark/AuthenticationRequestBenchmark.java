@@ -0,0 +1,135 @@
+package com.innowise.order.benchmark;
+
+import com.innowise.order.security.JwtAuthenticationFilter;
+import com.innowise.order.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Request-level latency of authentication: a whole MockMvc request to a trivial endpoint behind the previous
+ * filter, which verified the token twice and allocated new authorities, and behind {@link JwtAuthenticationFilter}.
+ * Run the {@code main} method from the test classpath after {@code mvn test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthenticationRequestBenchmark {
+
+    private static final String SECRET = "order-service-benchmark-secret-0123456789abcdef";
+
+    private String authorization;
+    private MockMvc legacyMockMvc;
+    private MockMvc mockMvc;
+
+    @Setup
+    public void setUp() {
+        authorization = "Bearer " + Jwts.builder()
+                .setSubject("abc@gmail.com")
+                .claim("role", "USER")
+                .claim(JwtUtil.USER_ID_CLAIM, 1L)
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+        legacyMockMvc = MockMvcBuilders.standaloneSetup(new PingController())
+                .addFilters(new LegacyJwtFilter())
+                .build();
+        mockMvc = MockMvcBuilders.standaloneSetup(new PingController())
+                .addFilters(new JwtAuthenticationFilter(new JwtUtil(SECRET, "role", 10_000, Duration.ofMinutes(10))))
+                .build();
+    }
+
+    @Benchmark
+    public Object legacyRequest() throws Exception {
+        return perform(legacyMockMvc);
+    }
+
+    @Benchmark
+    public Object request() throws Exception {
+        return perform(mockMvc);
+    }
+
+    private Object perform(MockMvc target) throws Exception {
+        try {
+            return target.perform(get("/ping").header("Authorization", authorization)).andReturn();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AuthenticationRequestBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+
+    @RestController
+    static class PingController {
+
+        @GetMapping("/ping")
+        public String ping() {
+            return SecurityContextHolder.getContext().getAuthentication().getName();
+        }
+    }
+
+    static class LegacyJwtFilter extends OncePerRequestFilter {
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                        FilterChain filterChain) throws ServletException, IOException {
+            String jwt = request.getHeader("Authorization").substring(7);
+            String username = parse(jwt).getSubject();
+            String role = (String) parse(jwt).get("role");
+            SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(username,
+                    null, List.of(new SimpleGrantedAuthority("ROLE_" + role))));
+            filterChain.doFilter(request, response);
+        }
+
+        private static Claims parse(String token) {
+            return Jwts.parserBuilder()
+                    .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.innowise.order.benchmark;
+
+import com.innowise.order.security.JwtAuthenticationFilter;
+import com.innowise.order.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of JWT authentication.
+ * <ul>
+ *     <li>{@code legacyTwoVerifications} - the previous behaviour: key and parser built and the token verified once
+ *     for the username and once more for the role</li>
+ *     <li>{@code filterCacheMiss} - the filter with a single verification of a token seen for the first time</li>
+ *     <li>{@code filterCacheHit} - the filter with a token that was already verified</li>
+ *     <li>{@code newAuthorities} and {@code sharedAuthorities} - mapping a role claim to a new list of
+ *     {@code SimpleGrantedAuthority} per request compared to the shared lists of {@link JwtUtil}</li>
+ * </ul>
+ * Run the {@code main} method from the test classpath after {@code mvn test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final String SECRET = "order-service-benchmark-secret-0123456789abcdef";
+
+    private String token;
+    private JwtUtil jwtUtil;
+    private JwtAuthenticationFilter cachingFilter;
+    private JwtAuthenticationFilter nonCachingFilter;
+
+    @Setup
+    public void setUp() {
+        token = Jwts.builder()
+                .setSubject("abc@gmail.com")
+                .claim("role", "USER")
+                .claim(JwtUtil.USER_ID_CLAIM, 1L)
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+        jwtUtil = new JwtUtil(SECRET, "role", 10_000, Duration.ofMinutes(10));
+        cachingFilter = new JwtAuthenticationFilter(jwtUtil);
+        nonCachingFilter = new JwtAuthenticationFilter(new JwtUtil(SECRET, "role", 0, Duration.ofMinutes(10)));
+    }
+
+    @Benchmark
+    public void legacyTwoVerifications(Blackhole blackhole) {
+        blackhole.consume(legacyParse(token).getSubject());
+        blackhole.consume(legacyParse(token).get("role"));
+    }
+
+    @Benchmark
+    public Object filterCacheMiss() throws Exception {
+        return authenticate(nonCachingFilter);
+    }
+
+    @Benchmark
+    public Object filterCacheHit() throws Exception {
+        return authenticate(cachingFilter);
+    }
+
+    @Benchmark
+    public Object newAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + "USER"));
+    }
+
+    @Benchmark
+    public Object sharedAuthorities() {
+        return jwtUtil.toAuthorities("USER");
+    }
+
+    private Object authenticate(JwtAuthenticationFilter filter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/orders/get/1");
+        request.addHeader("Authorization", "Bearer " + token);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static Claims legacyParse(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthenticationFilterBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,191 @@
+package com.innowise.order.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.innowise.order.OrderServiceApplication;
+import com.innowise.order.dto.OrderLineRequestDto;
+import com.innowise.order.dto.OrderRequestDto;
+import com.innowise.order.entity.Item;
+import com.innowise.order.repository.ItemRepository;
+import com.innowise.order.status.OrderStatus;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+/**
+ * Creating orders with three line items over HTTP, one request to {@code POST /orders/add} per order and
+ * {@value #BATCH_SIZE} orders in one request to {@code POST /orders/batch}. The application runs on a random port
+ * with PostgreSQL in Testcontainers; User Service is stubbed by WireMock. The score is orders per second, and the
+ * batch is expected to create at least ten times more orders per second. Run the {@code main} method from the test
+ * classpath after {@code mvn test-compile}; Docker must be available.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OrderBatchCreationBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int USER_COUNT = 100;
+    private static final String USER = "{\"id\":1,\"email\":\"abc@gmail.com\",\"name\":\"Polly McDonald\"}";
+    private static final String SECRET = "order-service-benchmark-secret-0123456789abcdef";
+
+    private PostgreSQLContainer<?> postgres;
+    private WireMockServer userService;
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private URI addUri;
+    private URI batchUri;
+    private String authorization;
+    private List<String> orderBodies;
+    private String batchBody;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+        userService = new WireMockServer(options().dynamicPort());
+        userService.start();
+        userService.stubFor(get(urlPathMatching("/users/get/[0-9]+"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(USER)));
+        userService.stubFor(get(urlPathEqualTo("/users/get"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(users())));
+        context = new SpringApplicationBuilder(OrderServiceApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "--spring.datasource.username=" + postgres.getUsername(),
+                        "--spring.datasource.password=" + postgres.getPassword(),
+                        "--spring.jpa.show-sql=false",
+                        "--spring.kafka.listener.auto-startup=false",
+                        "--outbox.relay.enabled=false",
+                        "--JWT_SECRET=" + SECRET,
+                        "--USER_SERVICE_URL=http://localhost:" + userService.port());
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        httpClient = HttpClient.newHttpClient();
+        addUri = URI.create(baseUrl + "/orders/add");
+        batchUri = URI.create(baseUrl + "/orders/batch");
+        authorization = "Bearer " + Jwts.builder()
+                .setSubject("admin@gmail.com")
+                .claim("role", "ADMIN")
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+
+        Item item = new Item();
+        item.setName("Item name");
+        item.setPrice(BigDecimal.valueOf(10.55));
+        Long itemId = context.getBean(ItemRepository.class).save(item).getId();
+
+        List<OrderRequestDto> orderDtos = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            OrderLineRequestDto line = new OrderLineRequestDto();
+            line.setItemId(itemId);
+            line.setQuantity(i % 5 + 1);
+            OrderRequestDto orderDto = new OrderRequestDto();
+            orderDto.setUserId(i % USER_COUNT + 1L);
+            orderDto.setOrderStatus(OrderStatus.PENDS_PAY);
+            orderDto.setCreationDate(LocalDate.of(2025, 1, 1).plusDays(i % 365));
+            orderDto.setItems(List.of(line, line, line));
+            orderDtos.add(orderDto);
+        }
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+        orderBodies = new ArrayList<>(BATCH_SIZE);
+        for (OrderRequestDto orderDto : orderDtos) {
+            orderBodies.add(objectMapper.writeValueAsString(orderDto));
+        }
+        batchBody = objectMapper.writeValueAsString(orderDtos);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        userService.stop();
+        postgres.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void oneByOne() throws IOException, InterruptedException {
+        for (String orderBody : orderBodies) {
+            post(addUri, orderBody);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void batch() throws IOException, InterruptedException {
+        post(batchUri, batchBody);
+    }
+
+    private void post(URI uri, String body) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 201) {
+            throw new IllegalStateException("Orders were not created: " + status);
+        }
+    }
+
+    private static String users() {
+        StringBuilder users = new StringBuilder("[");
+        for (int id = 1; id <= USER_COUNT; id++) {
+            users.append(id > 1 ? "," : "").append(USER.replace("\"id\":1", "\"id\":" + id));
+        }
+        return users.append("]").toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OrderBatchCreationBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
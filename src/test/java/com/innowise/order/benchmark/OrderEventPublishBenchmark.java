@@ -0,0 +1,140 @@
+package com.innowise.order.benchmark;
+
+import com.innowise.order.dto.OrderEventDto;
+import com.innowise.order.dto.OrderEventLineDto;
+import com.innowise.order.kafka.OrderProducer;
+import com.innowise.order.kafka.OrderProducerProperties;
+import com.innowise.order.status.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.record.CompressionType;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.util.unit.DataSize;
+import org.testcontainers.kafka.KafkaContainer;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Publishing order events with the producer defaults of Kafka and with the settings of
+ * {@link OrderProducerProperties}. Events are sent to a single-node Kafka broker in Testcontainers, the way
+ * {@code OutboxRelay} sends them: a batch at once, then waiting for all acknowledgements. The score is events per
+ * second. Run the {@code main} method from the test classpath after {@code mvn test-compile}; Docker must be
+ * available.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OrderEventPublishBenchmark {
+
+    private static final String TOPIC = "create_order_v2";
+    private static final int PARTITIONS = 6;
+    private static final int EVENTS_PER_BATCH = 1_000;
+
+    @Param({"defaults", "tuned"})
+    public String settings;
+
+    private KafkaContainer kafka;
+    private DefaultKafkaProducerFactory<String, OrderEventDto> producerFactory;
+    private OrderProducer producer;
+    private List<OrderEventDto> events;
+
+    @Setup
+    public void setUp() throws Exception {
+        kafka = new KafkaContainer("apache/kafka:3.8.0");
+        kafka.start();
+        try (Admin admin = Admin.create(Map.of(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG,
+                kafka.getBootstrapServers()))) {
+            admin.createTopics(List.of(new NewTopic(TOPIC, PARTITIONS, (short) 1))).all().get();
+        }
+
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafka.getBootstrapServers());
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        if ("tuned".equals(settings)) {
+            config.putAll(new OrderProducerProperties(Duration.ofMillis(10), DataSize.ofKilobytes(64),
+                    CompressionType.LZ4, true, "all", 5).producerConfig());
+        }
+        producerFactory = new DefaultKafkaProducerFactory<>(config);
+        producer = new OrderProducer(new KafkaTemplate<>(producerFactory), new SimpleMeterRegistry());
+
+        events = IntStream.range(0, EVENTS_PER_BATCH)
+                .mapToObj(OrderEventPublishBenchmark::event)
+                .toList();
+    }
+
+    @TearDown
+    public void tearDown() {
+        producerFactory.destroy();
+        kafka.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS_PER_BATCH)
+    public void publish() {
+        CompletableFuture.allOf(events.stream()
+                        .map(producer::sendCreateOrderEvent)
+                        .toArray(CompletableFuture[]::new))
+                .join();
+    }
+
+    private static OrderEventDto event(int i) {
+        OrderEventDto event = new OrderEventDto();
+        event.setOrderId((long) i);
+        event.setUserId(i % 100L + 1);
+        event.setStatus(OrderStatus.PENDS_PAY);
+        event.setCreationDate(LocalDate.of(2025, 1, 1).plusDays(i % 365));
+        event.setSource("order-service");
+        event.setLines(IntStream.range(0, 3)
+                .mapToObj(line -> {
+                    OrderEventLineDto orderEventLine = new OrderEventLineDto();
+                    orderEventLine.setOrderItemId(i * 3L + line);
+                    orderEventLine.setItemId(line + 1L);
+                    orderEventLine.setQuantity(line + 1);
+                    orderEventLine.setPrice(BigDecimal.valueOf(10.55));
+                    return orderEventLine;
+                })
+                .toList());
+        return event;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OrderEventPublishBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,129 @@
+package com.innowise.order.benchmark;
+
+import com.innowise.order.OrderServiceApplication;
+import com.innowise.order.dto.OrderResponseDto;
+import com.innowise.order.entity.Order;
+import com.innowise.order.mapper.OrderMapper;
+import com.innowise.order.repository.OrderRepository;
+import com.innowise.order.status.OrderStatus;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading a page of orders as managed entities, as the services did before, and as {@code OrderView} projections.
+ * Both variants map the page to {@link OrderResponseDto} in a read-only transaction against PostgreSQL in
+ * Testcontainers. The GC profiler reports allocated bytes per page in {@code gc.alloc.rate.norm}. Run the
+ * {@code main} method from the test classpath after {@code mvn test-compile}; Docker must be available.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderReadProjectionBenchmark {
+
+    private static final int ORDER_COUNT = 5_000;
+    private static final int PAGE_SIZE = 500;
+
+    private PostgreSQLContainer<?> postgres;
+    private ConfigurableApplicationContext context;
+    private OrderRepository repository;
+    private OrderMapper mapper;
+    private EntityManager entityManager;
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup
+    public void setUp() {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+        context = new SpringApplicationBuilder(OrderServiceApplication.class)
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "--spring.datasource.username=" + postgres.getUsername(),
+                        "--spring.datasource.password=" + postgres.getPassword(),
+                        "--spring.jpa.show-sql=false",
+                        "--spring.kafka.listener.auto-startup=false",
+                        "--outbox.relay.enabled=false",
+                        "--JWT_SECRET=order-service-benchmark-secret-0123456789abcdef",
+                        "--USER_SERVICE_URL=http://localhost:1");
+        repository = context.getBean(OrderRepository.class);
+        mapper = context.getBean(OrderMapper.class);
+        entityManager = context.getBean(EntityManager.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        List<Order> orders = new ArrayList<>(ORDER_COUNT);
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            Order order = new Order();
+            order.setUserId(i % 100L + 1);
+            order.setOrderStatus(OrderStatus.PENDS_PAY);
+            order.setCreationDate(LocalDate.of(2025, 1, 1).plusDays(i % 365));
+            orders.add(order);
+        }
+        repository.saveAll(orders);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public List<OrderResponseDto> entities() {
+        return readOnlyTransaction.execute(status -> entityManager
+                .createQuery("SELECT o FROM Order o WHERE o.orderStatus = :orderStatus AND o.id > :after " +
+                        "ORDER BY o.id", Order.class)
+                .setParameter("orderStatus", OrderStatus.PENDS_PAY)
+                .setParameter("after", 0L)
+                .setMaxResults(PAGE_SIZE)
+                .getResultList()
+                .stream()
+                .map(mapper::toOrderResponseDto)
+                .toList());
+    }
+
+    @Benchmark
+    public List<OrderResponseDto> projections() {
+        return readOnlyTransaction.execute(status -> repository
+                .findByOrderStatusAndIdGreaterThanOrderByIdAsc(OrderStatus.PENDS_PAY, 0L, Limit.of(PAGE_SIZE))
+                .stream()
+                .map(mapper::toOrderResponseDto)
+                .toList());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OrderReadProjectionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build())
+                .run();
+    }
+}
@@ -0,0 +1,159 @@
+package com.innowise.order.benchmark;
+
+import com.innowise.order.dto.PaymentEventDto;
+import com.innowise.order.kafka.PaymentConsumer;
+import com.innowise.order.service.PaymentEventLedger;
+import com.innowise.order.service.PaymentEventService;
+import com.innowise.order.status.PaymentStatus;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.testcontainers.kafka.KafkaContainer;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Consuming payment events with different numbers of shards in {@link PaymentConsumer}. Events are read from a
+ * single-node Kafka broker in Testcontainers a poll at a time, the way the listener container hands them over, and
+ * their offsets are committed by the consumer.
+ * Applying a shard is replaced by a pause of {@value #TRANSACTION_MILLIS} ms, the cost of a short transaction
+ * against the database, so the score shows how far sharding hides that latency. The score is events per second.
+ * Run the {@code main} method from the test classpath after {@code mvn test-compile}; Docker must be available.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PaymentEventShardingBenchmark {
+
+    private static final String TOPIC = "create_payment_v2";
+    private static final int PARTITIONS = 3;
+    private static final int EVENT_COUNT = 10_000;
+    private static final int ORDER_COUNT = 1_000;
+    private static final int MAX_POLL_RECORDS = 500;
+    private static final long TRANSACTION_MILLIS = 2;
+
+    @Param({"1", "2", "4", "8", "16"})
+    public int shards;
+
+    private KafkaContainer kafka;
+    private KafkaConsumer<String, PaymentEventDto> kafkaConsumer;
+    private PaymentConsumer consumer;
+
+    @Setup
+    public void setUp() throws Exception {
+        kafka = new KafkaContainer("apache/kafka:3.8.0");
+        kafka.start();
+        try (Admin admin = Admin.create(Map.of(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG,
+                kafka.getBootstrapServers()))) {
+            admin.createTopics(List.of(new NewTopic(TOPIC, PARTITIONS, (short) 1))).all().get();
+        }
+
+        try (KafkaProducer<String, PaymentEventDto> producer = new KafkaProducer<>(Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafka.getBootstrapServers(),
+                ProducerConfig.LINGER_MS_CONFIG, 10), new StringSerializer(), new JsonSerializer<>())) {
+            for (int i = 0; i < EVENT_COUNT; i++) {
+                PaymentEventDto paymentEvent = paymentEvent(i);
+                producer.send(new ProducerRecord<>(TOPIC, String.valueOf(paymentEvent.getOrderId()), paymentEvent));
+            }
+        }
+
+        kafkaConsumer = new KafkaConsumer<>(Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, kafka.getBootstrapServers(),
+                ConsumerConfig.GROUP_ID_CONFIG, "payment-event-sharding-benchmark",
+                ConsumerConfig.MAX_POLL_RECORDS_CONFIG, MAX_POLL_RECORDS,
+                ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false),
+                new StringDeserializer(), new JsonDeserializer<>(PaymentEventDto.class, false));
+        List<TopicPartition> partitions = new ArrayList<>();
+        for (int i = 0; i < PARTITIONS; i++) {
+            partitions.add(new TopicPartition(TOPIC, i));
+        }
+        kafkaConsumer.assign(partitions);
+
+        PaymentEventService paymentEventService = mock(PaymentEventService.class, withSettings()
+                .stubOnly()
+                .defaultAnswer(invocation -> {
+                    Thread.sleep(TRANSACTION_MILLIS);
+                    return 0;
+                }));
+        consumer = new PaymentConsumer(paymentEventService, mock(PaymentEventLedger.class), 1, shards);
+    }
+
+    @TearDown
+    public void tearDown() {
+        consumer.destroy();
+        kafkaConsumer.close();
+        kafka.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENT_COUNT)
+    public int consume() {
+        kafkaConsumer.seekToBeginning(kafkaConsumer.assignment());
+        int consumed = 0;
+        while (consumed < EVENT_COUNT) {
+            ConsumerRecords<String, PaymentEventDto> records = kafkaConsumer.poll(Duration.ofSeconds(1));
+            List<ConsumerRecord<String, PaymentEventDto>> polled = new ArrayList<>(records.count());
+            records.forEach(polled::add);
+            consumer.handleCreatePayments(polled, kafkaConsumer);
+            consumed += polled.size();
+        }
+        return consumed;
+    }
+
+    private static PaymentEventDto paymentEvent(int i) {
+        PaymentEventDto paymentEvent = new PaymentEventDto();
+        paymentEvent.setId((long) i);
+        paymentEvent.setOrderId(i % ORDER_COUNT + 1L);
+        paymentEvent.setUserId(i % 100L + 1);
+        paymentEvent.setStatus(i % 10 == 0 ? PaymentStatus.FAILED : PaymentStatus.COMPLETED);
+        paymentEvent.setCreationDate(LocalDate.of(2025, 1, 1));
+        paymentEvent.setSource("payment-service");
+        return paymentEvent;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PaymentEventShardingBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
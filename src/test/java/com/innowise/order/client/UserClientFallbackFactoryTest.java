@@ -0,0 +1,65 @@
+package com.innowise.order.client;
+
+import feign.FeignException;
+import feign.Request;
+import feign.RetryableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserClientFallbackFactoryTest {
+
+    private UserSnapshotStore snapshotStore;
+    private UserClientFallbackFactory fallbackFactory;
+
+    @BeforeEach
+    void setUp() {
+        snapshotStore = new UserSnapshotStore(100);
+        fallbackFactory = new UserClientFallbackFactory(new UserClientFallback(snapshotStore));
+
+        UserResponseDto user = new UserResponseDto();
+        user.setId(1L);
+        user.setEmail("hanna00@gmail.com");
+        snapshotStore.save(user);
+    }
+
+    @Test
+    void testCreateRethrowsMissingBatchEndpoint() {
+        FeignException notFound = new FeignException.NotFound("Not Found", request(), null, Map.of());
+        FeignException methodNotAllowed = new FeignException.MethodNotAllowed("Method Not Allowed", request(), null,
+                Map.of());
+
+        assertSame(notFound, assertThrows(FeignException.NotFound.class,
+                () -> fallbackFactory.create(notFound).getUsersByIds(List.of(1L))));
+        assertSame(methodNotAllowed, assertThrows(FeignException.MethodNotAllowed.class,
+                () -> fallbackFactory.create(methodNotAllowed).getUsersByIds(List.of(1L))));
+    }
+
+    @Test
+    void testCreateRethrowsClientErrors() {
+        FeignException unauthorized = new FeignException.Unauthorized("Unauthorized", request(), null, Map.of());
+
+        assertThrows(FeignException.Unauthorized.class, () -> fallbackFactory.create(unauthorized).getUserById(1L));
+        assertTrue(snapshotStore.pendingRevalidations(10).isEmpty());
+    }
+
+    @Test
+    void testCreateServesSnapshotsWhenUserServiceIsDown() {
+        RetryableException connectionRefused = new RetryableException(-1, "Connection refused",
+                Request.HttpMethod.GET, (Long) null, request());
+        FeignException unavailable = new FeignException.ServiceUnavailable("Service Unavailable", request(), null,
+                Map.of());
+
+        assertTrue(fallbackFactory.create(connectionRefused).getUserById(1L).isStale());
+        assertEquals(1, fallbackFactory.create(unavailable).getUsersByIds(List.of(1L)).size());
+    }
+
+    private Request request() {
+        return Request.create(Request.HttpMethod.GET, "/users/get", Map.of(), null, StandardCharsets.UTF_8, null);
+    }
+}
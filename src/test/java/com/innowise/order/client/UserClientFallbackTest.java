@@ -0,0 +1,82 @@
+package com.innowise.order.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserClientFallbackTest {
+
+    private UserSnapshotStore snapshotStore;
+    private UserClientFallback fallback;
+    private UserResponseDto userResponseDto;
+
+    @BeforeEach
+    void setUp() {
+        snapshotStore = new UserSnapshotStore(100);
+        fallback = new UserClientFallback(snapshotStore);
+
+        userResponseDto = new UserResponseDto();
+        userResponseDto.setId(1L);
+        userResponseDto.setName("Hanna");
+        userResponseDto.setSurname("Montana");
+        userResponseDto.setBirthDate(LocalDate.of(2000, 3, 20));
+        userResponseDto.setEmail("hanna00@gmail.com");
+    }
+
+    @Test
+    void testGetUserByIdServesSnapshot() {
+        snapshotStore.save(userResponseDto);
+
+        UserResponseDto result = fallback.getUserById(1L);
+
+        assertTrue(result.isStale());
+        assertEquals("Hanna", result.getName());
+        assertEquals(LocalDate.of(2000, 3, 20), result.getBirthDate());
+        assertFalse(userResponseDto.isStale());
+        assertEquals(1, snapshotStore.pendingRevalidations(10).size());
+    }
+
+    @Test
+    void testGetUserByEmailServesSnapshot() {
+        snapshotStore.save(userResponseDto);
+
+        UserResponseDto result = fallback.getUserByEmail("hanna00@gmail.com");
+
+        assertTrue(result.isStale());
+        assertEquals(1L, result.getId());
+    }
+
+    @Test
+    void testGetUserByIdWithoutSnapshot() {
+        UserResponseDto result = fallback.getUserById(2L);
+
+        assertTrue(result.isStale());
+        assertEquals(2L, result.getId());
+        assertEquals("Unknown", result.getName());
+        assertTrue(snapshotStore.pendingRevalidations(10).isEmpty());
+    }
+
+    @Test
+    void testGetUsersByIdsServesKnownSnapshots() {
+        snapshotStore.save(userResponseDto);
+
+        List<UserResponseDto> result = fallback.getUsersByIds(List.of(1L, 2L));
+
+        assertEquals(1, result.size());
+        assertEquals(1L, result.get(0).getId());
+    }
+
+    @Test
+    void testSaveClearsPendingRevalidation() {
+        snapshotStore.save(userResponseDto);
+        fallback.getUserById(1L);
+
+        snapshotStore.save(userResponseDto);
+
+        assertTrue(snapshotStore.pendingRevalidations(10).isEmpty());
+    }
+}
@@ -34,17 +34,21 @@ public abstract class AbstractIntegrationTest {
         registry.add("spring.datasource.username", postgres::getUsername);
         registry.add("spring.datasource.password", postgres::getPassword);
         registry.add("USER_SERVICE_URL", () -> "http://localhost:" + wireMockServer.port());
+        registry.add("outbox.relay.enabled", () -> "false");
     }
 
     @BeforeAll
     static void startContainer() {
         postgres.start();
-        wireMockServer.start();
+        // a stopped WireMock server can't serve requests again, so it runs until the JVM exits
+        if (!wireMockServer.isRunning()) {
+            wireMockServer.start();
+        }
     }
 
     @AfterAll
     static void stopContainers() {
-        wireMockServer.stop();
+        wireMockServer.resetAll();
         postgres.stop();
     }
 
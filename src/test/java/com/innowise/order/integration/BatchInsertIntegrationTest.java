@@ -0,0 +1,87 @@
+package com.innowise.order.integration;
+
+import com.innowise.order.entity.Item;
+import com.innowise.order.entity.Order;
+import com.innowise.order.entity.OrderItem;
+import com.innowise.order.repository.ItemRepository;
+import com.innowise.order.repository.OrderItemRepository;
+import com.innowise.order.repository.OrderRepository;
+import com.innowise.order.status.OrderStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts SQL statements needed to insert many order items at once.
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class BatchInsertIntegrationTest extends AbstractIntegrationTest {
+
+    private static final int ORDER_ITEM_COUNT = 1000;
+
+    @Autowired
+    private OrderItemRepository repository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Order order;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        itemRepository.deleteAll();
+        orderRepository.deleteAll();
+
+        order = new Order();
+        order.setUserId(1L);
+        order.setOrderStatus(OrderStatus.PENDS_PAY);
+        order.setCreationDate(LocalDate.of(2025, 10, 10));
+        order = orderRepository.save(order);
+
+        item = new Item();
+        item.setName("Item name");
+        item.setPrice(BigDecimal.valueOf(10.55));
+        item = itemRepository.save(item);
+    }
+
+    @Test
+    void testSaveAllOrderItemsInBatches() {
+        List<OrderItem> orderItems = new ArrayList<>(ORDER_ITEM_COUNT);
+        for (int i = 0; i < ORDER_ITEM_COUNT; i++) {
+            OrderItem orderItem = new OrderItem();
+            orderItem.setOrder(order);
+            orderItem.setItem(item);
+            orderItem.setQuantity(i + 1);
+            orderItems.add(orderItem);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<OrderItem> saved = repository.saveAll(orderItems);
+
+        assertEquals(ORDER_ITEM_COUNT, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 2 * ORDER_ITEM_COUNT / 50 + 2,
+                "statements: " + statistics.getPrepareStatementCount());
+        assertEquals(ORDER_ITEM_COUNT, saved.stream().map(OrderItem::getId).distinct().count());
+        assertEquals(ORDER_ITEM_COUNT, repository.count());
+    }
+}
@@ -0,0 +1,46 @@
+package com.innowise.order.integration;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Remembers SQL that Hibernate prepares while capturing is on. Registered by class name, so the captured statements
+ * are kept in a static list shared by all instances.
+ */
+public class CapturingStatementInspector implements StatementInspector {
+
+    private static final List<String> STATEMENTS = new ArrayList<>();
+    private static volatile boolean capturing;
+
+    @Override
+    public String inspect(String sql) {
+        if (capturing) {
+            synchronized (STATEMENTS) {
+                STATEMENTS.add(sql);
+            }
+        }
+        return sql;
+    }
+
+    /**
+     * Runs an action and collects SQL prepared by Hibernate while it runs.
+     * @param action action that calls repository methods
+     * @return prepared SQL statements, in the order of preparation
+     */
+    public static List<String> capture(Runnable action) {
+        synchronized (STATEMENTS) {
+            STATEMENTS.clear();
+        }
+        capturing = true;
+        try {
+            action.run();
+        } finally {
+            capturing = false;
+        }
+        synchronized (STATEMENTS) {
+            return List.copyOf(STATEMENTS);
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.innowise.order.dto.ItemRequestDto;
 import com.innowise.order.dto.ItemResponseDto;
 import com.innowise.order.exception.EntityNotFoundException;
 import com.innowise.order.repository.ItemRepository;
+import com.innowise.order.service.ItemCatalog;
 import com.innowise.order.service.ItemService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,9 +22,13 @@ public class ItemServiceIntegrationTest extends AbstractIntegrationTest {
     @Autowired
     private ItemRepository repository;
 
+    @Autowired
+    private ItemCatalog catalog;
+
     @BeforeEach
     void clean() {
         repository.deleteAll();
+        catalog.evictAll();
     }
 
     @Test
@@ -64,6 +69,25 @@ public class ItemServiceIntegrationTest extends AbstractIntegrationTest {
         assertEquals(BigDecimal.valueOf(120.57), updatedItem.getPrice());
     }
 
+    @Test
+    void testGetItemByIdAfterUpdate() {
+        ItemRequestDto itemRequestDto = new ItemRequestDto();
+        itemRequestDto.setName("Start name");
+        itemRequestDto.setPrice(BigDecimal.valueOf(159.89));
+        ItemResponseDto createdItem = service.createItem(itemRequestDto);
+        service.getItemById(createdItem.getId());
+
+        ItemRequestDto updateItemRequestDto = new ItemRequestDto();
+        updateItemRequestDto.setName("Name after update");
+        updateItemRequestDto.setPrice(BigDecimal.valueOf(120.57));
+        service.updateItemById(createdItem.getId(), updateItemRequestDto);
+
+        ItemResponseDto foundItem = service.getItemById(createdItem.getId());
+
+        assertEquals("Name after update", foundItem.getName());
+        assertEquals(BigDecimal.valueOf(120.57), foundItem.getPrice());
+    }
+
     @Test
     void updateItemByIdNotFound() {
         ItemRequestDto updateItemRequestDto = new ItemRequestDto();
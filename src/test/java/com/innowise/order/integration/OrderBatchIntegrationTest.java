@@ -0,0 +1,117 @@
+package com.innowise.order.integration;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.innowise.order.repository.OrderRepository;
+import com.innowise.order.repository.OutboxRepository;
+import com.innowise.order.service.UserLookupService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Creates orders through {@code POST /orders/batch}.
+ */
+@AutoConfigureMockMvc
+public class OrderBatchIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String JWT_SECRET = "order-service-integration-test-secret-0123456789";
+
+    @DynamicPropertySource
+    static void configureJwtSecret(DynamicPropertyRegistry registry) {
+        registry.add("JWT_SECRET", () -> JWT_SECRET);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderRepository repository;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private UserLookupService userLookupService;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        outboxRepository.deleteAll();
+        userLookupService.evictAll();
+
+        wireMockServer.stubFor(WireMock.get(urlPathEqualTo("/users/get"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("[{\"id\":1,\"email\":\"abc@gmail.com\",\"name\":\"Polly McDonald\"}]")));
+    }
+
+    @Test
+    void testAddOrders() throws Exception {
+        mockMvc.perform(post("/orders/batch")
+                        .header("Authorization", bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + order(1) + "," + order(1) + "]"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[1].created").value(true));
+
+        assertEquals(2, repository.count());
+    }
+
+    @Test
+    void testAddOrdersRejectsInvalidOrder() throws Exception {
+        mockMvc.perform(post("/orders/batch")
+                        .header("Authorization", bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + order(1) + ",{\"userId\":1,\"orderStatus\":\"SHIPPED\"}]"))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(0, repository.count());
+    }
+
+    @Test
+    void testAddOrdersRejectsInvalidLine() throws Exception {
+        String orderWithInvalidLine = "{\"userId\":1,\"orderStatus\":\"SHIPPED\",\"creationDate\":\"2025-01-10\"," +
+                "\"items\":[{\"itemId\":1,\"quantity\":0}]}";
+
+        mockMvc.perform(post("/orders/batch")
+                        .header("Authorization", bearer())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + order(1) + "," + orderWithInvalidLine + "]"))
+                .andExpect(status().isBadRequest());
+
+        assertEquals(0, repository.count());
+    }
+
+    private String order(long userId) {
+        return "{\"userId\":" + userId + ",\"orderStatus\":\"SHIPPED\",\"creationDate\":\"2025-01-10\"}";
+    }
+
+    private String bearer() {
+        String token = Jwts.builder()
+                .setSubject("admin@gmail.com")
+                .claim("role", "ADMIN")
+                .claim("userId", 2L)
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(JWT_SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+        return "Bearer " + token;
+    }
+}
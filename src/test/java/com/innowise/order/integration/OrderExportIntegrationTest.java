@@ -0,0 +1,107 @@
+package com.innowise.order.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innowise.order.entity.Order;
+import com.innowise.order.repository.OrderRepository;
+import com.innowise.order.status.OrderStatus;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {"order.export.chunk-size=2", "order.export.timeout=45m"})
+public class OrderExportIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String JWT_SECRET = "order-service-integration-test-secret-0123456789";
+
+    @DynamicPropertySource
+    static void configureJwtSecret(DynamicPropertyRegistry registry) {
+        registry.add("JWT_SECRET", () -> JWT_SECRET);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+        for (int i = 1; i <= 5; i++) {
+            Order order = new Order();
+            order.setUserId(1L);
+            order.setOrderStatus(i <= 3 ? OrderStatus.SHIPPED : OrderStatus.PENDS_PAY);
+            order.setCreationDate(LocalDate.of(2025, 10, i));
+            repository.save(order);
+        }
+    }
+
+    @Test
+    void testExportOrdersByStatus() throws Exception {
+        MvcResult result = mockMvc.perform(get("/orders/admin/export").param("status", "shipped")
+                        .header("Authorization", bearer("ADMIN")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(Duration.ofMinutes(45).toMillis(), result.getRequest().getAsyncContext().getTimeout());
+
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        List<String> lines = body.lines().toList();
+        assertEquals(3, lines.size());
+        for (String line : lines) {
+            JsonNode order = objectMapper.readTree(line);
+            assertEquals("SHIPPED", order.get("orderStatus").asText());
+            assertEquals("abc@gmail.com", order.get("user").get("email").asText());
+        }
+    }
+
+    @Test
+    void testExportOrdersForbiddenForUser() throws Exception {
+        mockMvc.perform(get("/orders/admin/export").param("status", "shipped")
+                        .header("Authorization", bearer("USER")))
+                .andExpect(status().isForbidden());
+    }
+
+    private String bearer(String role) {
+        String token = Jwts.builder()
+                .setSubject("abc@gmail.com")
+                .claim("role", role)
+                .claim("userId", 1L)
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(JWT_SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+        return "Bearer " + token;
+    }
+}
@@ -109,7 +109,7 @@ public class OrderItemIntegrationTest extends AbstractIntegrationTest {
         List<OrderItemResponseDto> orderItems = service.getOrderItemsByIds(List.of(
                 orderItemResponseDto1.getId(),
                 orderItemResponseDto2.getId()
-        ));
+        ), null, 50).getItems();
         assertEquals(2, orderItems.size());
     }
 
@@ -133,7 +133,7 @@ public class OrderItemIntegrationTest extends AbstractIntegrationTest {
 
         service.createOrderItem(orderItemRequestDto);
 
-        List<OrderItemResponseDto> orderItems = service.getOrderItemsByOrderId(savedOrder.getId());
+        List<OrderItemResponseDto> orderItems = service.getOrderItemsByOrderId(savedOrder.getId(), null, 50).getItems();
         assertEquals(1, orderItems.size());
         assertEquals(savedOrder.getId(), orderItems.get(0).getOrderId());
     }
@@ -158,7 +158,7 @@ public class OrderItemIntegrationTest extends AbstractIntegrationTest {
 
         service.createOrderItem(orderItemRequestDto);
 
-        List<OrderItemResponseDto> orderItems = service.getOrderItemsByItemId(savedItem.getId());
+        List<OrderItemResponseDto> orderItems = service.getOrderItemsByItemId(savedItem.getId(), null, 50).getItems();
         assertEquals(1, orderItems.size());
         assertEquals(savedItem.getId(), orderItems.get(0).getItemId());
     }
@@ -249,6 +249,35 @@ public class OrderItemIntegrationTest extends AbstractIntegrationTest {
                 ex.getMessage());
     }
 
+    @Test
+    void testDeleteOrderAndItemCascadeToOrderItems() {
+        Order order = new Order();
+        order.setUserId(1L);
+        order.setOrderStatus(OrderStatus.SHIPPED);
+        order.setCreationDate(LocalDate.of(2025, 1, 10));
+        Order savedOrder = orderRepository.save(order);
+
+        Item item = new Item();
+        item.setName("Item name");
+        item.setPrice(BigDecimal.valueOf(10.55));
+        Item savedItem = itemRepository.save(item);
+
+        OrderItemRequestDto orderItemRequestDto = new OrderItemRequestDto();
+        orderItemRequestDto.setOrderId(savedOrder.getId());
+        orderItemRequestDto.setItemId(savedItem.getId());
+        orderItemRequestDto.setQuantity(3);
+
+        OrderItemResponseDto firstOrderItem = service.createOrderItem(orderItemRequestDto);
+        OrderItemResponseDto secondOrderItem = service.createOrderItem(orderItemRequestDto);
+
+        assertEquals(1, orderRepository.deleteOrder(savedOrder.getId()));
+
+        assertFalse(repository.existsById(firstOrderItem.getId()));
+        assertFalse(repository.existsById(secondOrderItem.getId()));
+        assertEquals(1, itemRepository.deleteItem(savedItem.getId()));
+        assertEquals(0, itemRepository.deleteItem(savedItem.getId()));
+    }
+
     @Test
     void testGetOrderItemByIdNotFound() {
         Long nonExistentId = 59L;
@@ -260,7 +289,7 @@ public class OrderItemIntegrationTest extends AbstractIntegrationTest {
     @Test
     void testGetOrderItemsByIdsEmpty() {
         EmptyEntityListException ex = assertThrows(EmptyEntityListException.class, () ->
-                service.getOrderItemsByIds(List.of(1L, 2L)));
+                service.getOrderItemsByIds(List.of(1L, 2L), null, 50));
         assertTrue(ex.getMessage().contains("No order items found with ids: "));
     }
 
@@ -268,7 +297,7 @@ public class OrderItemIntegrationTest extends AbstractIntegrationTest {
     void testGetOrderItemsByOrderIdEmpty() {
         Long nonExistentOrderId = 999L;
         EmptyOrderItemListSingleIdException ex = assertThrows(EmptyOrderItemListSingleIdException.class, () ->
-                service.getOrderItemsByOrderId(nonExistentOrderId));
+                service.getOrderItemsByOrderId(nonExistentOrderId, null, 50));
         assertTrue(ex.getMessage().contains("No order items found with order id"));
     }
 
@@ -276,7 +305,7 @@ public class OrderItemIntegrationTest extends AbstractIntegrationTest {
     void testGetOrderItemsByItemIdEmpty() {
         Long nonExistentItemId = 999L;
         EmptyOrderItemListSingleIdException ex = assertThrows(EmptyOrderItemListSingleIdException.class, () ->
-                service.getOrderItemsByItemId(nonExistentItemId));
+                service.getOrderItemsByItemId(nonExistentItemId, null, 50));
         assertTrue(ex.getMessage().contains("No order items found with item id"));
     }
 }
@@ -0,0 +1,162 @@
+package com.innowise.order.integration;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.innowise.order.entity.Order;
+import com.innowise.order.repository.OrderRepository;
+import com.innowise.order.service.UserLookupService;
+import com.innowise.order.status.OrderStatus;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Date;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts SQL statements and calls to User Service made by a single request to each owner-protected order endpoint.
+ */
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class OrderRequestFootprintIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String JWT_SECRET = "order-service-integration-test-secret-0123456789";
+    private static final String OWNER_EMAIL = "abc@gmail.com";
+
+    @DynamicPropertySource
+    static void configureJwtSecret(DynamicPropertyRegistry registry) {
+        registry.add("JWT_SECRET", () -> JWT_SECRET);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderRepository repository;
+
+    @Autowired
+    private UserLookupService userLookupService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+
+        order = new Order();
+        order.setUserId(1L);
+        order.setOrderStatus(OrderStatus.PENDS_PAY);
+        order.setCreationDate(LocalDate.of(2025, 10, 10));
+        order = repository.save(order);
+
+        wireMockServer.stubFor(WireMock.get(urlPathEqualTo("/users/get"))
+                .withQueryParam("ids", equalTo("1"))
+                .willReturn(aResponse()
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("[{\"id\":1,\"email\":\"abc@gmail.com\",\"name\":\"Polly McDonald\"}]")));
+
+        userLookupService.evictAll();
+        wireMockServer.resetRequests();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testGetOrderById() throws Exception {
+        mockMvc.perform(get("/orders/get/{id}", order.getId()).header("Authorization", bearer("USER", 1L)))
+                .andExpect(status().isOk());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        wireMockServer.verify(1, getRequestedFor(urlPathEqualTo("/users/get/1")));
+    }
+
+    @Test
+    void testGetOrderByIdOfOtherUser() throws Exception {
+        mockMvc.perform(get("/orders/get/{id}", order.getId()).header("Authorization", bearer("USER", 2L)))
+                .andExpect(status().isForbidden());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        wireMockServer.verify(0, getRequestedFor(urlPathEqualTo("/users/get/1")));
+    }
+
+    @Test
+    void testGetOrdersByUserId() throws Exception {
+        mockMvc.perform(get("/orders/get/user_id").param("userId", "1").header("Authorization", bearer("USER", 1L)))
+                .andExpect(status().isOk());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        wireMockServer.verify(1, getRequestedFor(urlPathEqualTo("/users/get")).withQueryParam("ids", equalTo("1")));
+        wireMockServer.verify(0, getRequestedFor(urlPathEqualTo("/users/get/1")));
+    }
+
+    @Test
+    void testGetOrdersByEmail() throws Exception {
+        mockMvc.perform(get("/orders/get/email").param("email", OWNER_EMAIL).header("Authorization", bearer("USER", 1L)))
+                .andExpect(status().isOk());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        wireMockServer.verify(1, getRequestedFor(urlPathEqualTo("/users/get/email")));
+    }
+
+    @Test
+    void testUpdateOrder() throws Exception {
+        mockMvc.perform(put("/orders/update/{id}", order.getId())
+                        .header("Authorization", bearer("USER", 1L))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userId\":1,\"orderStatus\":\"SHIPPED\",\"creationDate\":\"2025-10-11\"}"))
+                .andExpect(status().isOk());
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        wireMockServer.verify(1, getRequestedFor(urlPathEqualTo("/users/get/1")));
+    }
+
+    @Test
+    void testDeleteOrder() throws Exception {
+        mockMvc.perform(delete("/orders/delete/{id}", order.getId()).header("Authorization", bearer("USER", 1L)))
+                .andExpect(status().isNoContent());
+
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getEntityDeleteCount());
+        wireMockServer.verify(0, getRequestedFor(urlPathEqualTo("/users/get/1")));
+    }
+
+    private String bearer(String role, Long userId) {
+        String token = Jwts.builder()
+                .setSubject(OWNER_EMAIL)
+                .claim("role", role)
+                .claim("userId", userId)
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(JWT_SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+        return "Bearer " + token;
+    }
+}
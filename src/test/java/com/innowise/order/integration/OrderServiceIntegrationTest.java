@@ -1,20 +1,39 @@
 package com.innowise.order.integration;
 
+import com.github.tomakehurst.wiremock.WireMockServer;
 import com.innowise.order.client.UserClient;
 import com.innowise.order.client.UserResponseDto;
+import com.innowise.order.dto.CursorPage;
+import com.innowise.order.dto.OrderLineRequestDto;
 import com.innowise.order.dto.OrderRequestDto;
 import com.innowise.order.dto.OrderResponseDto;
+import com.innowise.order.entity.Item;
+import com.innowise.order.entity.OutboxEvent;
 import com.innowise.order.exception.EntityNotFoundException;
+import com.innowise.order.exception.UserUnavailableException;
+import com.innowise.order.repository.ItemRepository;
+import com.innowise.order.repository.OrderItemRepository;
 import com.innowise.order.repository.OrderRepository;
+import com.innowise.order.repository.OutboxRepository;
 import com.innowise.order.service.OrderService;
+import com.innowise.order.service.UserLookupService;
 import com.innowise.order.status.OrderStatus;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class OrderServiceIntegrationTest extends AbstractIntegrationTest {
@@ -25,12 +44,35 @@ public class OrderServiceIntegrationTest extends AbstractIntegrationTest {
     @Autowired
     private OrderRepository repository;
 
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
     @Autowired
     private UserClient userClient;
 
+    @Autowired
+    private UserLookupService userLookupService;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
     @BeforeEach
     void clean() {
         repository.deleteAll();
+        outboxRepository.deleteAll();
+    }
+
+    @AfterEach
+    void closeUserServiceOutage() {
+        // tests that stop User Service leave a stale user memoized and the circuit breaker open
+        RequestContextHolder.resetRequestAttributes();
+        circuitBreakerRegistry.getAllCircuitBreakers().forEach(CircuitBreaker::reset);
     }
 
     @Test
@@ -54,6 +96,116 @@ public class OrderServiceIntegrationTest extends AbstractIntegrationTest {
         assertEquals(createdOrder.getCreationDate(), foundOrder.getCreationDate());
     }
 
+    @Test
+    void testGetOrderServesStaleUserWhileUserServiceIsDown() {
+        OrderRequestDto orderRequestDto = new OrderRequestDto();
+        orderRequestDto.setUserId(1L);
+        orderRequestDto.setOrderStatus(OrderStatus.SHIPPED);
+        orderRequestDto.setCreationDate(LocalDate.of(2025, 1, 10));
+        OrderResponseDto createdOrder = service.createOrder(orderRequestDto);
+        assertFalse(createdOrder.isUserStale());
+        userLookupService.evictAll();
+        // read the order in a new request, so the user memoized by createOrder is not reused
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        int port = wireMockServer.port();
+        wireMockServer.stop();
+        try {
+            OrderResponseDto foundOrder = service.getOrderById(createdOrder.getId());
+
+            assertTrue(foundOrder.isUserStale());
+            assertEquals(1L, foundOrder.getUser().getId());
+            assertEquals("abc@gmail.com", foundOrder.getUser().getEmail());
+            assertEquals("Polly McDonald", foundOrder.getUser().getName());
+        } finally {
+            wireMockServer = new WireMockServer(options().port(port));
+            wireMockServer.start();
+            setupWireMock();
+        }
+    }
+
+    @Test
+    void testCreateOrderRejectsStaleUserWhileUserServiceIsDown() {
+        OrderRequestDto orderRequestDto = new OrderRequestDto();
+        orderRequestDto.setUserId(1L);
+        orderRequestDto.setOrderStatus(OrderStatus.SHIPPED);
+        orderRequestDto.setCreationDate(LocalDate.of(2025, 1, 10));
+        service.createOrder(orderRequestDto);
+        userLookupService.evictAll();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        int port = wireMockServer.port();
+        wireMockServer.stop();
+        try {
+            assertThrows(UserUnavailableException.class, () -> service.createOrder(orderRequestDto));
+            assertEquals(1, repository.count());
+            assertEquals(1, outboxRepository.count());
+        } finally {
+            wireMockServer = new WireMockServer(options().port(port));
+            wireMockServer.start();
+            setupWireMock();
+        }
+    }
+
+    @Test
+    void testCreateOrderWithItems() {
+        Item item = new Item();
+        item.setName("Item name");
+        item.setPrice(BigDecimal.valueOf(10.55));
+        Item savedItem = itemRepository.save(item);
+
+        OrderLineRequestDto line = new OrderLineRequestDto();
+        line.setItemId(savedItem.getId());
+        line.setQuantity(3);
+
+        OrderRequestDto orderRequestDto = new OrderRequestDto();
+        orderRequestDto.setUserId(1L);
+        orderRequestDto.setOrderStatus(OrderStatus.PENDS_PAY);
+        orderRequestDto.setCreationDate(LocalDate.of(2025, 1, 10));
+        orderRequestDto.setItems(List.of(line, line));
+
+        OrderResponseDto createdOrder = service.createOrder(orderRequestDto);
+
+        assertEquals(2, createdOrder.getItems().size());
+        assertEquals(createdOrder.getId(), createdOrder.getItems().get(0).getOrderId());
+        assertEquals(savedItem.getId(), createdOrder.getItems().get(0).getItemId());
+        assertEquals(3, createdOrder.getItems().get(0).getQuantity());
+        assertEquals(2, orderItemRepository.count());
+    }
+
+    @Test
+    void testCreateOrderWithMissingItem() {
+        OrderLineRequestDto line = new OrderLineRequestDto();
+        line.setItemId(Long.MAX_VALUE);
+        line.setQuantity(1);
+
+        OrderRequestDto orderRequestDto = new OrderRequestDto();
+        orderRequestDto.setUserId(1L);
+        orderRequestDto.setOrderStatus(OrderStatus.PENDS_PAY);
+        orderRequestDto.setCreationDate(LocalDate.of(2025, 1, 10));
+        orderRequestDto.setItems(List.of(line));
+
+        assertThrows(EntityNotFoundException.class, () -> service.createOrder(orderRequestDto));
+        assertEquals(0, repository.count());
+        assertEquals(0, outboxRepository.count());
+    }
+
+    @Test
+    void testCreateOrderWritesOutboxEvent() {
+        OrderRequestDto orderRequestDto = new OrderRequestDto();
+        orderRequestDto.setUserId(1L);
+        orderRequestDto.setOrderStatus(OrderStatus.PENDS_PAY);
+        orderRequestDto.setCreationDate(LocalDate.of(2025, 1, 10));
+
+        OrderResponseDto createdOrder = service.createOrder(orderRequestDto);
+
+        List<OutboxEvent> events = outboxRepository.findAll();
+        assertEquals(1, events.size());
+        assertEquals(createdOrder.getId(), events.get(0).getOrderId());
+        assertTrue(events.get(0).getPayload().contains("\"orderId\":" + createdOrder.getId()));
+        assertNull(events.get(0).getSentAt());
+    }
+
     @Test
     void testGetOrdersByEmail() {
         UserResponseDto userResponseDto = new UserResponseDto();
@@ -73,7 +225,7 @@ public class OrderServiceIntegrationTest extends AbstractIntegrationTest {
         order2.setCreationDate(LocalDate.of(2025, 2, 10));
         service.createOrder(order2);
 
-        List<OrderResponseDto> orders = service.getOrdersByEmail(userResponseDto.getEmail());
+        List<OrderResponseDto> orders = service.getOrdersByEmail(userResponseDto.getEmail(), null, 50).getItems();
 
         assertNotNull(orders);
         assertEquals(2, orders.size());
@@ -83,6 +235,26 @@ public class OrderServiceIntegrationTest extends AbstractIntegrationTest {
         assertEquals(userResponseDto.getEmail(), firstOrder.getUser().getEmail());
     }
 
+    @Test
+    void testGetOrdersByUserIdPages() {
+        for (int i = 1; i <= 3; i++) {
+            OrderRequestDto orderRequestDto = new OrderRequestDto();
+            orderRequestDto.setUserId(1L);
+            orderRequestDto.setOrderStatus(OrderStatus.SHIPPED);
+            orderRequestDto.setCreationDate(LocalDate.of(2025, 3, i));
+            service.createOrder(orderRequestDto);
+        }
+
+        CursorPage<OrderResponseDto> firstPage = service.getOrdersByUserId(1L, null, 2);
+        CursorPage<OrderResponseDto> secondPage = service.getOrdersByUserId(1L, firstPage.getNextCursor(), 2);
+
+        assertEquals(2, firstPage.getItems().size());
+        assertNotNull(firstPage.getNextCursor());
+        assertEquals(1, secondPage.getItems().size());
+        assertNull(secondPage.getNextCursor());
+        assertTrue(firstPage.getItems().get(1).getId() < secondPage.getItems().get(0).getId());
+    }
+
     @Test
     void testUpdateOrderById() {
         OrderRequestDto orderRequestDto = new OrderRequestDto();
@@ -124,6 +296,23 @@ public class OrderServiceIntegrationTest extends AbstractIntegrationTest {
         assertEquals("Order with id " + nonExistentId + " not found", exception.getMessage());
     }
 
+    @Test
+    void testUpdateOrderStatuses() {
+        OrderRequestDto orderRequestDto = new OrderRequestDto();
+        orderRequestDto.setUserId(1L);
+        orderRequestDto.setOrderStatus(OrderStatus.PENDS_PAY);
+        orderRequestDto.setCreationDate(LocalDate.of(2025, 5, 15));
+        OrderResponseDto paidOrder = service.createOrder(orderRequestDto);
+        OrderResponseDto failedOrder = service.createOrder(orderRequestDto);
+
+        int updated = service.updateOrderStatuses(Map.of(paidOrder.getId(), OrderStatus.CONFIRMED,
+                failedOrder.getId(), OrderStatus.CANCELED, Long.MAX_VALUE, OrderStatus.CONFIRMED));
+
+        assertEquals(2, updated);
+        assertEquals(OrderStatus.CONFIRMED, repository.findById(paidOrder.getId()).orElseThrow().getOrderStatus());
+        assertEquals(OrderStatus.CANCELED, repository.findById(failedOrder.getId()).orElseThrow().getOrderStatus());
+    }
+
     @Test
     void testDeleteOrderById() {
         OrderRequestDto orderRequestDto = new OrderRequestDto();
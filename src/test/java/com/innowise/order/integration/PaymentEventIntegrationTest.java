@@ -0,0 +1,80 @@
+package com.innowise.order.integration;
+
+import com.innowise.order.dto.PaymentEventDto;
+import com.innowise.order.entity.Order;
+import com.innowise.order.repository.OrderRepository;
+import com.innowise.order.repository.ProcessedPaymentEventRepository;
+import com.innowise.order.service.PaymentEventService;
+import com.innowise.order.status.OrderStatus;
+import com.innowise.order.status.PaymentStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PaymentEventIntegrationTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private PaymentEventService service;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ProcessedPaymentEventRepository processedPaymentEventRepository;
+
+    @BeforeEach
+    void clean() {
+        orderRepository.deleteAll();
+        processedPaymentEventRepository.deleteAll();
+    }
+
+    @Test
+    void testApplyPaymentEventsByOrderId() {
+        Order order = saveOrder();
+
+        int updated = service.applyPaymentEvents(List.of(paymentEvent(1L, order.getId(), PaymentStatus.COMPLETED)));
+
+        assertEquals(1, updated);
+        assertEquals(OrderStatus.CONFIRMED, orderRepository.findById(order.getId()).orElseThrow().getOrderStatus());
+        assertTrue(processedPaymentEventRepository.existsById(1L));
+    }
+
+    @Test
+    void testRedeliveredPaymentEventIsNotAppliedAgain() {
+        Order order = saveOrder();
+        PaymentEventDto paymentEvent = paymentEvent(2L, order.getId(), PaymentStatus.COMPLETED);
+        service.applyPaymentEvents(List.of(paymentEvent));
+
+        order = orderRepository.findById(order.getId()).orElseThrow();
+        order.setOrderStatus(OrderStatus.SHIPPED);
+        orderRepository.save(order);
+
+        int updated = service.applyPaymentEvents(List.of(paymentEvent));
+
+        assertEquals(0, updated);
+        assertEquals(OrderStatus.SHIPPED, orderRepository.findById(order.getId()).orElseThrow().getOrderStatus());
+    }
+
+    private Order saveOrder() {
+        Order order = new Order();
+        order.setUserId(1L);
+        order.setOrderStatus(OrderStatus.PENDS_PAY);
+        order.setCreationDate(LocalDate.of(2025, 1, 10));
+        return orderRepository.save(order);
+    }
+
+    private PaymentEventDto paymentEvent(Long id, Long orderId, PaymentStatus status) {
+        PaymentEventDto paymentEvent = new PaymentEventDto();
+        paymentEvent.setId(id);
+        paymentEvent.setOrderId(orderId);
+        paymentEvent.setUserId(1L);
+        paymentEvent.setStatus(status);
+        paymentEvent.setSource("payment-service");
+        return paymentEvent;
+    }
+}
@@ -0,0 +1,317 @@
+package com.innowise.order.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.innowise.order.projection.OrderView;
+import com.innowise.order.repository.ItemRepository;
+import com.innowise.order.repository.OrderItemRepository;
+import com.innowise.order.repository.OrderRepository;
+import com.innowise.order.repository.OutboxRepository;
+import com.innowise.order.repository.ProcessedPaymentEventRepository;
+import com.innowise.order.status.OrderStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Explains every query declared in the repositories and their custom fragments against the schema built by the
+ * Liquibase changelog.
+ * <p>
+ *     Tables are seeded with a production-like volume and analyzed, then the SQL Hibernate prepares for each
+ *     repository method is explained as a generic plan, the way a prepared statement runs after a few executions.
+ *     The suite fails if a plan scans a table sequentially or if its total cost grows by more than
+ *     {@value #COST_TOLERANCE} times against {@code query-plans/baseline.json}, and a case without a baseline cost
+ *     fails too. Run with {@code -Dquery-plans.update-baseline=true} to record the current costs as the new
+ *     baseline.
+ * </p>
+ */
+@TestPropertySource(properties = {
+        "spring.liquibase.enabled=true",
+        "spring.liquibase.change-log=classpath:db/changelog/db.changelog-master.xml",
+        "spring.liquibase.drop-first=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "com.innowise.order.integration.CapturingStatementInspector",
+        "JWT_SECRET=order-service-integration-test-secret-0123456789"
+})
+public class QueryPlanIntegrationTest extends AbstractIntegrationTest {
+
+    private static final int ORDER_COUNT = 100_000;
+    private static final int USER_COUNT = 10_000;
+    private static final int ITEM_COUNT = 5_000;
+    private static final int ORDER_ITEM_COUNT = 300_000;
+    private static final int UNSENT_EVENT_COUNT = 100;
+    private static final double COST_TOLERANCE = 1.25;
+    private static final String BASELINE_RESOURCE = "/query-plans/baseline.json";
+    private static final Path BASELINE_SOURCE = Path.of("src/test/resources/query-plans/baseline.json");
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private OutboxRepository outboxRepository;
+
+    @Autowired
+    private ProcessedPaymentEventRepository processedPaymentEventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private void seed() {
+        jdbcTemplate.execute("INSERT INTO orders(id, user_id, status, creation_date) " +
+                "SELECT g, g % " + USER_COUNT + " + 1, " +
+                "(ARRAY" + Arrays.stream(OrderStatus.values())
+                        .map(status -> "'" + status.name() + "'")
+                        .collect(Collectors.joining(",", "[", "]")) +
+                ")[g % " + OrderStatus.values().length + " + 1], DATE '2025-01-01' + g % 365 " +
+                "FROM generate_series(1, " + ORDER_COUNT + ") g");
+        jdbcTemplate.execute("INSERT INTO items(id, name, price) " +
+                "SELECT g, 'Item ' || g, (g % 10000) / 100.0 + 1 FROM generate_series(1, " + ITEM_COUNT + ") g");
+        jdbcTemplate.execute("INSERT INTO order_items(id, order_id, item_id, quantity) " +
+                "SELECT g, g % " + ORDER_COUNT + " + 1, g % " + ITEM_COUNT + " + 1, g % 5 + 1 " +
+                "FROM generate_series(1, " + ORDER_ITEM_COUNT + ") g");
+        jdbcTemplate.execute("INSERT INTO order_outbox(id, order_id, payload, created_at, sent_at) " +
+                "SELECT g, g, '{}', now(), CASE WHEN g > " + (ORDER_COUNT - UNSENT_EVENT_COUNT) + " THEN NULL " +
+                "ELSE now() END FROM generate_series(1, " + ORDER_COUNT + ") g");
+        jdbcTemplate.execute("INSERT INTO processed_payment_events(event_id, processed_at) " +
+                "SELECT g, now() FROM generate_series(1, " + ORDER_COUNT + ") g");
+        jdbcTemplate.execute("SELECT setval('orders_id_seq', " + ORDER_COUNT + ")");
+        jdbcTemplate.execute("SELECT setval('items_id_seq', " + ITEM_COUNT + ")");
+        jdbcTemplate.execute("SELECT setval('order_items_id_seq', " + ORDER_ITEM_COUNT + ")");
+        jdbcTemplate.execute("SELECT setval('order_outbox_id_seq', " + ORDER_COUNT + ")");
+        jdbcTemplate.execute("VACUUM ANALYZE orders, items, order_items, order_outbox, processed_payment_events");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("TRUNCATE order_items, orders, items, order_outbox, processed_payment_events");
+    }
+
+    @Test
+    void testEveryRepositoryQueryIsExplained() {
+        Set<String> explained = cases().keySet();
+        List<String> missing = Stream.of(OrderRepository.class, ItemRepository.class, OrderItemRepository.class,
+                        OutboxRepository.class, ProcessedPaymentEventRepository.class)
+                .flatMap(repository -> Stream.concat(Stream.of(repository), Arrays.stream(repository.getInterfaces())
+                                .filter(fragment -> fragment.getPackage().equals(repository.getPackage())))
+                        .flatMap(type -> Arrays.stream(type.getDeclaredMethods()))
+                        .filter(method -> !method.isSynthetic() && !Modifier.isStatic(method.getModifiers()))
+                        .map(Method::getName)
+                        .map(name -> repository.getSimpleName() + "." + name))
+                .filter(name -> !explained.contains(name))
+                .toList();
+
+        assertTrue(missing.isEmpty(), "queries without a plan check: " + missing);
+    }
+
+    @Test
+    void testQueryPlans() throws Exception {
+        seed();
+        boolean updateBaseline = Boolean.getBoolean("query-plans.update-baseline");
+        Map<String, Double> baseline = readBaseline();
+        Map<String, Double> costs = new TreeMap<>();
+        List<String> failures = new ArrayList<>();
+
+        try (Connection connection = DriverManager.getConnection(postgres.getJdbcUrl() + "&preferQueryMode=simple",
+                postgres.getUsername(), postgres.getPassword())) {
+            for (Map.Entry<String, PlanCase> entry : cases().entrySet()) {
+                String name = entry.getKey();
+                List<String> statements = CapturingStatementInspector.capture(entry.getValue().call());
+                assertFalse(statements.isEmpty(), name + " prepared no SQL");
+
+                double cost = 0;
+                for (String sql : statements) {
+                    JsonNode plan = explain(connection, sql);
+                    cost += plan.path("Total Cost").asDouble();
+                    List<String> seqScans = new ArrayList<>();
+                    collectSeqScans(plan, seqScans);
+                    if (!seqScans.isEmpty() && !entry.getValue().allowSeqScan()) {
+                        failures.add(name + " scans " + seqScans + " sequentially: " + sql);
+                    }
+                }
+                costs.put(name, cost);
+
+                Double baselineCost = baseline.get(name);
+                if (baselineCost == null) {
+                    if (!updateBaseline) {
+                        failures.add(name + " has no baseline cost, current cost " + cost);
+                    }
+                } else if (cost > baselineCost * COST_TOLERANCE) {
+                    failures.add(name + " costs " + cost + ", baseline " + baselineCost);
+                }
+            }
+        }
+
+        if (updateBaseline) {
+            Files.createDirectories(BASELINE_SOURCE.getParent());
+            objectMapper.writeValue(BASELINE_SOURCE.toFile(), costs);
+        }
+        assertTrue(failures.isEmpty(), String.join(System.lineSeparator(), failures));
+    }
+
+    /**
+     * Calls of every declared repository method with arguments that hit the seeded rows.
+     */
+    private Map<String, PlanCase> cases() {
+        Map<String, PlanCase> cases = new LinkedHashMap<>();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        cases.put("OrderRepository.findViewById", new PlanCase(false,
+                () -> orderRepository.findViewById(500L)));
+        cases.put("OrderRepository.findByUserIdAndIdGreaterThanOrderByIdAsc", new PlanCase(false,
+                () -> orderRepository.findByUserIdAndIdGreaterThanOrderByIdAsc(42L, 0L, Limit.of(20))));
+        cases.put("OrderRepository.findByOrderStatusAndIdGreaterThanOrderByIdAsc", new PlanCase(false,
+                () -> orderRepository.findByOrderStatusAndIdGreaterThanOrderByIdAsc(OrderStatus.SHIPPED, 50_000L,
+                        Limit.of(20))));
+        cases.put("OrderRepository.findByIdInAndIdGreaterThanOrderByIdAsc", new PlanCase(false,
+                () -> orderRepository.findByIdInAndIdGreaterThanOrderByIdAsc(List.of(1L, 2L, 3L), 0L, Limit.of(20))));
+        cases.put("OrderRepository.findByIdAndUserId", new PlanCase(false,
+                () -> orderRepository.findByIdAndUserId(500L, 500L % USER_COUNT + 1)));
+        cases.put("OrderRepository.existsByIdAndUserId", new PlanCase(false,
+                () -> orderRepository.existsByIdAndUserId(500L, 500L % USER_COUNT + 1)));
+        // an export reads every order with the status, a sequential scan is the cheapest way to do it
+        cases.put("OrderRepository.streamByOrderStatus", new PlanCase(true,
+                () -> transaction.executeWithoutResult(status -> {
+                    try (Stream<OrderView> orders = orderRepository.streamByOrderStatus(OrderStatus.SHIPPED)) {
+                        orders.findFirst();
+                    }
+                })));
+        cases.put("OrderRepository.updateOrder", new PlanCase(false,
+                () -> orderRepository.updateOrder(0L, 1L, OrderStatus.SHIPPED.name(), LocalDate.of(2025, 1, 1))));
+        cases.put("OrderRepository.updateStatuses", new PlanCase(false,
+                () -> orderRepository.updateStatuses(Map.of(0L, OrderStatus.CONFIRMED, -1L, OrderStatus.CANCELED))));
+        cases.put("OrderRepository.deleteOrder", new PlanCase(false,
+                () -> orderRepository.deleteOrder(0L)));
+
+        cases.put("ItemRepository.findViewById", new PlanCase(false,
+                () -> itemRepository.findViewById(500L)));
+        cases.put("ItemRepository.findViewsByIdIn", new PlanCase(false,
+                () -> itemRepository.findViewsByIdIn(List.of(1L, 2L, 3L))));
+        cases.put("ItemRepository.findViewsByIdGreaterThan", new PlanCase(false,
+                () -> itemRepository.findViewsByIdGreaterThan(2_000L, Limit.of(1000))));
+        cases.put("ItemRepository.findByIdInAndIdGreaterThanOrderByIdAsc", new PlanCase(false,
+                () -> itemRepository.findByIdInAndIdGreaterThanOrderByIdAsc(List.of(1L, 2L, 3L), 0L, Limit.of(20))));
+        cases.put("ItemRepository.updateItem", new PlanCase(false,
+                () -> itemRepository.updateItem(0L, "Item name", BigDecimal.TEN)));
+        cases.put("ItemRepository.deleteItem", new PlanCase(false,
+                () -> itemRepository.deleteItem(0L)));
+
+        cases.put("OrderItemRepository.findViewById", new PlanCase(false,
+                () -> orderItemRepository.findViewById(500L)));
+        cases.put("OrderItemRepository.findByOrderId", new PlanCase(false,
+                () -> orderItemRepository.findByOrderId(500L, 0L, Limit.of(20))));
+        cases.put("OrderItemRepository.findByIdAndOwnerId", new PlanCase(false,
+                () -> orderItemRepository.findByIdAndOwnerId(500L, 500L % USER_COUNT + 1)));
+        cases.put("OrderItemRepository.findByOrderIdAndOwnerId", new PlanCase(false,
+                () -> orderItemRepository.findByOrderIdAndOwnerId(500L, 500L % USER_COUNT + 1, 0L, Limit.of(20))));
+        cases.put("OrderItemRepository.findByItemId", new PlanCase(false,
+                () -> orderItemRepository.findByItemId(500L, 0L, Limit.of(20))));
+        cases.put("OrderItemRepository.findByIdInAndIdGreaterThanOrderByIdAsc", new PlanCase(false,
+                () -> orderItemRepository.findByIdInAndIdGreaterThanOrderByIdAsc(List.of(1L, 2L, 3L), 0L,
+                        Limit.of(20))));
+        cases.put("OrderItemRepository.updateOrderItem", new PlanCase(false,
+                () -> orderItemRepository.updateOrderItem(0L, 1L, 1L, 1)));
+        cases.put("OrderItemRepository.deleteOrderItem", new PlanCase(false,
+                () -> orderItemRepository.deleteOrderItem(0L)));
+
+        cases.put("OutboxRepository.lockUnsent", new PlanCase(false,
+                () -> transaction.executeWithoutResult(status -> outboxRepository.lockUnsent(500))));
+        cases.put("OutboxRepository.markSent", new PlanCase(false,
+                () -> outboxRepository.markSent(List.of(1L, 2L, 3L), Instant.now())));
+        // the cleanup runs rarely in the background and deletes a large share of the table
+        cases.put("OutboxRepository.deleteSentBefore", new PlanCase(true,
+                () -> outboxRepository.deleteSentBefore(Instant.now().minusSeconds(7 * 24 * 3600))));
+
+        cases.put("ProcessedPaymentEventRepository.insertNew", new PlanCase(false,
+                () -> processedPaymentEventRepository.insertNew(List.of(1L, ORDER_COUNT + 1L), Instant.now())));
+        // the cleanup runs rarely in the background and deletes a large share of the table
+        cases.put("ProcessedPaymentEventRepository.deleteProcessedBefore", new PlanCase(true,
+                () -> processedPaymentEventRepository.deleteProcessedBefore(
+                        Instant.now().minusSeconds(14 * 24 * 3600))));
+        return cases;
+    }
+
+    private JsonNode explain(Connection connection, String sql) throws SQLException, IOException {
+        StringBuilder generic = new StringBuilder();
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                generic.append('$').append(++parameter);
+            } else {
+                generic.append(c);
+            }
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("EXPLAIN (GENERIC_PLAN, FORMAT JSON) " + generic)) {
+            resultSet.next();
+            return objectMapper.readTree(resultSet.getString(1)).get(0).get("Plan");
+        }
+    }
+
+    private void collectSeqScans(JsonNode plan, List<String> seqScans) {
+        if ("Seq Scan".equals(plan.path("Node Type").asText())) {
+            seqScans.add(plan.path("Relation Name").asText());
+        }
+        for (JsonNode child : plan.path("Plans")) {
+            collectSeqScans(child, seqScans);
+        }
+    }
+
+    private Map<String, Double> readBaseline() throws IOException {
+        try (InputStream baseline = getClass().getResourceAsStream(BASELINE_RESOURCE)) {
+            if (baseline == null) {
+                return Map.of();
+            }
+            Map<String, Double> costs = new TreeMap<>();
+            objectMapper.readTree(baseline).fields()
+                    .forEachRemaining(entry -> costs.put(entry.getKey(), entry.getValue().asDouble()));
+            return costs;
+        }
+    }
+
+    private record PlanCase(boolean allowSeqScan, Runnable call) {
+    }
+}
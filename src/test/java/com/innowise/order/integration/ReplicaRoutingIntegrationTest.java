@@ -0,0 +1,252 @@
+package com.innowise.order.integration;
+
+import com.innowise.order.datasource.ReplicaRoutingDataSource;
+import com.innowise.order.entity.Order;
+import com.innowise.order.repository.OrderRepository;
+import com.innowise.order.status.OrderStatus;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Routes transactions between a primary and a streaming replica, both in Testcontainers.
+ */
+@Testcontainers
+@SpringBootTest(properties = "spring.profiles.active=test")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class ReplicaRoutingIntegrationTest {
+
+    private static final String USERNAME = "testuser";
+    private static final String PASSWORD = "testpassword";
+    private static final String DATABASE = "testdb";
+    private static final String JWT_SECRET = "order-service-integration-test-secret-0123456789";
+
+    static Network network = Network.newNetwork();
+
+    @Container
+    static PostgreSQLContainer<?> primary = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName(DATABASE)
+            .withUsername(USERNAME)
+            .withPassword(PASSWORD)
+            .withNetwork(network)
+            .withNetworkAliases("primary")
+            .withCopyToContainer(Transferable.of(
+                    "echo 'host replication all all trust' >> \"$PGDATA/pg_hba.conf\"", 0755),
+                    "/docker-entrypoint-initdb.d/replication.sh")
+            .withCommand("postgres", "-c", "wal_level=replica", "-c", "max_wal_senders=5", "-c", "fsync=off");
+
+    @Container
+    static GenericContainer<?> replica = new GenericContainer<>("postgres:16-alpine")
+            .dependsOn(primary)
+            .withNetwork(network)
+            .withExposedPorts(5432)
+            .withCreateContainerCmdModifier(cmd -> cmd.withUser("postgres"))
+            .withCommand("sh", "-c", "pg_basebackup -h primary -U " + USERNAME + " -D /tmp/pgdata -R -X stream " +
+                    "&& chmod 700 /tmp/pgdata && exec postgres -D /tmp/pgdata")
+            .waitingFor(Wait.forLogMessage(".*ready to accept read-only connections.*", 1)
+                    .withStartupTimeout(Duration.ofMinutes(2)));
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", primary::getJdbcUrl);
+        registry.add("spring.datasource.username", () -> USERNAME);
+        registry.add("spring.datasource.password", () -> PASSWORD);
+        registry.add("datasource.replica.enabled", () -> "true");
+        registry.add("datasource.replica.urls", ReplicaRoutingIntegrationTest::replicaUrl);
+        registry.add("datasource.replica.max-lag", () -> "1s");
+        registry.add("datasource.replica.read-your-writes-window", () -> "1m");
+        registry.add("datasource.replica.lag-check-interval-ms", () -> "3600000");
+        registry.add("USER_SERVICE_URL", () -> "http://localhost:1");
+        registry.add("outbox.relay.enabled", () -> "false");
+        registry.add("JWT_SECRET", () -> JWT_SECRET);
+    }
+
+    @BeforeAll
+    static void startContainers() {
+        primary.start();
+        replica.start();
+    }
+
+    @AfterAll
+    static void stopContainers() {
+        replica.stop();
+        primary.stop();
+        network.close();
+    }
+
+    @Autowired
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private OrderRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        routingDataSource.checkReplicaLag();
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        SecurityContextHolder.clearContext();
+        executeOnReplica("SELECT pg_wal_replay_resume()");
+    }
+
+    @Test
+    void testReadOnlyTransactionUsesReplica() {
+        assertEquals(List.of("replica-1"), routingDataSource.usableReplicas());
+        assertTrue(inRecovery(true));
+    }
+
+    @Test
+    void testReadWriteTransactionUsesPrimary() {
+        assertFalse(inRecovery(false));
+    }
+
+    @Test
+    void testUserReadsOwnWritesFromPrimary() {
+        authenticate("abc@gmail.com");
+        repository.save(order());
+
+        assertFalse(inRecovery(true));
+
+        authenticate("other@gmail.com");
+        assertTrue(inRecovery(true));
+    }
+
+    @Test
+    void testLaggingReplicaGetsNoReads() throws Exception {
+        executeOnReplica("SELECT pg_wal_replay_pause()");
+        repository.save(order());
+        Thread.sleep(1500);
+        repository.save(order());
+
+        routingDataSource.checkReplicaLag();
+
+        assertTrue(routingDataSource.usableReplicas().isEmpty());
+        assertFalse(inRecovery(true));
+    }
+
+    @Test
+    void testOwnerReadThroughControllerUsesReplica() throws Exception {
+        executeOnReplica("SELECT pg_wal_replay_pause()");
+        Order order = repository.save(order());
+
+        // the ownership check and the read run on the replica, which hasn't replayed the insert yet
+        mockMvc.perform(get("/orders/get/" + order.getId()).header("Authorization", bearer(1L)))
+                .andExpect(status().isForbidden());
+
+        executeOnReplica("SELECT pg_wal_replay_resume()");
+        awaitReplay();
+
+        mockMvc.perform(get("/orders/get/" + order.getId()).header("Authorization", bearer(1L)))
+                .andExpect(status().isOk());
+    }
+
+    private boolean inRecovery(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return Boolean.TRUE.equals(transaction.execute(status ->
+                jdbcTemplate.queryForObject("SELECT pg_is_in_recovery()", Boolean.class)));
+    }
+
+    private void authenticate(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, List.of()));
+    }
+
+    private Order order() {
+        Order order = new Order();
+        order.setUserId(1L);
+        order.setOrderStatus(OrderStatus.PENDS_PAY);
+        order.setCreationDate(LocalDate.of(2025, 10, 10));
+        return order;
+    }
+
+    private String bearer(Long userId) {
+        String token = Jwts.builder()
+                .setSubject("abc@gmail.com")
+                .claim("role", "USER")
+                .claim("userId", userId)
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(JWT_SECRET.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+        return "Bearer " + token;
+    }
+
+    private void awaitReplay() throws Exception {
+        String lsn = jdbcTemplate.queryForObject("SELECT pg_current_wal_lsn()::text", String.class);
+        for (int attempt = 0; attempt < 100; attempt++) {
+            try (Connection connection = DriverManager.getConnection(replicaUrl(), USERNAME, PASSWORD);
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(
+                         "SELECT pg_last_wal_replay_lsn() >= '" + lsn + "'::pg_lsn")) {
+                resultSet.next();
+                if (resultSet.getBoolean(1)) {
+                    return;
+                }
+            }
+            Thread.sleep(100);
+        }
+        fail("Replica didn't replay " + lsn);
+    }
+
+    private static void executeOnReplica(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(replicaUrl(), USERNAME, PASSWORD);
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static String replicaUrl() {
+        return "jdbc:postgresql://" + replica.getHost() + ":" + replica.getMappedPort(5432) + "/" + DATABASE;
+    }
+}
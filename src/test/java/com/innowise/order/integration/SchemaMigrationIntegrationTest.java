@@ -0,0 +1,77 @@
+package com.innowise.order.integration;
+
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the Liquibase changelog the way the application does at startup, against a schema that Hibernate created
+ * from the entities before the changelog was run by the application.
+ */
+public class SchemaMigrationIntegrationTest extends AbstractIntegrationTest {
+
+    private static final String SCHEMA = "hibernate_created";
+
+    @AfterEach
+    void dropSchema() {
+        jdbcTemplate().execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+    }
+
+    @Test
+    void testChangelogAdoptsSchemaCreatedByHibernate() throws Exception {
+        JdbcTemplate jdbcTemplate = jdbcTemplate();
+        jdbcTemplate.execute("CREATE SCHEMA " + SCHEMA);
+        jdbcTemplate.execute("CREATE TABLE " + SCHEMA + ".orders (id BIGINT GENERATED BY DEFAULT AS IDENTITY, " +
+                "creation_date DATE NOT NULL, status VARCHAR(255) NOT NULL, user_id BIGINT NOT NULL, " +
+                "PRIMARY KEY (id))");
+        jdbcTemplate.execute("CREATE TABLE " + SCHEMA + ".items (id BIGINT GENERATED BY DEFAULT AS IDENTITY, " +
+                "name VARCHAR(255) NOT NULL, price NUMERIC(38, 2) NOT NULL, PRIMARY KEY (id))");
+        jdbcTemplate.execute("CREATE TABLE " + SCHEMA + ".order_items (id BIGINT GENERATED BY DEFAULT AS IDENTITY, " +
+                "quantity INTEGER NOT NULL, item_id BIGINT NOT NULL REFERENCES " + SCHEMA + ".items, " +
+                "order_id BIGINT NOT NULL REFERENCES " + SCHEMA + ".orders, PRIMARY KEY (id))");
+        jdbcTemplate.update("INSERT INTO " + SCHEMA + ".orders (creation_date, status, user_id) " +
+                "VALUES (DATE '2025-01-10', 'SHIPPED', 1)");
+
+        migrate();
+        migrate();
+
+        List<Map<String, Object>> sequences = jdbcTemplate.queryForList("SELECT sequencename, increment_by " +
+                "FROM pg_sequences WHERE schemaname = ? ORDER BY sequencename", SCHEMA);
+        assertEquals(List.of(
+                Map.of("sequencename", "items_id_seq", "increment_by", 50L),
+                Map.of("sequencename", "order_items_id_seq", "increment_by", 50L),
+                Map.of("sequencename", "order_outbox_id_seq", "increment_by", 50L),
+                Map.of("sequencename", "orders_id_seq", "increment_by", 50L)), sequences);
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT count(*) FROM " + SCHEMA + ".orders", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM " + SCHEMA + ".processed_payment_events", Integer.class));
+    }
+
+    private void migrate() throws Exception {
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource(SCHEMA));
+        liquibase.setChangeLog("classpath:db/changelog/db.changelog-master.xml");
+        liquibase.setDefaultSchema(SCHEMA);
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.afterPropertiesSet();
+    }
+
+    private JdbcTemplate jdbcTemplate() {
+        return new JdbcTemplate(dataSource("public"));
+    }
+
+    private static DriverManagerDataSource dataSource(String schema) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(postgres.getJdbcUrl(),
+                postgres.getUsername(), postgres.getPassword());
+        dataSource.setSchema(schema);
+        return dataSource;
+    }
+}
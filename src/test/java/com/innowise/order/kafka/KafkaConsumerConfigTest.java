@@ -0,0 +1,114 @@
+package com.innowise.order.kafka;
+
+import com.innowise.order.dto.PaymentEventDto;
+import com.innowise.order.service.PaymentEventLedger;
+import com.innowise.order.service.PaymentEventService;
+import com.innowise.order.status.PaymentStatus;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class KafkaConsumerConfigTest {
+
+    private static final String TOPIC = "create_payment_v2";
+    private static final TopicPartition PARTITION = new TopicPartition(TOPIC, 0);
+
+    @Mock
+    private KafkaOperations<Object, Object> deadLetterTemplate;
+
+    @Mock
+    private PaymentEventService paymentEventService;
+
+    @Mock
+    private PaymentEventLedger ledger;
+
+    @Mock
+    private Consumer<Object, Object> kafkaConsumer;
+
+    @Mock
+    private MessageListenerContainer container;
+
+    private PaymentConsumer consumer;
+    private DefaultErrorHandler errorHandler;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        consumer = new PaymentConsumer(paymentEventService, ledger, 1, 4);
+        errorHandler = new KafkaConsumerConfig().paymentErrorHandler(deadLetterTemplate, TOPIC + ".DLT", 1,
+                Duration.ofMillis(1), 2, Duration.ofMillis(10));
+        when(container.getContainerProperties()).thenReturn(new ContainerProperties(TOPIC));
+        when(container.isRunning()).thenReturn(true);
+        when(deadLetterTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        consumer.destroy();
+    }
+
+    @Test
+    void testFailingShardIsRetriedThenDeadLettered() {
+        List<ConsumerRecord<String, PaymentEventDto>> records = List.of(
+                record(0, paymentEvent(10L, 1L)),
+                record(1, paymentEvent(11L, 2L)),
+                record(2, paymentEvent(12L, 3L)));
+        PaymentEventDto failing = records.get(1).value();
+        when(paymentEventService.applyPaymentEvents(List.of(failing)))
+                .thenThrow(new IllegalStateException("database unavailable"));
+
+        assertThrows(RuntimeException.class, () -> handle(records));
+        verify(deadLetterTemplate, never()).send(any(ProducerRecord.class));
+        assertThrows(RuntimeException.class, () -> handle(records.subList(1, 3)));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<ProducerRecord<Object, Object>> deadLetter = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(deadLetterTemplate).send(deadLetter.capture());
+        assertEquals(TOPIC + ".DLT", deadLetter.getValue().topic());
+        assertSame(failing, deadLetter.getValue().value());
+        verify(kafkaConsumer).seek(PARTITION, 1);
+        verify(kafkaConsumer).seek(PARTITION, 2);
+    }
+
+    private void handle(List<ConsumerRecord<String, PaymentEventDto>> records) {
+        BatchListenerFailedException exception = assertThrows(BatchListenerFailedException.class,
+                () -> consumer.handleCreatePayments(records, kafkaConsumer));
+        errorHandler.handleBatch(exception, new ConsumerRecords<>(Map.of(PARTITION, records)), kafkaConsumer,
+                container, () -> { });
+    }
+
+    private ConsumerRecord<String, PaymentEventDto> record(long offset, PaymentEventDto paymentEvent) {
+        return new ConsumerRecord<>(TOPIC, 0, offset, String.valueOf(paymentEvent.getOrderId()), paymentEvent);
+    }
+
+    private PaymentEventDto paymentEvent(Long id, Long orderId) {
+        PaymentEventDto paymentEvent = new PaymentEventDto();
+        paymentEvent.setId(id);
+        paymentEvent.setOrderId(orderId);
+        paymentEvent.setStatus(PaymentStatus.COMPLETED);
+        paymentEvent.setSource("payment-service");
+        return paymentEvent;
+    }
+}
@@ -0,0 +1,70 @@
+package com.innowise.order.kafka;
+
+import com.innowise.order.dto.OrderEventDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class OrderProducerTest {
+
+    @Mock
+    private KafkaTemplate<String, OrderEventDto> kafkaTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OrderProducer producer;
+    private OrderEventDto event;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        producer = new OrderProducer(kafkaTemplate, meterRegistry);
+        event = new OrderEventDto();
+        event.setOrderId(42L);
+    }
+
+    @Test
+    void testSendCreateOrderEventKeyedByOrderId() {
+        CompletableFuture<SendResult<String, OrderEventDto>> send = new CompletableFuture<>();
+        when(kafkaTemplate.send("create_order_v2", "42", event)).thenReturn(send);
+
+        CompletableFuture<SendResult<String, OrderEventDto>> result = producer.sendCreateOrderEvent(event);
+
+        assertFalse(result.isDone());
+        send.complete(null);
+        assertTrue(result.isDone());
+        verify(kafkaTemplate).send("create_order_v2", "42", event);
+        assertEquals(1, meterRegistry.get("kafka.producer.send").tag("result", "success").timer().count());
+        assertEquals(0, meterRegistry.get("kafka.producer.send.failures").counter().count());
+    }
+
+    @Test
+    void testSendCreateOrderEventFailed() {
+        when(kafkaTemplate.send("create_order_v2", "42", event))
+                .thenReturn(CompletableFuture.failedFuture(new KafkaException("broker unavailable")));
+
+        assertTrue(producer.sendCreateOrderEvent(event).isCompletedExceptionally());
+
+        assertEquals(1, meterRegistry.get("kafka.producer.send").tag("result", "failure").timer().count());
+        assertEquals(1, meterRegistry.get("kafka.producer.send.failures").counter().count());
+    }
+
+    @Test
+    void testSendCreateOrderEventRejected() {
+        when(kafkaTemplate.send("create_order_v2", "42", event)).thenThrow(new KafkaException("metadata timeout"));
+
+        assertTrue(producer.sendCreateOrderEvent(event).isCompletedExceptionally());
+
+        assertEquals(1, meterRegistry.get("kafka.producer.send.failures").counter().count());
+    }
+}
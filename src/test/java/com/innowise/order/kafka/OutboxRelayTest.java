@@ -0,0 +1,128 @@
+package com.innowise.order.kafka;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.innowise.order.dto.OrderEventDto;
+import com.innowise.order.entity.OutboxEvent;
+import com.innowise.order.repository.OutboxRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.kafka.KafkaException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+public class OutboxRelayTest {
+
+    @Mock
+    private OutboxRepository repository;
+
+    @Mock
+    private OrderProducer producer;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        relay = new OutboxRelay(repository, producer, new ObjectMapper().findAndRegisterModules(), transactionManager,
+                1, 2, Duration.ofSeconds(1), Duration.ofDays(7));
+    }
+
+    @AfterEach
+    void tearDown() {
+        relay.destroy();
+    }
+
+    @Test
+    void testRelayBatchMarksSentEvents() {
+        when(repository.lockUnsent(2)).thenReturn(List.of(event(1L, 10L), event(2L, 20L)));
+        when(producer.sendCreateOrderEvent(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertEquals(2, relay.relayBatch());
+
+        verify(producer).sendCreateOrderEvent(argThat(event -> event.getOrderId().equals(10L)));
+        verify(producer).sendCreateOrderEvent(argThat(event -> event.getOrderId().equals(20L)));
+        verify(repository).markSent(eq(List.of(1L, 2L)), any(Instant.class));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void testRelayBatchKeepsFailedEventsUnsent() {
+        when(repository.lockUnsent(2)).thenReturn(List.of(event(1L, 10L), event(2L, 20L)));
+        when(producer.sendCreateOrderEvent(any())).thenAnswer(invocation -> {
+            OrderEventDto event = invocation.getArgument(0);
+            return event.getOrderId().equals(10L)
+                    ? CompletableFuture.failedFuture(new KafkaException("broker unavailable"))
+                    : CompletableFuture.completedFuture(null);
+        });
+
+        assertEquals(1, relay.relayBatch());
+
+        verify(repository).markSent(eq(List.of(2L)), any(Instant.class));
+    }
+
+    @Test
+    void testRelayBatchLeavesUnacknowledgedEventsUnsent() {
+        when(repository.lockUnsent(2)).thenReturn(List.of(event(1L, 10L), event(2L, 20L)));
+        when(producer.sendCreateOrderEvent(any())).thenAnswer(invocation -> {
+            OrderEventDto event = invocation.getArgument(0);
+            return event.getOrderId().equals(10L)
+                    ? new CompletableFuture<>()
+                    : CompletableFuture.completedFuture(null);
+        });
+
+        assertTimeout(Duration.ofSeconds(2), () -> assertEquals(1, relay.relayBatch()));
+
+        verify(repository).markSent(eq(List.of(2L)), any(Instant.class));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void testRelayBatchWithEmptyOutbox() {
+        when(repository.lockUnsent(2)).thenReturn(List.of());
+
+        assertEquals(0, relay.relayBatch());
+
+        verifyNoInteractions(producer);
+        verify(repository, never()).markSent(any(), any());
+    }
+
+    @Test
+    void testRelayDrainsFullBatches() {
+        when(repository.lockUnsent(2)).thenReturn(List.of(event(1L, 10L), event(2L, 20L)),
+                List.of(event(3L, 30L)));
+        when(producer.sendCreateOrderEvent(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        relay.relay();
+
+        verify(repository, times(2)).lockUnsent(2);
+        verify(producer, times(3)).sendCreateOrderEvent(any());
+    }
+
+    @Test
+    void testDeleteSent() {
+        relay.deleteSent();
+
+        verify(repository).deleteSentBefore(argThat(before ->
+                before.isBefore(Instant.now().minus(Duration.ofDays(7)).plusSeconds(60))));
+    }
+
+    private OutboxEvent event(Long id, Long orderId) {
+        return new OutboxEvent(id, orderId, "{\"orderId\":" + orderId + ",\"creationDate\":\"2025-01-10\"}",
+                Instant.now(), null);
+    }
+}
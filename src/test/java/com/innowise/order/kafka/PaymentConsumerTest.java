@@ -0,0 +1,176 @@
+package com.innowise.order.kafka;
+
+import com.innowise.order.dto.PaymentEventDto;
+import com.innowise.order.service.PaymentEventLedger;
+import com.innowise.order.service.PaymentEventService;
+import com.innowise.order.status.PaymentStatus;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+public class PaymentConsumerTest {
+
+    private static final String TOPIC = "create_payment_v2";
+
+    @Mock
+    private PaymentEventService paymentEventService;
+
+    @Mock
+    private PaymentEventLedger ledger;
+
+    @Mock
+    private Consumer<String, PaymentEventDto> kafkaConsumer;
+
+    private PaymentConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        consumer = new PaymentConsumer(paymentEventService, ledger, 1, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        consumer.destroy();
+    }
+
+    @Test
+    void testHandleCreatePaymentsShardsByOrderId() {
+        PaymentEventDto first = paymentEvent(10L, 1L, "payment-service");
+        PaymentEventDto second = paymentEvent(11L, 2L, "payment-service");
+        PaymentEventDto third = paymentEvent(12L, 5L, "payment-service");
+        PaymentEventDto fourth = paymentEvent(13L, 1L, "payment-service");
+
+        consumer.handleCreatePayments(List.of(record(0, 0, first), record(0, 1, second), record(0, 2, third),
+                record(0, 3, fourth)), kafkaConsumer);
+
+        verify(paymentEventService).applyPaymentEvents(List.of(first, third, fourth));
+        verify(paymentEventService).applyPaymentEvents(List.of(second));
+        verifyNoMoreInteractions(paymentEventService);
+    }
+
+    @Test
+    void testHandleCreatePaymentsSkipsForeignBrokenAndProcessedEvents() {
+        PaymentEventDto foreign = paymentEvent(10L, 1L, "order-service");
+        PaymentEventDto processed = paymentEvent(11L, 2L, "payment-service");
+        PaymentEventDto fresh = paymentEvent(12L, 3L, "payment-service");
+        when(ledger.isProcessed(11L)).thenReturn(true);
+
+        consumer.handleCreatePayments(List.of(record(0, 0, foreign), record(0, 1, null), record(0, 2, processed),
+                record(0, 3, fresh)), kafkaConsumer);
+
+        verify(paymentEventService).applyPaymentEvents(List.of(fresh));
+        verifyNoMoreInteractions(paymentEventService);
+        verify(kafkaConsumer).commitSync(Map.of(partition(0), new OffsetAndMetadata(4)));
+    }
+
+    @Test
+    void testHandleCreatePaymentsAllProcessed() {
+        when(ledger.isProcessed(10L)).thenReturn(true);
+
+        consumer.handleCreatePayments(List.of(record(0, 0, paymentEvent(10L, 1L, "payment-service"))),
+                kafkaConsumer);
+
+        verifyNoInteractions(paymentEventService);
+        verify(kafkaConsumer).commitSync(Map.of(partition(0), new OffsetAndMetadata(1)));
+    }
+
+    @Test
+    void testHandleCreatePaymentsCommitsEveryPartition() {
+        consumer.handleCreatePayments(List.of(
+                record(0, 5, paymentEvent(10L, 1L, "payment-service")),
+                record(0, 6, paymentEvent(11L, 2L, "payment-service")),
+                record(1, 40, paymentEvent(12L, 3L, "payment-service"))), kafkaConsumer);
+
+        verify(kafkaConsumer).commitSync(Map.of(
+                partition(0), new OffsetAndMetadata(7),
+                partition(1), new OffsetAndMetadata(41)));
+    }
+
+    @Test
+    void testHandleCreatePaymentsReportsFirstFailedEvent() {
+        PaymentEventDto first = paymentEvent(10L, 1L, "payment-service");
+        PaymentEventDto second = paymentEvent(11L, 2L, "payment-service");
+        PaymentEventDto third = paymentEvent(12L, 3L, "payment-service");
+        PaymentEventDto fourth = paymentEvent(13L, 4L, "payment-service");
+        when(paymentEventService.applyPaymentEvents(List.of(second)))
+                .thenThrow(new IllegalStateException("database unavailable"));
+        when(paymentEventService.applyPaymentEvents(List.of(fourth)))
+                .thenThrow(new IllegalStateException("database unavailable"));
+
+        BatchListenerFailedException exception = assertThrows(BatchListenerFailedException.class,
+                () -> consumer.handleCreatePayments(List.of(record(0, 0, first), record(0, 1, second),
+                        record(0, 2, third), record(0, 3, fourth)), kafkaConsumer));
+
+        assertEquals(1, exception.getIndex());
+        verify(paymentEventService).applyPaymentEvents(List.of(first));
+        verify(paymentEventService).applyPaymentEvents(List.of(third));
+        verify(paymentEventService, times(1)).applyPaymentEvents(List.of(second));
+        verify(kafkaConsumer).commitSync(Map.of(partition(0), new OffsetAndMetadata(1)));
+    }
+
+    @Test
+    void testHandleCreatePaymentsReportsFailedEventInsideShard() {
+        PaymentEventDto first = paymentEvent(10L, 1L, "payment-service");
+        PaymentEventDto second = paymentEvent(11L, 2L, "payment-service");
+        PaymentEventDto failing = paymentEvent(12L, 1L, "payment-service");
+        PaymentEventDto fourth = paymentEvent(13L, 3L, "payment-service");
+        when(paymentEventService.applyPaymentEvents(List.of(first, failing)))
+                .thenThrow(new IllegalStateException("constraint violation"));
+        when(paymentEventService.applyPaymentEvents(List.of(failing)))
+                .thenThrow(new IllegalStateException("constraint violation"));
+
+        BatchListenerFailedException exception = assertThrows(BatchListenerFailedException.class,
+                () -> consumer.handleCreatePayments(List.of(record(0, 10, first), record(0, 11, second),
+                        record(0, 12, failing), record(1, 20, fourth)), kafkaConsumer));
+
+        assertEquals(2, exception.getIndex());
+        verify(paymentEventService).applyPaymentEvents(List.of(first));
+        verify(kafkaConsumer).commitSync(Map.of(
+                partition(0), new OffsetAndMetadata(12),
+                partition(1), new OffsetAndMetadata(21)));
+    }
+
+    @Test
+    void testHandleCreatePaymentsDoesNotCommitPartitionWithFailedFirstEvent() {
+        PaymentEventDto failing = paymentEvent(10L, 1L, "payment-service");
+        when(paymentEventService.applyPaymentEvents(List.of(failing)))
+                .thenThrow(new IllegalStateException("database unavailable"));
+
+        assertThrows(BatchListenerFailedException.class,
+                () -> consumer.handleCreatePayments(List.of(record(0, 0, failing)), kafkaConsumer));
+
+        verify(kafkaConsumer, never()).commitSync(anyMap());
+    }
+
+    private ConsumerRecord<String, PaymentEventDto> record(int partition, long offset, PaymentEventDto paymentEvent) {
+        return new ConsumerRecord<>(TOPIC, partition, offset, null, paymentEvent);
+    }
+
+    private TopicPartition partition(int partition) {
+        return new TopicPartition(TOPIC, partition);
+    }
+
+    private PaymentEventDto paymentEvent(Long id, Long orderId, String source) {
+        PaymentEventDto paymentEvent = new PaymentEventDto();
+        paymentEvent.setId(id);
+        paymentEvent.setOrderId(orderId);
+        paymentEvent.setStatus(PaymentStatus.COMPLETED);
+        paymentEvent.setSource(source);
+        return paymentEvent;
+    }
+}
@@ -0,0 +1,97 @@
+package com.innowise.order.security;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtUtilTest {
+
+    private static final String SECRET = "order-service-unit-test-secret-0123456789abcdef";
+
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(SECRET, "role", 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void testVerify() {
+        String token = token(SECRET, "USER", 60_000);
+
+        VerifiedToken verified = jwtUtil.verify(token);
+
+        assertEquals("abc@gmail.com", verified.principal().email());
+        assertEquals(1L, verified.principal().userId());
+        assertEquals(List.of("ROLE_USER"),
+                verified.authorities().stream().map(GrantedAuthority::getAuthority).toList());
+        assertNotNull(verified.expiresAt());
+    }
+
+    @Test
+    void testVerifyCachesVerifiedToken() {
+        String token = token(SECRET, "USER", 60_000);
+
+        assertSame(jwtUtil.verify(token), jwtUtil.verify(token));
+    }
+
+    @Test
+    void testVerifySharesAuthorities() {
+        VerifiedToken first = jwtUtil.verify(token(SECRET, "USER", 60_000));
+        VerifiedToken second = jwtUtil.verify(token(SECRET, "USER", 120_000));
+
+        assertSame(first.authorities(), second.authorities());
+    }
+
+    @Test
+    void testVerifyMapsRoleList() {
+        VerifiedToken verified = jwtUtil.verify(token(SECRET, List.of("USER", "ADMIN"), 60_000));
+
+        assertEquals(List.of("ROLE_USER", "ROLE_ADMIN"),
+                verified.authorities().stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    @Test
+    void testVerifyRejectsExpiredToken() {
+        String token = token(SECRET, "USER", -1_000);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtUtil.verify(token));
+    }
+
+    @Test
+    void testVerifyRejectsForeignSignature() {
+        String token = token("another-secret-of-enough-length-0123456789abcdef", "USER", 60_000);
+
+        assertThrows(SignatureException.class, () -> jwtUtil.verify(token));
+    }
+
+    @Test
+    void testToUserId() {
+        assertEquals(5L, JwtUtil.toUserId(5));
+        assertEquals(5L, JwtUtil.toUserId("5"));
+        assertNull(JwtUtil.toUserId("five"));
+        assertNull(JwtUtil.toUserId(null));
+    }
+
+    private String token(String secret, Object role, long ttlMillis) {
+        return Jwts.builder()
+                .setSubject("abc@gmail.com")
+                .claim("role", role)
+                .claim(JwtUtil.USER_ID_CLAIM, 1L)
+                .setExpiration(new Date(System.currentTimeMillis() + ttlMillis))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
@@ -0,0 +1,189 @@
+package com.innowise.order.security;
+
+import com.innowise.order.client.UserResponseDto;
+import com.innowise.order.projection.OrderItemView;
+import com.innowise.order.projection.OrderView;
+import com.innowise.order.repository.ItemRepository;
+import com.innowise.order.repository.OrderItemRepository;
+import com.innowise.order.repository.OrderRepository;
+import com.innowise.order.service.RequestMemo;
+import com.innowise.order.service.UserLookupService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class SecurityServiceTest {
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @Mock
+    private UserLookupService userLookupService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SecurityService securityService;
+    private OrderView order;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        securityService = new SecurityService(orderRepository, itemRepository, orderItemRepository,
+                userLookupService, new RequestMemo(), meterRegistry, true);
+
+        order = new OrderView(10L, 1L, null, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testIsOrderOwnerByClaim() {
+        authenticate("abc@gmail.com", 1L, "USER");
+        when(orderRepository.findByIdAndUserId(10L, 1L)).thenReturn(Optional.of(order));
+
+        assertTrue(securityService.isOrderOwnerOrAdmin(10L));
+        verify(orderRepository, never()).findViewById(any());
+        verifyNoInteractions(userLookupService);
+        assertEquals(1.0, checks("claim"));
+        assertEquals(0.0, checks("email"));
+    }
+
+    @Test
+    void testIsOrderOwnerByClaimOtherUser() {
+        authenticate("abc@gmail.com", 2L, "USER");
+        when(orderRepository.findByIdAndUserId(10L, 2L)).thenReturn(Optional.empty());
+
+        assertFalse(securityService.isOrderOwnerOrAdmin(10L));
+        verifyNoInteractions(userLookupService);
+    }
+
+    @Test
+    void testIsOrderOwnerByClaimWithoutFusedQueries() {
+        securityService = new SecurityService(orderRepository, itemRepository, orderItemRepository,
+                userLookupService, new RequestMemo(), meterRegistry, false);
+        authenticate("abc@gmail.com", 1L, "USER");
+        when(orderRepository.findViewById(10L)).thenReturn(Optional.of(order));
+
+        assertTrue(securityService.isOrderOwnerOrAdmin(10L));
+        verify(orderRepository, never()).findByIdAndUserId(any(), any());
+        verifyNoInteractions(userLookupService);
+        assertEquals(1.0, checks("claim"));
+    }
+
+    @Test
+    void testIsOrderOwnerByEmailWithoutClaim() {
+        authenticate("abc@gmail.com", null, "USER");
+        when(orderRepository.findViewById(10L)).thenReturn(Optional.of(order));
+        when(userLookupService.getUserById(1L)).thenReturn(user("abc@gmail.com"));
+
+        assertTrue(securityService.isOrderOwnerOrAdmin(10L));
+        verify(userLookupService).getUserById(1L);
+        assertEquals(0.0, checks("claim"));
+        assertEquals(1.0, checks("email"));
+    }
+
+    @Test
+    void testIsOrderOwnerByEmailWithoutClaimComparesExactly() {
+        authenticate("ABC@gmail.com", null, "USER");
+        when(orderRepository.findViewById(10L)).thenReturn(Optional.of(order));
+        when(userLookupService.getUserById(1L)).thenReturn(user("abc@gmail.com"));
+
+        assertFalse(securityService.isOrderOwnerOrAdmin(10L));
+    }
+
+    @Test
+    void testIsOrderItemOwnerByClaim() {
+        OrderItemView orderItem = new OrderItemView(5L, 10L, 3L, 1);
+        authenticate("abc@gmail.com", 1L, "USER");
+        when(orderItemRepository.findByIdAndOwnerId(5L, 1L)).thenReturn(Optional.of(orderItem));
+
+        assertTrue(securityService.isOrderItemOwnerOrAdmin(5L));
+        verify(orderItemRepository, never()).findViewById(any());
+        verifyNoInteractions(userLookupService);
+    }
+
+    @Test
+    void testIsOrderItemsOwnerByClaim() {
+        OrderItemView orderItem = new OrderItemView(5L, 10L, 3L, 1);
+        authenticate("abc@gmail.com", 1L, "USER");
+        when(orderItemRepository.findByOrderIdAndOwnerId(eq(10L), eq(1L), eq(0L), any()))
+                .thenReturn(List.of(orderItem));
+
+        assertTrue(securityService.isOrderItemsOwnerOrAdmin(10L, null, 50));
+        verify(orderRepository, never()).existsByIdAndUserId(any(), any());
+    }
+
+    @Test
+    void testIsOrderItemsOwnerByClaimOfEmptyOrder() {
+        authenticate("abc@gmail.com", 1L, "USER");
+        when(orderItemRepository.findByOrderIdAndOwnerId(eq(10L), eq(1L), eq(0L), any())).thenReturn(List.of());
+        when(orderRepository.existsByIdAndUserId(10L, 1L)).thenReturn(true);
+
+        assertTrue(securityService.isOrderItemsOwnerOrAdmin(10L, null, 50));
+    }
+
+    @Test
+    void testIsOrderItemsOwnerByClaimOtherUser() {
+        authenticate("abc@gmail.com", 2L, "USER");
+        when(orderItemRepository.findByOrderIdAndOwnerId(eq(10L), eq(2L), eq(0L), any())).thenReturn(List.of());
+        when(orderRepository.existsByIdAndUserId(10L, 2L)).thenReturn(false);
+
+        assertFalse(securityService.isOrderItemsOwnerOrAdmin(10L, null, 50));
+    }
+
+    @Test
+    void testIsOwnerByUserIdClaim() {
+        authenticate("abc@gmail.com", 1L, "USER");
+
+        assertTrue(securityService.isOwnerOrAdminByUserId(1L));
+        assertFalse(securityService.isOwnerOrAdminByUserId(2L));
+        verifyNoInteractions(userLookupService);
+        assertEquals(2.0, checks("claim"));
+    }
+
+    @Test
+    void testAdminSkipsOwnershipCheck() {
+        authenticate("admin@gmail.com", 7L, "ADMIN");
+
+        assertTrue(securityService.isOrderOwnerOrAdmin(10L));
+        verifyNoInteractions(orderRepository, userLookupService);
+        assertEquals(0.0, checks("claim"));
+    }
+
+    private void authenticate(String email, Long userId, String role) {
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new AuthenticatedUser(email, userId), null, List.of(new SimpleGrantedAuthority("ROLE_" + role))));
+    }
+
+    private double checks(String path) {
+        return meterRegistry.get("security.ownership.checks").tag("path", path).counter().count();
+    }
+
+    private UserResponseDto user(String email) {
+        UserResponseDto user = new UserResponseDto();
+        user.setId(1L);
+        user.setEmail(email);
+        return user;
+    }
+}
@@ -0,0 +1,114 @@
+package com.innowise.order.service;
+
+import com.innowise.order.projection.ItemView;
+import com.innowise.order.repository.ItemRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class ItemCatalogTest {
+
+    @Mock
+    private ItemRepository repository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ItemCatalog catalog;
+    private ItemView item;
+    private ItemView item2;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        catalog = new ItemCatalog(repository, meterRegistry, transactionManager, 100, Duration.ofMinutes(10),
+                false);
+        item = new ItemView(1L, "Jeans", BigDecimal.valueOf(38.9d));
+        item2 = new ItemView(2L, "Toothpaste", BigDecimal.valueOf(4.85d));
+    }
+
+    @Test
+    void testFindItemCached() {
+        when(repository.findViewById(1L)).thenReturn(Optional.of(item));
+
+        assertEquals(Optional.of(item), catalog.findItem(1L));
+        assertEquals(Optional.of(item), catalog.findItem(1L));
+
+        verify(repository, times(1)).findViewById(1L);
+        verify(transactionManager, times(1)).getTransaction(argThat(definition -> definition.isReadOnly()));
+        assertEquals(0.5, meterRegistry.get("cache.hit.ratio").tag("cache", "items").gauge().value());
+        assertEquals(1.0, meterRegistry.get("cache.size").tag("cache", "items").gauge().value());
+    }
+
+    @Test
+    void testFindItemDoesNotCacheMissingItem() {
+        when(repository.findViewById(2L)).thenReturn(Optional.empty(), Optional.of(item2));
+
+        assertTrue(catalog.findItem(2L).isEmpty());
+        assertEquals(Optional.of(item2), catalog.findItem(2L));
+
+        verify(repository, times(2)).findViewById(2L);
+    }
+
+    @Test
+    void testFindItemsLoadsOnlyMissingItems() {
+        when(repository.findViewById(1L)).thenReturn(Optional.of(item));
+        when(repository.findViewsByIdIn(anyList())).thenReturn(List.of(item2));
+        catalog.findItem(1L);
+
+        List<ItemView> items = catalog.findItems(List.of(2L, 1L, 3L));
+
+        assertEquals(List.of(item, item2), items);
+        verify(repository).findViewsByIdIn(argThat(ids -> ids.size() == 2 && !ids.contains(1L)));
+        verify(transactionManager, times(2)).getTransaction(argThat(definition -> definition.isReadOnly()));
+    }
+
+    @Test
+    void testRefreshAndEvict() {
+        when(repository.findViewById(1L)).thenReturn(Optional.of(item));
+        catalog.findItem(1L);
+        ItemView updated = new ItemView(1L, "Blue jeans", BigDecimal.valueOf(70.5d));
+
+        catalog.refresh(updated);
+        assertEquals(Optional.of(updated), catalog.findItem(1L));
+
+        catalog.evict(1L);
+        assertEquals(Optional.of(item), catalog.findItem(1L));
+        verify(repository, times(2)).findViewById(1L);
+    }
+
+    @Test
+    void testPreload() {
+        List<ItemView> firstPage = LongStream.rangeClosed(1, 1000)
+                .mapToObj(id -> new ItemView(id, "Item " + id, BigDecimal.ONE))
+                .toList();
+        when(repository.findViewsByIdGreaterThan(eq(0L), any(Limit.class))).thenReturn(firstPage);
+        when(repository.findViewsByIdGreaterThan(eq(1000L), any(Limit.class))).thenReturn(List.of(
+                new ItemView(1001L, "Item 1001", BigDecimal.ONE)));
+        catalog = new ItemCatalog(repository, new SimpleMeterRegistry(), transactionManager, 2000,
+                Duration.ofMinutes(10), true);
+
+        catalog.preload();
+
+        assertEquals(1001, catalog.findItems(LongStream.rangeClosed(1, 1001).boxed().toList()).size());
+        verify(repository, times(2)).findViewsByIdGreaterThan(anyLong(), any());
+        verify(repository, never()).findViewsByIdIn(anyList());
+        verify(repository, never()).findViewById(anyLong());
+    }
+}
@@ -1,18 +1,19 @@
 package com.innowise.order.service;
 
+import com.innowise.order.dto.CursorPage;
 import com.innowise.order.dto.ItemRequestDto;
 import com.innowise.order.dto.ItemResponseDto;
 import com.innowise.order.entity.Item;
 import com.innowise.order.exception.EmptyEntityListException;
 import com.innowise.order.exception.EntityNotFoundException;
 import com.innowise.order.mapper.ItemMapper;
+import com.innowise.order.projection.ItemView;
 import com.innowise.order.repository.ItemRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.dao.EmptyResultDataAccessException;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -29,11 +30,15 @@ public class ItemServiceTest {
     @Mock
     private ItemRepository repository;
 
+    @Mock
+    private ItemCatalog catalog;
+
     @InjectMocks
     private ItemService service;
 
     private Item item;
-    private Item item2;
+    private ItemView itemView;
+    private ItemView itemView2;
     private ItemRequestDto itemRequestDto;
     private ItemResponseDto itemResponseDto;
     private ItemResponseDto itemResponseDto2;
@@ -50,10 +55,8 @@ public class ItemServiceTest {
         item.setName("Jeans");
         item.setPrice(BigDecimal.valueOf(38.9d));
 
-        item2 = new Item();
-        item2.setId(2L);
-        item2.setName("Toothpaste");
-        item2.setPrice(BigDecimal.valueOf(4.85d));
+        itemView = new ItemView(1L, "Jeans", BigDecimal.valueOf(38.9d));
+        itemView2 = new ItemView(2L, "Toothpaste", BigDecimal.valueOf(4.85d));
 
         itemRequestDto = new ItemRequestDto();
         itemRequestDto.setName("Jeans");
@@ -86,57 +89,86 @@ public class ItemServiceTest {
 
     @Test
     void testGetItemById() {
-        when(repository.findById(1L)).thenReturn(Optional.of(item));
-        when(mapper.toItemResponseDto(item)).thenReturn(itemResponseDto);
+        when(catalog.findItem(1L)).thenReturn(Optional.of(itemView));
+        when(mapper.toItemResponseDto(itemView)).thenReturn(itemResponseDto);
 
         ItemResponseDto resultItem = service.getItemById((1L));
 
         assertNotNull(resultItem);
         assertEquals(itemResponseDto, resultItem);
 
-        verify(repository).findById(1L);
-        verify(mapper).toItemResponseDto(item);
+        verify(catalog).findItem(1L);
+        verifyNoInteractions(repository);
+        verify(mapper).toItemResponseDto(itemView);
     }
 
     @Test
     void testGetItemByIdNotFound() {
-        when(repository.findById(2L)).thenReturn(Optional.empty());
+        when(catalog.findItem(2L)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> service.getItemById(2L));
 
-        verify(repository).findById(2L);
+        verify(catalog).findItem(2L);
         verifyNoMoreInteractions(mapper);
     }
 
     @Test
     void testGetItemsByIds() {
-        List<Item> orders = List.of(item, item2);
+        List<ItemView> orders = List.of(itemView, itemView2);
         List<Long> ids = List.of(1L, 2L);
 
-        when(repository.findAllById(ids)).thenReturn(orders);
-        when(mapper.toItemResponseDto(item)).thenReturn(itemResponseDto);
-        when(mapper.toItemResponseDto(item2)).thenReturn(itemResponseDto2);
+        when(catalog.findItems(ids)).thenReturn(orders);
+        when(mapper.toItemResponseDto(itemView)).thenReturn(itemResponseDto);
+        when(mapper.toItemResponseDto(itemView2)).thenReturn(itemResponseDto2);
 
-        List<ItemResponseDto> resultList = service.getItemsByIds(ids);
+        List<ItemResponseDto> resultList = service.getItemsByIds(ids, null, 50).getItems();
 
         assertEquals(2, resultList.size());
         assertTrue(resultList.contains(itemResponseDto));
         assertTrue(resultList.contains(itemResponseDto2));
 
-        verify(repository).findAllById(ids);
-        verify(mapper).toItemResponseDto(item);
-        verify(mapper).toItemResponseDto(item2);
+        verify(catalog).findItems(ids);
+        verifyNoInteractions(repository);
+        verify(mapper).toItemResponseDto(itemView);
+        verify(mapper).toItemResponseDto(itemView2);
+    }
+
+    @Test
+    void testGetItemsByIdsAfterCursor() {
+        when(catalog.findItems(List.of(2L))).thenReturn(List.of(itemView2));
+        when(mapper.toItemResponseDto(itemView2)).thenReturn(itemResponseDto2);
+
+        List<ItemResponseDto> resultList = service.getItemsByIds(List.of(1L, 2L, 2L), PageCursor.encode(1L), 50)
+                .getItems();
+
+        assertEquals(List.of(itemResponseDto2), resultList);
+        verify(catalog).findItems(List.of(2L));
+    }
+
+    @Test
+    void testGetItemsByIdsLooksUpOnePage() {
+        when(catalog.findItems(List.of(1L, 2L))).thenReturn(List.of(itemView));
+        when(catalog.findItems(List.of(3L))).thenReturn(List.of(new ItemView(3L, "Soap", BigDecimal.valueOf(2.5d))));
+        when(mapper.toItemResponseDto(itemView)).thenReturn(itemResponseDto);
+
+        CursorPage<ItemResponseDto> page = service.getItemsByIds(List.of(5L, 3L, 4L, 2L, 1L), null, 1);
+
+        assertEquals(List.of(itemResponseDto), page.getItems());
+        assertEquals(PageCursor.encode(1L), page.getNextCursor());
+        verify(catalog).findItems(List.of(1L, 2L));
+        verify(catalog).findItems(List.of(3L));
+        verifyNoMoreInteractions(catalog);
     }
 
     @Test
     void testGetItemsByIdsNotFound() {
         List<Long> ids = List.of(1L, 2L);
 
-        when(repository.findAllById(ids)).thenReturn(List.of());
+        when(catalog.findItems(ids)).thenReturn(List.of());
 
-        assertThrows(EmptyEntityListException.class, () -> service.getItemsByIds(ids));
+        assertThrows(EmptyEntityListException.class, () -> service.getItemsByIds(ids, null, 50));
 
-        verify(repository).findAllById(ids);
+        verify(catalog).findItems(ids);
         verifyNoInteractions(mapper);
     }
 
@@ -148,19 +180,15 @@ public class ItemServiceTest {
         updateItem.setName(UPDATE_NAME);
         updateItem.setPrice(UPDATE_PRICE);
 
-        when(repository.updateItem(itemId, updateItem.getName(), updateItem.getPrice())).thenReturn(1);
-
-        Item updatedItem = new Item();
-        updatedItem.setId(itemId);
-        updatedItem.setName(UPDATE_NAME);
-        updateItem.setPrice(UPDATE_PRICE);
+        ItemView updatedItem = new ItemView(itemId, UPDATE_NAME, UPDATE_PRICE);
+        when(repository.updateItem(itemId, updateItem.getName(), updateItem.getPrice()))
+                .thenReturn(Optional.of(updatedItem));
 
         ItemResponseDto updatedItemResponse = new ItemResponseDto();
         updatedItemResponse.setId(itemId);
         updatedItemResponse.setName(UPDATE_NAME);
         updatedItemResponse.setPrice(UPDATE_PRICE);
 
-        when(repository.findById(itemId)).thenReturn(Optional.of(updatedItem));
         when(mapper.toItemResponseDto(updatedItem)).thenReturn(updatedItemResponse);
 
         ItemResponseDto resultItemResponse = service.updateItemById(itemId, updateItem);
@@ -169,7 +197,8 @@ public class ItemServiceTest {
         assertEquals(updatedItemResponse, resultItemResponse);
 
         verify(repository).updateItem(itemId, UPDATE_NAME, UPDATE_PRICE);
-        verify(repository).findById(itemId);
+        verifyNoMoreInteractions(repository);
+        verify(catalog).refresh(updatedItem);
         verify(mapper).toItemResponseDto(updatedItem);
     }
 
@@ -181,41 +210,24 @@ public class ItemServiceTest {
         updateItemRequest.setName(UPDATE_NAME);
         updateItemRequest.setPrice(UPDATE_PRICE);
 
-        when(repository.updateItem(anyLong(), anyString(), any())).thenReturn(0);
+        when(repository.updateItem(anyLong(), anyString(), any())).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> service.updateItemById(itemId, updateItemRequest));
 
         verify(repository).updateItem(itemId, UPDATE_NAME, UPDATE_PRICE);
         verifyNoMoreInteractions(repository);
-        verifyNoInteractions(mapper);
-    }
-
-    @Test
-    void testUpdateItemBuIdNotFoundAfterUpdate() {
-        Long itemId = 1L;
-
-        ItemRequestDto updateItemRequest = new ItemRequestDto();
-        updateItemRequest.setName(UPDATE_NAME);
-        updateItemRequest.setPrice(UPDATE_PRICE);
-
-        when(repository.updateItem(anyLong(), anyString(), any())).thenReturn(1);
-
-        when(repository.findById(itemId)).thenReturn(Optional.empty());
-
-        assertThrows(EntityNotFoundException.class, () -> service.updateItemById(itemId, updateItemRequest));
-        verify(repository).updateItem(itemId, UPDATE_NAME, UPDATE_PRICE);
-        verify(repository).findById(itemId);
-        verifyNoInteractions(mapper);
+        verifyNoInteractions(mapper, catalog);
     }
 
     @Test
     void testDeleteItemById() {
         Long itemId = 5L;
-        doNothing().when(repository).deleteById(itemId);
+        when(repository.deleteItem(itemId)).thenReturn(1);
 
         assertDoesNotThrow(() -> service.deleteItemById(itemId));
 
-        verify(repository).deleteById(itemId);
+        verify(repository).deleteItem(itemId);
+        verify(catalog).evict(itemId);
         verifyNoMoreInteractions(repository);
         verifyNoInteractions(mapper);
     }
@@ -224,12 +236,12 @@ public class ItemServiceTest {
     void testDeleteItemByIdNotFound() {
         Long itemId = 5L;
 
-        doThrow(new EmptyResultDataAccessException(1)).when(repository).deleteById(itemId);
+        when(repository.deleteItem(itemId)).thenReturn(0);
 
         assertThrows(EntityNotFoundException.class, () -> service.deleteItemById(itemId));
 
-        verify(repository).deleteById(itemId);
+        verify(repository).deleteItem(itemId);
         verifyNoMoreInteractions(repository);
-        verifyNoInteractions(mapper);
+        verifyNoInteractions(mapper, catalog);
     }
 }
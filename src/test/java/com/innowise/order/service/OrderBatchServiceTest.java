@@ -0,0 +1,209 @@
+package com.innowise.order.service;
+
+import com.innowise.order.client.UserResponseDto;
+import com.innowise.order.dto.OrderBatchResultDto;
+import com.innowise.order.dto.OrderEventDto;
+import com.innowise.order.dto.OrderLineRequestDto;
+import com.innowise.order.dto.OrderRequestDto;
+import com.innowise.order.dto.OrderResponseDto;
+import com.innowise.order.entity.Item;
+import com.innowise.order.entity.Order;
+import com.innowise.order.exception.OrderBatchTooLargeException;
+import com.innowise.order.mapper.OrderItemMapper;
+import com.innowise.order.mapper.OrderMapper;
+import com.innowise.order.repository.ItemRepository;
+import com.innowise.order.repository.OrderRepository;
+import com.innowise.order.status.OrderStatus;
+import feign.FeignException;
+import feign.Request;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+public class OrderBatchServiceTest {
+
+    @Mock
+    private OrderRepository repository;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private OrderMapper mapper;
+
+    @Mock
+    private OrderItemMapper orderItemMapper;
+
+    @Mock
+    private OrderEventOutbox orderEventOutbox;
+
+    @Mock
+    private UserLookupService userLookupService;
+
+    private OrderBatchService service;
+    private UserResponseDto user;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        service = new OrderBatchService(repository, itemRepository, mapper, orderItemMapper, orderEventOutbox,
+                userLookupService, 3);
+
+        user = new UserResponseDto();
+        user.setId(1L);
+        user.setEmail("hanna00@gmail.com");
+
+        when(mapper.toOrder(any(OrderRequestDto.class))).thenAnswer(invocation -> {
+            OrderRequestDto orderDto = invocation.getArgument(0);
+            Order order = new Order();
+            order.setUserId(orderDto.getUserId());
+            order.setOrderStatus(orderDto.getOrderStatus());
+            order.setCreationDate(orderDto.getCreationDate());
+            return order;
+        });
+        when(repository.saveAllAndFlush(anyList())).thenAnswer(invocation -> {
+            List<Order> orders = invocation.getArgument(0);
+            for (int i = 0; i < orders.size(); i++) {
+                orders.get(i).setId(i + 10L);
+            }
+            return orders;
+        });
+        when(mapper.toOrderResponseDto(any(Order.class))).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            OrderResponseDto orderResponseDto = new OrderResponseDto();
+            orderResponseDto.setId(order.getId());
+            orderResponseDto.setUserId(order.getUserId());
+            return orderResponseDto;
+        });
+        when(mapper.toOrderEventDto(any(Order.class))).thenReturn(new OrderEventDto());
+    }
+
+    @Test
+    void testCreateOrdersReportsEveryRow() {
+        when(userLookupService.getUsersByIds(List.of(1L, 2L))).thenReturn(Map.of(1L, user));
+
+        List<OrderBatchResultDto> results = service.createOrders(List.of(
+                orderRequest(1L, OrderStatus.PENDS_PAY),
+                orderRequest(2L, OrderStatus.PENDS_PAY),
+                orderRequest(1L, null)));
+
+        assertEquals(3, results.size());
+        assertTrue(results.get(0).isCreated());
+        assertEquals(10L, results.get(0).getOrder().getId());
+        assertEquals(user, results.get(0).getOrder().getUser());
+        assertFalse(results.get(1).isCreated());
+        assertEquals("user with id 2 not found", results.get(1).getError());
+        assertFalse(results.get(2).isCreated());
+        assertEquals(2, results.get(2).getIndex());
+        verify(userLookupService, times(1)).getUsersByIds(anyList());
+        verify(repository, times(1)).saveAllAndFlush(anyList());
+        verify(orderEventOutbox, times(1)).addAll(argThat(events -> events.size() == 1));
+    }
+
+    @Test
+    void testCreateOrdersValidatesEachUserOnce() {
+        when(userLookupService.getUsersByIds(List.of(1L))).thenReturn(Map.of(1L, user));
+
+        List<OrderBatchResultDto> results = service.createOrders(List.of(
+                orderRequest(1L, OrderStatus.PENDS_PAY),
+                orderRequest(1L, OrderStatus.SHIPPED),
+                orderRequest(1L, OrderStatus.COMPLETED)));
+
+        assertTrue(results.stream().allMatch(OrderBatchResultDto::isCreated));
+        verify(userLookupService, times(1)).getUsersByIds(List.of(1L));
+        verify(userLookupService, never()).getUserById(any());
+    }
+
+    @Test
+    void testCreateOrdersLooksUpUsersOneByOneIfOneIsMissing() {
+        when(userLookupService.getUsersByIds(List.of(1L, 2L))).thenThrow(notFound());
+        when(userLookupService.getUserById(1L)).thenReturn(user);
+        when(userLookupService.getUserById(2L)).thenThrow(notFound());
+
+        List<OrderBatchResultDto> results = service.createOrders(List.of(
+                orderRequest(1L, OrderStatus.PENDS_PAY),
+                orderRequest(2L, OrderStatus.PENDS_PAY)));
+
+        assertTrue(results.get(0).isCreated());
+        assertFalse(results.get(1).isCreated());
+    }
+
+    @Test
+    void testCreateOrdersRejectsUsersServedByFallback() {
+        UserResponseDto staleUser = new UserResponseDto();
+        staleUser.setId(2L);
+        staleUser.setStale(true);
+        when(userLookupService.getUsersByIds(List.of(1L, 2L))).thenReturn(Map.of(1L, user, 2L, staleUser));
+
+        List<OrderBatchResultDto> results = service.createOrders(List.of(
+                orderRequest(1L, OrderStatus.PENDS_PAY),
+                orderRequest(2L, OrderStatus.PENDS_PAY)));
+
+        assertTrue(results.get(0).isCreated());
+        assertFalse(results.get(1).isCreated());
+        assertEquals("user with id 2 can't be verified while User Service is unavailable", results.get(1).getError());
+        verify(orderEventOutbox, times(1)).addAll(argThat(events -> events.size() == 1));
+    }
+
+    @Test
+    void testCreateOrdersLoadsItemsOfAllLinesOnce() {
+        Item item = new Item();
+        item.setId(5L);
+        OrderRequestDto withItem = orderRequest(1L, OrderStatus.PENDS_PAY);
+        withItem.setItems(List.of(line(5L), line(5L)));
+        OrderRequestDto withMissingItem = orderRequest(1L, OrderStatus.PENDS_PAY);
+        withMissingItem.setItems(List.of(line(5L), line(6L)));
+        when(userLookupService.getUsersByIds(List.of(1L))).thenReturn(Map.of(1L, user));
+        when(itemRepository.findAllById(List.of(5L, 6L))).thenReturn(List.of(item));
+
+        List<OrderBatchResultDto> results = service.createOrders(List.of(withItem, withMissingItem));
+
+        assertTrue(results.get(0).isCreated());
+        assertEquals(2, results.get(0).getOrder().getItems().size());
+        assertFalse(results.get(1).isCreated());
+        assertEquals("Item with id 6 not found", results.get(1).getError());
+        verify(itemRepository, times(1)).findAllById(anyList());
+    }
+
+    @Test
+    void testCreateOrdersTooLarge() {
+        List<OrderRequestDto> orderDtos = Collections.nCopies(4, orderRequest(1L, OrderStatus.PENDS_PAY));
+
+        assertThrows(OrderBatchTooLargeException.class, () -> service.createOrders(orderDtos));
+        verifyNoInteractions(userLookupService, repository, orderEventOutbox);
+    }
+
+    private OrderRequestDto orderRequest(Long userId, OrderStatus orderStatus) {
+        OrderRequestDto orderRequestDto = new OrderRequestDto();
+        orderRequestDto.setUserId(userId);
+        orderRequestDto.setOrderStatus(orderStatus);
+        orderRequestDto.setCreationDate(LocalDate.of(2025, 1, 1));
+        return orderRequestDto;
+    }
+
+    private OrderLineRequestDto line(Long itemId) {
+        OrderLineRequestDto line = new OrderLineRequestDto();
+        line.setItemId(itemId);
+        line.setQuantity(1);
+        return line;
+    }
+
+    private FeignException notFound() {
+        Request request = Request.create(Request.HttpMethod.GET, "/users/get", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        return new FeignException.NotFound("Not Found", request, null, Map.of());
+    }
+}
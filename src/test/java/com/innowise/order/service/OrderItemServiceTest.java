@@ -9,6 +9,7 @@ import com.innowise.order.exception.EmptyEntityListException;
 import com.innowise.order.exception.EmptyOrderItemListSingleIdException;
 import com.innowise.order.exception.EntityNotFoundException;
 import com.innowise.order.mapper.OrderItemMapper;
+import com.innowise.order.projection.OrderItemView;
 import com.innowise.order.repository.OrderItemRepository;
 import com.innowise.order.status.OrderStatus;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,7 +17,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.dao.EmptyResultDataAccessException;
+import org.mockito.Spy;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -34,14 +35,17 @@ public class OrderItemServiceTest {
     @Mock
     private OrderItemRepository repository;
 
+    @Spy
+    private RequestMemo requestMemo = new RequestMemo();
+
     @InjectMocks
     private OrderItemService service;
 
     private Order order;
     private Item item;
-    private Item item2;
     private OrderItem orderItem;
-    private OrderItem orderItem2;
+    private OrderItemView orderItemView;
+    private OrderItemView orderItemView2;
     private OrderItemRequestDto orderItemRequestDto;
     private OrderItemResponseDto orderItemResponseDto;
     private OrderItemResponseDto orderItemResponseDto2;
@@ -61,22 +65,14 @@ public class OrderItemServiceTest {
         item.setName("Jeans");
         item.setPrice(BigDecimal.valueOf(38.9d));
 
-        item2 = new Item();
-        item2.setId(2L);
-        item2.setName("Toothpaste");
-        item2.setPrice(BigDecimal.valueOf(4.85d));
-
         orderItem = new OrderItem();
         orderItem.setId(1L);
         orderItem.setOrder(order);
         orderItem.setItem(item);
         orderItem.setQuantity(2);
 
-        orderItem2 = new OrderItem();
-        orderItem2.setId(2L);
-        orderItem2.setOrder(order);
-        orderItem2.setItem(item2);
-        orderItem2.setQuantity(1);
+        orderItemView = new OrderItemView(1L, 1L, 1L, 2);
+        orderItemView2 = new OrderItemView(2L, 1L, 2L, 1);
 
         orderItemRequestDto = new OrderItemRequestDto();
         orderItemRequestDto.setOrderId(1L);
@@ -119,8 +115,8 @@ public class OrderItemServiceTest {
     void testGetOrderItemById() {
         Long orderItemId = 1L;
 
-        when(repository.findById(orderItemId)).thenReturn(Optional.of(orderItem));
-        when(mapper.toOrderItemResponseDto(orderItem)).thenReturn(orderItemResponseDto);
+        when(repository.findViewById(orderItemId)).thenReturn(Optional.of(orderItemView));
+        when(mapper.toOrderItemResponseDto(orderItemView)).thenReturn(orderItemResponseDto);
 
         OrderItemResponseDto resultOrderItemResponse = service.getOrderItemById(orderItemId);
 
@@ -130,118 +126,119 @@ public class OrderItemServiceTest {
         assertEquals(orderItemResponseDto.getItemId(), resultOrderItemResponse.getItemId());
         assertEquals(orderItemResponseDto.getQuantity(), resultOrderItemResponse.getQuantity());
 
-        verify(repository).findById(orderItemId);
-        verify(mapper).toOrderItemResponseDto(orderItem);
+        verify(repository).findViewById(orderItemId);
+        verify(mapper).toOrderItemResponseDto(orderItemView);
     }
 
     @Test
     void testGetOrderItemByIdNotFound() {
         Long orderItemId = 58L;
 
-        when(repository.findById(orderItemId)).thenReturn(Optional.empty());
+        when(repository.findViewById(orderItemId)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> service.getOrderItemById(orderItemId));
 
-        verify(repository).findById(orderItemId);
+        verify(repository).findViewById(orderItemId);
         verifyNoInteractions(mapper);
     }
 
     @Test
     void testGetOrderItemsByIds() {
         List<Long> ids = List.of(1L, 2L);
-        List<OrderItem> orderItems = List.of(orderItem, orderItem2);
+        List<OrderItemView> orderItems = List.of(orderItemView, orderItemView2);
 
-        when(repository.findAllById(ids)).thenReturn(orderItems);
-        when(mapper.toOrderItemResponseDto(orderItem)).thenReturn(orderItemResponseDto);
-        when(mapper.toOrderItemResponseDto(orderItem2)).thenReturn(orderItemResponseDto2);
+        when(repository.findByIdInAndIdGreaterThanOrderByIdAsc(eq(ids), eq(0L), any())).thenReturn(orderItems);
+        when(mapper.toOrderItemResponseDto(orderItemView)).thenReturn(orderItemResponseDto);
+        when(mapper.toOrderItemResponseDto(orderItemView2)).thenReturn(orderItemResponseDto2);
 
-        List<OrderItemResponseDto> resultOrderItemList = service.getOrderItemsByIds(ids);
+        List<OrderItemResponseDto> resultOrderItemList = service.getOrderItemsByIds(ids, null, 50).getItems();
 
         assertNotNull(resultOrderItemList);
         assertEquals(2, resultOrderItemList.size());
         assertTrue(resultOrderItemList.contains(orderItemResponseDto));
         assertTrue(resultOrderItemList.contains(orderItemResponseDto2));
 
-        verify(repository).findAllById(ids);
-        verify(mapper).toOrderItemResponseDto(orderItem);
-        verify(mapper).toOrderItemResponseDto(orderItem2);
+        verify(repository).findByIdInAndIdGreaterThanOrderByIdAsc(eq(ids), eq(0L), any());
+        verify(mapper).toOrderItemResponseDto(orderItemView);
+        verify(mapper).toOrderItemResponseDto(orderItemView2);
     }
 
     @Test
     void testGetOrderItemsByIdsEmptyList() {
         List<Long> ids = List.of(100L, 200L);
 
-        when(repository.findAllById(ids)).thenReturn(List.of());
+        when(repository.findByIdInAndIdGreaterThanOrderByIdAsc(eq(ids), eq(0L), any())).thenReturn(List.of());
 
-        assertThrows(EmptyEntityListException.class, () -> service.getOrderItemsByIds(ids));
+        assertThrows(EmptyEntityListException.class, () -> service.getOrderItemsByIds(ids, null, 50));
 
-        verify(repository).findAllById(ids);
+        verify(repository).findByIdInAndIdGreaterThanOrderByIdAsc(eq(ids), eq(0L), any());
         verifyNoInteractions(mapper);
     }
 
     @Test
     void testGetOrderItemsByOrderId() {
         Long orderId = 1L;
-        List<OrderItem> orderItems = List.of(orderItem, orderItem2);
+        List<OrderItemView> orderItems = List.of(orderItemView, orderItemView2);
 
-        when(repository.findByOrderId(orderId)).thenReturn(orderItems);
-        when(mapper.toOrderItemResponseDto(orderItem)).thenReturn(orderItemResponseDto);
-        when(mapper.toOrderItemResponseDto(orderItem2)).thenReturn(orderItemResponseDto2);
+        when(repository.findByOrderId(eq(orderId), eq(0L), any())).thenReturn(orderItems);
+        when(mapper.toOrderItemResponseDto(orderItemView)).thenReturn(orderItemResponseDto);
+        when(mapper.toOrderItemResponseDto(orderItemView2)).thenReturn(orderItemResponseDto2);
 
-        List<OrderItemResponseDto> resultOrderItemsList = service.getOrderItemsByOrderId(orderId);
+        List<OrderItemResponseDto> resultOrderItemsList = service.getOrderItemsByOrderId(orderId, null, 50).getItems();
 
         assertNotNull(resultOrderItemsList);
         assertEquals(2, resultOrderItemsList.size());
         assertTrue(resultOrderItemsList.contains(orderItemResponseDto));
         assertTrue(resultOrderItemsList.contains(orderItemResponseDto2));
 
-        verify(repository).findByOrderId(orderId);
-        verify(mapper).toOrderItemResponseDto(orderItem);
-        verify(mapper).toOrderItemResponseDto(orderItem2);
+        verify(repository).findByOrderId(eq(orderId), eq(0L), any());
+        verify(mapper).toOrderItemResponseDto(orderItemView);
+        verify(mapper).toOrderItemResponseDto(orderItemView2);
     }
 
     @Test
     void testGetOrderItemsByOrderIdEmptyList() {
         Long orderId = 5L;
 
-        when(repository.findByOrderId(orderId)).thenReturn(List.of());
+        when(repository.findByOrderId(eq(orderId), eq(0L), any())).thenReturn(List.of());
 
-        assertThrows(EmptyOrderItemListSingleIdException.class, () -> service.getOrderItemsByOrderId(orderId));
+        assertThrows(EmptyOrderItemListSingleIdException.class,
+                () -> service.getOrderItemsByOrderId(orderId, null, 50));
 
-        verify(repository).findByOrderId(orderId);
+        verify(repository).findByOrderId(eq(orderId), eq(0L), any());
         verifyNoInteractions(mapper);
     }
 
     @Test
     void testGetOrderItemsByItemId() {
         Long itemId = 1L;
-        List<OrderItem> orderItems = List.of(orderItem, orderItem2);
+        List<OrderItemView> orderItems = List.of(orderItemView, orderItemView2);
 
-        when(repository.findByItemId(itemId)).thenReturn(orderItems);
-        when(mapper.toOrderItemResponseDto(orderItem)).thenReturn(orderItemResponseDto);
-        when(mapper.toOrderItemResponseDto(orderItem2)).thenReturn(orderItemResponseDto2);
+        when(repository.findByItemId(eq(itemId), eq(0L), any())).thenReturn(orderItems);
+        when(mapper.toOrderItemResponseDto(orderItemView)).thenReturn(orderItemResponseDto);
+        when(mapper.toOrderItemResponseDto(orderItemView2)).thenReturn(orderItemResponseDto2);
 
-        List<OrderItemResponseDto> resultOrderItemsList = service.getOrderItemsByItemId(itemId);
+        List<OrderItemResponseDto> resultOrderItemsList = service.getOrderItemsByItemId(itemId, null, 50).getItems();
 
         assertNotNull(resultOrderItemsList);
         assertEquals(2, resultOrderItemsList.size());
         assertTrue(resultOrderItemsList.contains(orderItemResponseDto));
         assertTrue(resultOrderItemsList.contains(orderItemResponseDto2));
 
-        verify(repository).findByItemId(itemId);
-        verify(mapper).toOrderItemResponseDto(orderItem);
-        verify(mapper).toOrderItemResponseDto(orderItem2);
+        verify(repository).findByItemId(eq(itemId), eq(0L), any());
+        verify(mapper).toOrderItemResponseDto(orderItemView);
+        verify(mapper).toOrderItemResponseDto(orderItemView2);
     }
 
     @Test
     void testGetOrderItemsByItemIdEmptyList() {
         Long itemId = 5L;
 
-        when(repository.findByItemId(itemId)).thenReturn(List.of());
+        when(repository.findByItemId(eq(itemId), eq(0L), any())).thenReturn(List.of());
 
-        assertThrows(EmptyOrderItemListSingleIdException.class, () -> service.getOrderItemsByItemId(itemId));
+        assertThrows(EmptyOrderItemListSingleIdException.class, () -> service.getOrderItemsByItemId(itemId, null, 50));
 
-        verify(repository).findByItemId(itemId);
+        verify(repository).findByItemId(eq(itemId), eq(0L), any());
         verifyNoInteractions(mapper);
     }
 
@@ -254,11 +251,7 @@ public class OrderItemServiceTest {
         updateOrderItem.setItemId(2L);
         updateOrderItem.setQuantity(3);
 
-        OrderItem updatedOrderItem = new OrderItem();
-        updatedOrderItem.setId(orderItemId);
-        updatedOrderItem.setOrder(order);
-        updatedOrderItem.setItem(item2);
-        updatedOrderItem.setQuantity(3);
+        OrderItemView updatedOrderItem = new OrderItemView(orderItemId, 1L, 2L, 3);
 
         OrderItemResponseDto updatedOrderItemResponse = new OrderItemResponseDto();
         updatedOrderItemResponse.setId(orderItemId);
@@ -266,8 +259,7 @@ public class OrderItemServiceTest {
         updatedOrderItemResponse.setItemId(2L);
         updatedOrderItemResponse.setQuantity(3);
 
-        when(repository.updateOrderItem(orderItemId, 1L, 2L, 3)).thenReturn(1);
-        when(repository.findById(orderItemId)).thenReturn(Optional.of(updatedOrderItem));
+        when(repository.updateOrderItem(orderItemId, 1L, 2L, 3)).thenReturn(Optional.of(updatedOrderItem));
         when(mapper.toOrderItemResponseDto(updatedOrderItem)).thenReturn(updatedOrderItemResponse);
 
         OrderItemResponseDto resultOrderItem = service.updateOrderItemById(orderItemId, updateOrderItem);
@@ -276,7 +268,7 @@ public class OrderItemServiceTest {
         assertEquals(updatedOrderItemResponse, resultOrderItem);
 
         verify(repository).updateOrderItem(orderItemId, 1L, 2L, 3);
-        verify(repository).findById(orderItemId);
+        verifyNoMoreInteractions(repository);
         verify(mapper).toOrderItemResponseDto(updatedOrderItem);
     }
 
@@ -289,7 +281,7 @@ public class OrderItemServiceTest {
         updateOrderItem.setItemId(2L);
         updateOrderItem.setQuantity(3);
 
-        when(repository.updateOrderItem(orderItemId, 1L, 2L, 3)).thenReturn(0);
+        when(repository.updateOrderItem(orderItemId, 1L, 2L, 3)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> service.updateOrderItemById(orderItemId, updateOrderItem));
 
@@ -298,34 +290,15 @@ public class OrderItemServiceTest {
         verifyNoInteractions(mapper);
     }
 
-    @Test
-    void testUpdateOrderItemNotFoundAfterUpdate() {
-        Long orderItemId = 1L;
-
-        OrderItemRequestDto updateOrderItem = new OrderItemRequestDto();
-        updateOrderItem.setOrderId(1L);
-        updateOrderItem.setItemId(2L);
-        updateOrderItem.setQuantity(3);
-
-        when(repository.updateOrderItem(orderItemId, 1L, 2L, 3)).thenReturn(1);
-        when(repository.findById(orderItemId)).thenReturn(Optional.empty());
-
-        assertThrows(EntityNotFoundException.class, () -> service.updateOrderItemById(orderItemId, updateOrderItem));
-
-        verify(repository).updateOrderItem(orderItemId, 1L, 2L, 3);
-        verify(repository).findById(orderItemId);
-        verifyNoInteractions(mapper);
-    }
-
     @Test
     void testDeleteOrderItemById() {
         Long orderItemId = 1L;
 
-        doNothing().when(repository).deleteById(orderItemId);
+        when(repository.deleteOrderItem(orderItemId)).thenReturn(1);
 
         assertDoesNotThrow(() -> service.deleteOrderItemById(orderItemId));
 
-        verify(repository).deleteById(orderItemId);
+        verify(repository).deleteOrderItem(orderItemId);
         verifyNoMoreInteractions(repository);
         verifyNoInteractions(mapper);
     }
@@ -334,10 +307,10 @@ public class OrderItemServiceTest {
     void testDeleteOrderItemByIdNotFound() {
         Long orderItemId = 58L;
 
-        doThrow(new EmptyResultDataAccessException(1)).when(repository).deleteById(orderItemId);
+        when(repository.deleteOrderItem(orderItemId)).thenReturn(0);
         assertThrows(EntityNotFoundException.class, () -> service.deleteOrderItemById(orderItemId));
 
-        verify(repository).deleteById(orderItemId);
+        verify(repository).deleteOrderItem(orderItemId);
         verifyNoMoreInteractions(repository);
         verifyNoInteractions(mapper);
     }
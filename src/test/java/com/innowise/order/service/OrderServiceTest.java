@@ -1,14 +1,21 @@
 package com.innowise.order.service;
 
-import com.innowise.order.client.UserClient;
 import com.innowise.order.client.UserResponseDto;
+import com.innowise.order.dto.CursorPage;
+import com.innowise.order.dto.OrderEventDto;
+import com.innowise.order.dto.OrderLineRequestDto;
 import com.innowise.order.dto.OrderRequestDto;
 import com.innowise.order.dto.OrderResponseDto;
+import com.innowise.order.entity.Item;
 import com.innowise.order.entity.Order;
 import com.innowise.order.exception.EmptyEntityListException;
 import com.innowise.order.exception.EntityNotFoundException;
 import com.innowise.order.exception.OrdersWithStatusNotFoundException;
+import com.innowise.order.exception.UserUnavailableException;
+import com.innowise.order.mapper.OrderItemMapper;
 import com.innowise.order.mapper.OrderMapper;
+import com.innowise.order.projection.OrderView;
+import com.innowise.order.repository.ItemRepository;
 import com.innowise.order.repository.OrderRepository;
 import com.innowise.order.status.OrderStatus;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,9 +23,11 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.dao.EmptyResultDataAccessException;
+import org.mockito.Spy;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Map;
 import java.util.Optional;
 import java.util.List;
 
@@ -34,13 +43,26 @@ public class OrderServiceTest {
     private OrderRepository repository;
 
     @Mock
-    private UserClient userClient;
+    private ItemRepository itemRepository;
+
+    @Mock
+    private OrderItemMapper orderItemMapper;
+
+    @Mock
+    private OrderEventOutbox orderEventOutbox;
+
+    @Mock
+    private UserLookupService userLookupService;
+
+    @Spy
+    private RequestMemo requestMemo = new RequestMemo();
 
     @InjectMocks
     private OrderService service;
 
     private Order order;
-    private Order order2;
+    private OrderView orderView;
+    private OrderView orderView2;
     private UserResponseDto userResponseDto;
     private OrderRequestDto orderRequestDto;
     private OrderResponseDto orderResponseDto;
@@ -74,11 +96,8 @@ public class OrderServiceTest {
         orderResponseDto.setOrderStatus(OrderStatus.SHIPPED);
         orderResponseDto.setCreationDate(LocalDate.of(2025, 1, 1));
 
-        order2 = new Order();
-        order2.setId(2L);
-        order2.setUserId(1L);
-        order2.setOrderStatus(OrderStatus.COMPLETED);
-        order2.setCreationDate(LocalDate.of(2025, 3, 10));
+        orderView = new OrderView(1L, 1L, OrderStatus.SHIPPED, LocalDate.of(2025, 1, 1));
+        orderView2 = new OrderView(2L, 1L, OrderStatus.COMPLETED, LocalDate.of(2025, 3, 10));
 
         orderResponseDto2 = new OrderResponseDto();
         orderResponseDto2.setId(2L);
@@ -89,6 +108,7 @@ public class OrderServiceTest {
 
     @Test
     void testCreateOrder() {
+        when(userLookupService.getUserById(1L)).thenReturn(userResponseDto);
         when(mapper.toOrder(orderRequestDto)).thenReturn(order);
         when(repository.save(order)).thenReturn(order);
         when(mapper.toOrderResponseDto(order)).thenReturn(orderResponseDto);
@@ -102,96 +122,184 @@ public class OrderServiceTest {
     }
 
     @Test
-    void testGetOrderById() {
-        when(repository.findById(1L)).thenReturn(Optional.of(order));
-        when(userClient.getUserById(1L)).thenReturn(userResponseDto);
+    void testCreateOrderWithItems() {
+        Item item = new Item();
+        item.setId(5L);
+        item.setPrice(BigDecimal.valueOf(10.55));
+        OrderLineRequestDto line = new OrderLineRequestDto();
+        line.setItemId(5L);
+        line.setQuantity(2);
+        orderRequestDto.setItems(List.of(line, line));
+        OrderEventDto event = new OrderEventDto();
+
+        when(userLookupService.getUserById(1L)).thenReturn(userResponseDto);
+        when(itemRepository.findAllById(List.of(5L))).thenReturn(List.of(item));
+        when(mapper.toOrder(orderRequestDto)).thenReturn(order);
+        when(repository.save(order)).thenReturn(order);
         when(mapper.toOrderResponseDto(order)).thenReturn(orderResponseDto);
+        when(mapper.toOrderEventDto(order)).thenReturn(event);
+
+        OrderResponseDto resultOrderResponseDto = service.createOrder(orderRequestDto);
+
+        assertEquals(2, order.getOrderItems().size());
+        assertSame(order, order.getOrderItems().get(0).getOrder());
+        assertSame(item, order.getOrderItems().get(0).getItem());
+        assertEquals(2, resultOrderResponseDto.getItems().size());
+        verify(itemRepository, times(1)).findAllById(List.of(5L));
+        verify(orderEventOutbox).add(event);
+    }
+
+    @Test
+    void testCreateOrderWithMissingItem() {
+        OrderLineRequestDto line = new OrderLineRequestDto();
+        line.setItemId(5L);
+        line.setQuantity(2);
+        orderRequestDto.setItems(List.of(line));
+
+        when(userLookupService.getUserById(1L)).thenReturn(userResponseDto);
+        when(itemRepository.findAllById(List.of(5L))).thenReturn(List.of());
+
+        assertThrows(EntityNotFoundException.class, () -> service.createOrder(orderRequestDto));
+        verify(repository, never()).save(any());
+        verifyNoInteractions(orderEventOutbox);
+    }
+
+    @Test
+    void testCreateOrderWithStaleUser() {
+        userResponseDto.setStale(true);
+        when(userLookupService.getUserById(1L)).thenReturn(userResponseDto);
+
+        assertThrows(UserUnavailableException.class, () -> service.createOrder(orderRequestDto));
+        verify(repository, never()).save(any());
+        verifyNoInteractions(orderEventOutbox);
+    }
+
+    @Test
+    void testGetOrderById() {
+        when(repository.findViewById(1L)).thenReturn(Optional.of(orderView));
+        when(userLookupService.getUserById(1L)).thenReturn(userResponseDto);
+        when(mapper.toOrderResponseDto(orderView)).thenReturn(orderResponseDto);
 
         OrderResponseDto resultOrderResponseDto = service.getOrderById((1L));
 
         assertNotNull(resultOrderResponseDto);
         assertEquals(orderResponseDto, resultOrderResponseDto);
 
-        verify(repository).findById(1L);
-        verify(userClient).getUserById(1L);
-        verify(mapper).toOrderResponseDto(order);
+        verify(repository).findViewById(1L);
+        verify(userLookupService).getUserById(1L);
+        verify(mapper).toOrderResponseDto(orderView);
     }
 
     @Test
     void testGetOrderByIdNotFound() {
-        when(repository.findById(2L)).thenReturn(Optional.empty());
+        when(repository.findViewById(2L)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> service.getOrderById(2L));
 
-        verify(repository).findById(2L);
-        verifyNoMoreInteractions(userClient, mapper);
+        verify(repository).findViewById(2L);
+        verifyNoMoreInteractions(userLookupService, mapper);
     }
 
     @Test
     void testGetOrdersByIds() {
-        List<Order> orders = List.of(order, order2);
+        List<OrderView> orders = List.of(orderView, orderView2);
         List<Long> ids = List.of(1L, 2L);
 
-        when(repository.findAllById(ids)).thenReturn(orders);
-        when(userClient.getUserById(1L)).thenReturn(userResponseDto);
-        when(mapper.toOrderResponseDto(order)).thenReturn(orderResponseDto);
-        when(mapper.toOrderResponseDto(order2)).thenReturn(orderResponseDto2);
+        when(repository.findByIdInAndIdGreaterThanOrderByIdAsc(eq(ids), eq(0L), any())).thenReturn(orders);
+        when(userLookupService.getUsersByIds(List.of(1L, 1L))).thenReturn(Map.of(1L, userResponseDto));
+        when(mapper.toOrderResponseDto(orderView)).thenReturn(orderResponseDto);
+        when(mapper.toOrderResponseDto(orderView2)).thenReturn(orderResponseDto2);
 
-        List<OrderResponseDto> resultList = service.getOrdersByIds(ids);
+        List<OrderResponseDto> resultList = service.getOrdersByIds(ids, null, 50).getItems();
 
         assertEquals(2, resultList.size());
         assertTrue(resultList.contains(orderResponseDto));
         assertTrue(resultList.contains(orderResponseDto2));
 
-        verify(repository).findAllById(ids);
-        verify(userClient, times(2)).getUserById(1L);
-        verify(mapper).toOrderResponseDto(order);
-        verify(mapper).toOrderResponseDto(order2);
+        verify(repository).findByIdInAndIdGreaterThanOrderByIdAsc(eq(ids), eq(0L), any());
+        verify(userLookupService).getUsersByIds(List.of(1L, 1L));
+        verify(mapper).toOrderResponseDto(orderView);
+        verify(mapper).toOrderResponseDto(orderView2);
     }
 
     @Test
     void testGetOrdersByIdsNotFound() {
         List<Long> ids = List.of(1L, 2L);
 
-        when(repository.findAllById(ids)).thenReturn(List.of());
+        when(repository.findByIdInAndIdGreaterThanOrderByIdAsc(eq(ids), eq(0L), any())).thenReturn(List.of());
 
-        assertThrows(EmptyEntityListException.class, () -> service.getOrdersByIds(ids));
+        assertThrows(EmptyEntityListException.class, () -> service.getOrdersByIds(ids, null, 50));
 
-        verify(repository).findAllById(ids);
-        verifyNoInteractions(userClient, mapper);
+        verify(repository).findByIdInAndIdGreaterThanOrderByIdAsc(eq(ids), eq(0L), any());
+        verifyNoInteractions(userLookupService, mapper);
     }
 
     @Test
     void testGerOrdersByStatus() {
-        order2.setOrderStatus(OrderStatus.SHIPPED);
+        orderView2 = new OrderView(2L, 1L, OrderStatus.SHIPPED, LocalDate.of(2025, 3, 10));
 
-        List<Order> orders = List.of(order, order2);
+        List<OrderView> orders = List.of(orderView, orderView2);
 
-        when(repository.findByOrderStatus(OrderStatus.SHIPPED)).thenReturn(orders);
-        when(userClient.getUserById(1L)).thenReturn(userResponseDto);
-        when(mapper.toOrderResponseDto(order)).thenReturn(orderResponseDto);
-        when(mapper.toOrderResponseDto(order2)).thenReturn(orderResponseDto2);
+        when(repository.findByOrderStatusAndIdGreaterThanOrderByIdAsc(eq(OrderStatus.SHIPPED), eq(0L), any()))
+                .thenReturn(orders);
+        when(userLookupService.getUsersByIds(List.of(1L, 1L))).thenReturn(Map.of(1L, userResponseDto));
+        when(mapper.toOrderResponseDto(orderView)).thenReturn(orderResponseDto);
+        when(mapper.toOrderResponseDto(orderView2)).thenReturn(orderResponseDto2);
 
-        List<OrderResponseDto> resultList = service.getOrdersByStatus(OrderStatus.SHIPPED);
+        List<OrderResponseDto> resultList = service.getOrdersByStatus(OrderStatus.SHIPPED, null, 50).getItems();
 
         assertEquals(2, resultList.size());
         assertTrue(resultList.contains(orderResponseDto));
         assertTrue(resultList.contains(orderResponseDto2));
 
-        verify(repository).findByOrderStatus(OrderStatus.SHIPPED);
-        verify(userClient, times(2)).getUserById(1L);
-        verify(mapper).toOrderResponseDto(order);
-        verify(mapper).toOrderResponseDto(order2);
+        verify(repository).findByOrderStatusAndIdGreaterThanOrderByIdAsc(eq(OrderStatus.SHIPPED), eq(0L),
+                any());
+        verify(userLookupService).getUsersByIds(List.of(1L, 1L));
+        verify(mapper).toOrderResponseDto(orderView);
+        verify(mapper).toOrderResponseDto(orderView2);
+    }
+
+    @Test
+    void testGetOrdersByStatusPage() {
+        orderView2 = new OrderView(2L, 1L, OrderStatus.SHIPPED, LocalDate.of(2025, 3, 10));
+
+        when(repository.findByOrderStatusAndIdGreaterThanOrderByIdAsc(eq(OrderStatus.SHIPPED), eq(0L), any()))
+                .thenReturn(List.of(orderView, orderView2));
+        when(userLookupService.getUsersByIds(List.of(1L))).thenReturn(Map.of(1L, userResponseDto));
+        when(mapper.toOrderResponseDto(orderView)).thenReturn(orderResponseDto);
+
+        CursorPage<OrderResponseDto> page = service.getOrdersByStatus(OrderStatus.SHIPPED, null, 1);
+
+        assertEquals(List.of(orderResponseDto), page.getItems());
+        assertEquals(PageCursor.encode(orderView.id()), page.getNextCursor());
+        verify(repository).findByOrderStatusAndIdGreaterThanOrderByIdAsc(eq(OrderStatus.SHIPPED), eq(0L),
+                argThat(limit -> limit.max() == 2));
+        verify(mapper, never()).toOrderResponseDto(orderView2);
+    }
+
+    @Test
+    void testGetOrdersByStatusLastPageEmpty() {
+        String after = PageCursor.encode(2L);
+        when(repository.findByOrderStatusAndIdGreaterThanOrderByIdAsc(eq(OrderStatus.SHIPPED), eq(2L), any()))
+                .thenReturn(List.of());
+
+        CursorPage<OrderResponseDto> page = service.getOrdersByStatus(OrderStatus.SHIPPED, after, 50);
+
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextCursor());
     }
 
     @Test
     void testGetOrdersByStatusEmpty() {
-        when(repository.findByOrderStatus(OrderStatus.PENDS_PAY)).thenReturn(List.of());
+        when(repository.findByOrderStatusAndIdGreaterThanOrderByIdAsc(eq(OrderStatus.PENDS_PAY), eq(0L), any()))
+                .thenReturn(List.of());
 
-        assertThrows(OrdersWithStatusNotFoundException.class, () -> service.getOrdersByStatus(OrderStatus.PENDS_PAY));
+        assertThrows(OrdersWithStatusNotFoundException.class,
+                () -> service.getOrdersByStatus(OrderStatus.PENDS_PAY, null, 50));
 
-        verify(repository).findByOrderStatus(OrderStatus.PENDS_PAY);
-        verifyNoInteractions(userClient);
+        verify(repository).findByOrderStatusAndIdGreaterThanOrderByIdAsc(eq(OrderStatus.PENDS_PAY), eq(0L),
+                any());
+        verifyNoInteractions(userLookupService);
         verifyNoInteractions(mapper);
     }
 
@@ -203,14 +311,9 @@ public class OrderServiceTest {
         updateOrderRequestDto.setOrderStatus(OrderStatus.SHIPPED);
         updateOrderRequestDto.setCreationDate(LocalDate.of(2025, 3, 10));
 
+        OrderView updatedOrder = new OrderView(orderId, 5L, OrderStatus.SHIPPED, LocalDate.of(2025, 3, 10));
         when(repository.updateOrder(orderId, 5L, OrderStatus.SHIPPED.name(),
-                LocalDate.of(2025, 3, 10))).thenReturn(1);
-
-        Order updatedOrder = new Order();
-        updatedOrder.setId(orderId);
-        updatedOrder.setUserId(5L);
-        updatedOrder.setOrderStatus(OrderStatus.SHIPPED);
-        updatedOrder.setCreationDate(LocalDate.of(2025, 3, 10));
+                LocalDate.of(2025, 3, 10))).thenReturn(Optional.of(updatedOrder));
 
         OrderResponseDto updatedOrderResponse = new OrderResponseDto();
         updatedOrderResponse.setId(orderId);
@@ -218,8 +321,7 @@ public class OrderServiceTest {
         updatedOrderResponse.setOrderStatus(OrderStatus.SHIPPED);
         updatedOrderResponse.setCreationDate(LocalDate.of(2025, 3, 10));
 
-        when(repository.findById(orderId)).thenReturn(Optional.of(updatedOrder));
-        when(userClient.getUserById(5L)).thenReturn(userResponseDto);
+        when(userLookupService.getUserById(5L)).thenReturn(userResponseDto);
         when(mapper.toOrderResponseDto(updatedOrder)).thenReturn(updatedOrderResponse);
 
         OrderResponseDto resultOrderResponseDto = service.updateOrderById(orderId, updateOrderRequestDto);
@@ -229,8 +331,8 @@ public class OrderServiceTest {
 
         verify(repository).updateOrder(orderId, 5L, OrderStatus.SHIPPED.name(),
                 LocalDate.of(2025, 3, 10));
-        verify(repository).findById(orderId);
-        verify(userClient).getUserById(5L);
+        verifyNoMoreInteractions(repository);
+        verify(userLookupService).getUserById(5L);
         verify(mapper).toOrderResponseDto(updatedOrder);
     }
 
@@ -242,47 +344,27 @@ public class OrderServiceTest {
         updateOrderRequestDto.setOrderStatus(OrderStatus.SHIPPED);
         updateOrderRequestDto.setCreationDate(LocalDate.of(2025, 3, 10));
 
-        when(repository.updateOrder(anyLong(), anyLong(), anyString(), any())).thenReturn(0);
+        when(repository.updateOrder(anyLong(), anyLong(), anyString(), any())).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> service.updateOrderById(orderId, updateOrderRequestDto));
 
         verify(repository).updateOrder(orderId, 5L, OrderStatus.SHIPPED.name(),
                 LocalDate.of(2025, 3, 10));
         verifyNoMoreInteractions(repository);
-        verifyNoInteractions(userClient);
-        verifyNoInteractions(mapper);
-    }
-
-    @Test
-    void testUpdateOrderByIdNotFoundAfterUpdate() {
-        Long orderId = 1L;
-        OrderRequestDto updateOrderRequestDto = new OrderRequestDto();
-        updateOrderRequestDto.setUserId(5L);
-        updateOrderRequestDto.setOrderStatus(OrderStatus.SHIPPED);
-        updateOrderRequestDto.setCreationDate(LocalDate.of(2025, 3, 10));
-
-        when(repository.updateOrder(anyLong(), anyLong(), anyString(), any())).thenReturn(1);
-
-        when(repository.findById(orderId)).thenReturn(Optional.empty());
-
-        assertThrows(EntityNotFoundException.class, () -> service.updateOrderById(orderId, updateOrderRequestDto));
-        verify(repository).updateOrder(orderId, 5L, OrderStatus.SHIPPED.name(),
-                LocalDate.of(2025, 3, 10));
-        verify(repository).findById(orderId);
-        verifyNoInteractions(userClient);
+        verifyNoInteractions(userLookupService);
         verifyNoInteractions(mapper);
     }
 
     @Test
     void testDeleteOrderById() {
         Long orderId = 5L;
-        doNothing().when(repository).deleteById(orderId);
+        when(repository.deleteOrder(orderId)).thenReturn(1);
 
         assertDoesNotThrow(() -> service.deleteOrderById(orderId));
 
-        verify(repository).deleteById(orderId);
+        verify(repository).deleteOrder(orderId);
         verifyNoMoreInteractions(repository);
-        verifyNoInteractions(userClient);
+        verifyNoInteractions(userLookupService);
         verifyNoInteractions(mapper);
     }
 
@@ -290,49 +372,67 @@ public class OrderServiceTest {
     void testDeleteOrderByIdNotFound() {
         Long orderId = 5L;
 
-        doThrow(new EmptyResultDataAccessException(1)).when(repository).deleteById(orderId);
+        when(repository.deleteOrder(orderId)).thenReturn(0);
 
         assertThrows(EntityNotFoundException.class, () -> service.deleteOrderById(orderId));
 
-        verify(repository).deleteById(orderId);
+        verify(repository).deleteOrder(orderId);
         verifyNoMoreInteractions(repository);
-        verifyNoInteractions(userClient);
+        verifyNoInteractions(userLookupService);
         verifyNoInteractions(mapper);
     }
 
     @Test
     void testGetOrdersByEmail() {
         String email = "hanna00@gmail.com";
-        List<Order> orders = List.of(order);
+        List<OrderView> orders = List.of(orderView);
 
-        when(userClient.getUserByEmail(email)).thenReturn(userResponseDto);
-        when(repository.findByUserId(1L)).thenReturn(orders);
-        when(mapper.toOrderResponseDto(order)).thenReturn(orderResponseDto);
+        when(userLookupService.getUserByEmail(email)).thenReturn(userResponseDto);
+        when(repository.findByUserIdAndIdGreaterThanOrderByIdAsc(eq(1L), eq(0L), any())).thenReturn(orders);
+        when(mapper.toOrderResponseDto(orderView)).thenReturn(orderResponseDto);
 
-        List<OrderResponseDto> resultOrders = service.getOrdersByEmail(email);
+        List<OrderResponseDto> resultOrders = service.getOrdersByEmail(email, null, 50).getItems();
 
         assertEquals(1, resultOrders.size());
         assertEquals(1L, resultOrders.get(0).getId());
         assertEquals(email, resultOrders.get(0).getUser().getEmail());
 
-        verify(userClient).getUserByEmail(email);
-        verify(repository).findByUserId(1L);
-        verify(mapper).toOrderResponseDto(order);
+        verify(userLookupService).getUserByEmail(email);
+        verify(repository).findByUserIdAndIdGreaterThanOrderByIdAsc(eq(1L), eq(0L), any());
+        verify(mapper).toOrderResponseDto(orderView);
     }
 
     @Test
     void testGetUserByEmail() {
         String email = "hanna00@gmail.com";
 
-        when(userClient.getUserByEmail(email)).thenReturn(userResponseDto);
+        when(userLookupService.getUserByEmail(email)).thenReturn(userResponseDto);
 
         UserResponseDto resultUserResponseDto = service.getUserByEmail(email);
         assertEquals(userResponseDto, resultUserResponseDto);
         assertEquals(1L, resultUserResponseDto.getId());
         assertEquals(email, resultUserResponseDto.getEmail());
 
-        verify(userClient).getUserByEmail(email);
+        verify(userLookupService).getUserByEmail(email);
         verifyNoInteractions(repository);
         verifyNoInteractions(mapper);
     }
+
+    @Test
+    void testUpdateOrderStatuses() {
+        Map<Long, OrderStatus> statuses = Map.of(1L, OrderStatus.CONFIRMED, 2L, OrderStatus.CANCELED);
+        when(repository.updateStatuses(statuses)).thenReturn(2);
+
+        assertEquals(2, service.updateOrderStatuses(statuses));
+
+        verify(repository).updateStatuses(statuses);
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void testUpdateOrderStatusesEmpty() {
+        assertEquals(0, service.updateOrderStatuses(Map.of()));
+
+        verifyNoInteractions(repository);
+    }
 }
@@ -0,0 +1,48 @@
+package com.innowise.order.service;
+
+import com.innowise.order.dto.CursorPage;
+import com.innowise.order.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PageCursorTest {
+
+    @Test
+    void testCursorRoundTrip() {
+        assertEquals(42L, PageCursor.after(PageCursor.encode(42L)));
+        assertEquals(0L, PageCursor.after(null));
+    }
+
+    @Test
+    void testInvalidCursor() {
+        assertThrows(InvalidCursorException.class, () -> PageCursor.after("not a cursor"));
+        assertThrows(InvalidCursorException.class, () -> PageCursor.after("MTIz"));
+    }
+
+    @Test
+    void testFetchLimit() {
+        assertEquals(51, PageCursor.fetchLimit(50).max());
+        assertEquals(PageCursor.MAX_LIMIT + 1, PageCursor.fetchLimit(100_000).max());
+        assertEquals(2, PageCursor.fetchLimit(0).max());
+    }
+
+    @Test
+    void testPageWithNextCursor() {
+        CursorPage<Long> page = PageCursor.page(List.of(1L, 2L, 3L), 2, Function.identity(), Function.identity());
+
+        assertEquals(List.of(1L, 2L), page.getItems());
+        assertEquals(2L, PageCursor.after(page.getNextCursor()));
+    }
+
+    @Test
+    void testLastPage() {
+        CursorPage<Long> page = PageCursor.page(List.of(1L, 2L), 2, Function.identity(), Function.identity());
+
+        assertEquals(List.of(1L, 2L), page.getItems());
+        assertNull(page.getNextCursor());
+    }
+}
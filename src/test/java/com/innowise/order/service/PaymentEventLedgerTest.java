@@ -0,0 +1,60 @@
+package com.innowise.order.service;
+
+import com.innowise.order.repository.ProcessedPaymentEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class PaymentEventLedgerTest {
+
+    @Mock
+    private ProcessedPaymentEventRepository repository;
+
+    private PaymentEventLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ledger = new PaymentEventLedger(repository, new SimpleMeterRegistry(), 100, Duration.ofDays(14));
+    }
+
+    @Test
+    void testRecord() {
+        when(repository.insertNew(eq(List.of(1L, 2L)), any(Instant.class))).thenReturn(List.of(2L));
+
+        assertFalse(ledger.isProcessed(1L));
+        assertEquals(Set.of(2L), ledger.record(List.of(1L, 2L)));
+
+        assertTrue(ledger.isProcessed(1L));
+        assertTrue(ledger.isProcessed(2L));
+        assertFalse(ledger.isProcessed(3L));
+    }
+
+    @Test
+    void testRecordNothing() {
+        assertEquals(Set.of(), ledger.record(List.of()));
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void testDeleteExpired() {
+        ledger.deleteExpired();
+
+        verify(repository).deleteProcessedBefore(argThat(before ->
+                before.isBefore(Instant.now().minus(Duration.ofDays(14)).plusSeconds(60))));
+    }
+}
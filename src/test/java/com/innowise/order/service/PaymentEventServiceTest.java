@@ -0,0 +1,80 @@
+package com.innowise.order.service;
+
+import com.innowise.order.dto.PaymentEventDto;
+import com.innowise.order.status.OrderStatus;
+import com.innowise.order.status.PaymentStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class PaymentEventServiceTest {
+
+    @Mock
+    private PaymentEventLedger ledger;
+
+    @Mock
+    private OrderService orderService;
+
+    @InjectMocks
+    private PaymentEventService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void testApplyPaymentEventsKeepsLatestEventPerOrder() {
+        when(ledger.record(List.of(10L, 11L, 12L))).thenReturn(Set.of(10L, 11L, 12L));
+        when(orderService.updateOrderStatuses(any())).thenReturn(2);
+
+        int updated = service.applyPaymentEvents(List.of(
+                paymentEvent(10L, 1L, PaymentStatus.FAILED),
+                paymentEvent(11L, 2L, PaymentStatus.COMPLETED),
+                paymentEvent(12L, 1L, PaymentStatus.COMPLETED)));
+
+        assertEquals(2, updated);
+        verify(orderService).updateOrderStatuses(Map.of(1L, OrderStatus.CONFIRMED, 2L, OrderStatus.CONFIRMED));
+    }
+
+    @Test
+    void testApplyPaymentEventsSkipsRecordedEvents() {
+        when(ledger.record(List.of(10L, 11L))).thenReturn(Set.of(11L));
+
+        service.applyPaymentEvents(List.of(
+                paymentEvent(10L, 1L, PaymentStatus.COMPLETED),
+                paymentEvent(11L, 2L, PaymentStatus.FAILED)));
+
+        verify(orderService).updateOrderStatuses(Map.of(2L, OrderStatus.CANCELED));
+    }
+
+    @Test
+    void testApplyPaymentEventsWithoutIds() {
+        when(ledger.record(List.of())).thenReturn(Set.of());
+
+        service.applyPaymentEvents(List.of(
+                paymentEvent(null, 1L, PaymentStatus.COMPLETED),
+                paymentEvent(null, null, PaymentStatus.COMPLETED)));
+
+        verify(orderService).updateOrderStatuses(Map.of(1L, OrderStatus.CONFIRMED));
+    }
+
+    private PaymentEventDto paymentEvent(Long id, Long orderId, PaymentStatus status) {
+        PaymentEventDto paymentEvent = new PaymentEventDto();
+        paymentEvent.setId(id);
+        paymentEvent.setOrderId(orderId);
+        paymentEvent.setUserId(100L);
+        paymentEvent.setStatus(status);
+        paymentEvent.setSource("payment-service");
+        return paymentEvent;
+    }
+}
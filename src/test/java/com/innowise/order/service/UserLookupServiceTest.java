@@ -0,0 +1,303 @@
+package com.innowise.order.service;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.innowise.order.client.AuthorizationContext;
+import com.innowise.order.client.UserClient;
+import com.innowise.order.client.UserResponseDto;
+import com.innowise.order.client.UserSnapshotStore;
+import feign.Feign;
+import feign.FeignException;
+import feign.Request;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class UserLookupServiceTest {
+
+    @Mock
+    private UserClient userClient;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserSnapshotStore snapshotStore;
+    private UserLookupService service;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        snapshotStore = new UserSnapshotStore(100);
+        service = new UserLookupService(userClient, snapshotStore, new RequestMemo(), meterRegistry, 2,
+                Duration.ofMinutes(5), 100, Duration.ofMinutes(30), Duration.ofMinutes(5), "");
+    }
+
+    @Test
+    void testGetUserByIdCached() {
+        when(userClient.getUserById(1L)).thenReturn(user(1L));
+
+        UserResponseDto first = service.getUserById(1L);
+        UserResponseDto second = service.getUserById(1L);
+
+        assertEquals(first, second);
+        verify(userClient, times(1)).getUserById(1L);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "users.by-id").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "users.by-id").tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    @Test
+    void testGetUserByIdConcurrentCallersShareOneRequest() throws Exception {
+        WireMockServer wireMockServer = new WireMockServer(options().dynamicPort());
+        wireMockServer.start();
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            wireMockServer.stubFor(get(urlPathEqualTo("/users/get/1"))
+                    .willReturn(aResponse()
+                            .withHeader("Content-Type", "application/json")
+                            .withBody("{\"id\":1,\"email\":\"abc@gmail.com\",\"name\":\"Polly McDonald\"}")
+                            .withFixedDelay(200)));
+            UserClient remoteClient = Feign.builder()
+                    .contract(new SpringMvcContract())
+                    .decoder(new SpringDecoder(() -> new HttpMessageConverters(
+                            new MappingJackson2HttpMessageConverter())))
+                    .target(UserClient.class, wireMockServer.baseUrl());
+            UserLookupService remoteService = new UserLookupService(remoteClient, snapshotStore, new RequestMemo(),
+                    meterRegistry, 2, Duration.ofMinutes(5), 100, Duration.ofMinutes(30), Duration.ofMinutes(5), "");
+
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<UserResponseDto>> users = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                users.add(callers.submit(() -> {
+                    start.await();
+                    return remoteService.getUserById(1L);
+                }));
+            }
+            start.countDown();
+
+            for (Future<UserResponseDto> user : users) {
+                assertEquals("abc@gmail.com", user.get(5, TimeUnit.SECONDS).getEmail());
+            }
+            wireMockServer.verify(1, getRequestedFor(urlPathEqualTo("/users/get/1")));
+        } finally {
+            callers.shutdownNow();
+            wireMockServer.stop();
+        }
+    }
+
+    @Test
+    void testGetUserByIdSavesSnapshot() {
+        when(userClient.getUserById(1L)).thenReturn(user(1L));
+
+        service.getUserById(1L);
+        UserResponseDto snapshot = snapshotStore.serveStaleById(1L).orElseThrow();
+
+        assertTrue(snapshot.isStale());
+        assertEquals("user1@gmail.com", snapshot.getEmail());
+    }
+
+    @Test
+    void testGetUserByIdDoesNotCacheStaleUser() {
+        UserResponseDto staleUser = user(1L);
+        staleUser.setStale(true);
+        when(userClient.getUserById(1L)).thenReturn(staleUser, user(1L));
+
+        assertTrue(service.getUserById(1L).isStale());
+        assertFalse(service.getUserById(1L).isStale());
+        assertFalse(service.getUserById(1L).isStale());
+
+        verify(userClient, times(2)).getUserById(1L);
+    }
+
+    @Test
+    void testGetUserByIdRefreshesWithServiceCredential() throws Exception {
+        UserLookupService refreshingService = new UserLookupService(userClient, snapshotStore, new RequestMemo(),
+                meterRegistry, 2, Duration.ofMinutes(5), 100, Duration.ofMinutes(30), Duration.ofMillis(1),
+                "Bearer service-token");
+        List<String> authorizations = new CopyOnWriteArrayList<>();
+        when(userClient.getUserById(1L)).thenAnswer(invocation -> {
+            authorizations.add(AuthorizationContext.currentAuthorization());
+            return user(1L);
+        });
+
+        AuthorizationContext.callWith("Bearer caller-token", () -> refreshingService.getUserById(1L));
+        Thread.sleep(10);
+        AuthorizationContext.callWith("Bearer caller-token", () -> refreshingService.getUserById(1L));
+
+        verify(userClient, timeout(1000).times(2)).getUserById(1L);
+        assertEquals(List.of("Bearer caller-token", "Bearer service-token"), authorizations);
+    }
+
+    @Test
+    void testGetUserByIdDoesNotRefreshWithoutServiceCredential() throws Exception {
+        UserLookupService cachingService = new UserLookupService(userClient, snapshotStore, new RequestMemo(),
+                meterRegistry, 2, Duration.ofMinutes(5), 100, Duration.ofMinutes(30), Duration.ofMillis(1), "");
+        when(userClient.getUserById(1L)).thenReturn(user(1L));
+
+        cachingService.getUserById(1L);
+        Thread.sleep(10);
+        cachingService.getUserById(1L);
+
+        verify(userClient, after(100).times(1)).getUserById(1L);
+    }
+
+    @Test
+    void testRevalidateUser() {
+        UserResponseDto staleUser = user(1L);
+        staleUser.setStale(true);
+        when(userClient.getUserById(1L)).thenReturn(staleUser, user(1L));
+
+        assertFalse(service.revalidateUser(1L));
+        assertTrue(service.revalidateUser(1L));
+        assertFalse(service.getUserById(1L).isStale());
+
+        verify(userClient, times(2)).getUserById(1L);
+    }
+
+    @Test
+    void testGetUserByEmailPopulatesIdCache() {
+        when(userClient.getUserByEmail("user1@gmail.com")).thenReturn(user(1L));
+
+        service.getUserByEmail("user1@gmail.com");
+        UserResponseDto user = service.getUserById(1L);
+
+        assertEquals("user1@gmail.com", user.getEmail());
+        verify(userClient).getUserByEmail("user1@gmail.com");
+        verify(userClient, never()).getUserById(any());
+    }
+
+    @Test
+    void testEvictUserById() {
+        when(userClient.getUserById(1L)).thenReturn(user(1L));
+        when(userClient.getUserByEmail("user1@gmail.com")).thenReturn(user(1L));
+
+        service.getUserById(1L);
+        service.evictUserById(1L);
+        service.getUserById(1L);
+        service.evictUserById(1L);
+        service.getUserByEmail("user1@gmail.com");
+
+        verify(userClient, times(2)).getUserById(1L);
+        verify(userClient).getUserByEmail("user1@gmail.com");
+    }
+
+    @Test
+    void testGetUsersByIdsInChunks() {
+        when(userClient.getUsersByIds(List.of(1L, 2L))).thenReturn(List.of(user(1L), user(2L)));
+        when(userClient.getUsersByIds(List.of(3L))).thenReturn(List.of(user(3L)));
+
+        Map<Long, UserResponseDto> users = service.getUsersByIds(List.of(1L, 2L, 1L, 3L, 2L));
+
+        assertEquals(3, users.size());
+        assertEquals("user3@gmail.com", users.get(3L).getEmail());
+
+        verify(userClient).getUsersByIds(List.of(1L, 2L));
+        verify(userClient).getUsersByIds(List.of(3L));
+        verify(userClient, never()).getUserById(any());
+    }
+
+    @Test
+    void testGetUsersByIdsLoadsMissingUsersOneByOne() {
+        when(userClient.getUsersByIds(List.of(1L, 2L))).thenReturn(List.of(user(1L)));
+        when(userClient.getUserById(2L)).thenReturn(user(2L));
+
+        Map<Long, UserResponseDto> users = service.getUsersByIds(List.of(1L, 2L));
+
+        assertEquals(2, users.size());
+        verify(userClient).getUsersByIds(List.of(1L, 2L));
+        verify(userClient).getUserById(2L);
+    }
+
+    @Test
+    void testGetUsersByIdsWithoutBatchEndpoint() {
+        when(userClient.getUsersByIds(anyList())).thenThrow(notFound());
+        when(userClient.getUserById(1L)).thenReturn(user(1L));
+        when(userClient.getUserById(2L)).thenReturn(user(2L));
+
+        service.getUsersByIds(List.of(1L, 2L));
+        service.evictAll();
+        Map<Long, UserResponseDto> users = service.getUsersByIds(List.of(1L, 2L));
+
+        assertEquals(2, users.size());
+        verify(userClient, times(1)).getUsersByIds(anyList());
+        verify(userClient, times(2)).getUserById(1L);
+        verify(userClient, times(2)).getUserById(2L);
+    }
+
+    @Test
+    void testGetUsersByIdsProbesBatchEndpointAgainAfterRetryInterval() {
+        UserLookupService retryingService = new UserLookupService(userClient, snapshotStore, new RequestMemo(),
+                meterRegistry, 2, Duration.ZERO, 100, Duration.ofMinutes(30), Duration.ofMinutes(5), "");
+        when(userClient.getUsersByIds(anyList())).thenThrow(notFound()).thenReturn(List.of(user(1L), user(2L)));
+        when(userClient.getUserById(1L)).thenReturn(user(1L));
+        when(userClient.getUserById(2L)).thenReturn(user(2L));
+
+        retryingService.getUsersByIds(List.of(1L, 2L));
+        retryingService.evictAll();
+        Map<Long, UserResponseDto> users = retryingService.getUsersByIds(List.of(1L, 2L));
+
+        assertEquals(2, users.size());
+        verify(userClient, times(2)).getUsersByIds(anyList());
+        verify(userClient, times(1)).getUserById(1L);
+        verify(userClient, times(1)).getUserById(2L);
+    }
+
+    @Test
+    void testGetUsersByIdsSkipsCachedUsers() {
+        when(userClient.getUserById(1L)).thenReturn(user(1L));
+        when(userClient.getUsersByIds(List.of(2L))).thenReturn(List.of(user(2L)));
+
+        service.getUserById(1L);
+        Map<Long, UserResponseDto> users = service.getUsersByIds(List.of(1L, 2L));
+
+        assertEquals(2, users.size());
+        verify(userClient).getUserById(1L);
+        verify(userClient).getUsersByIds(List.of(2L));
+    }
+
+    @Test
+    void testGetUsersByIdsEmpty() {
+        Map<Long, UserResponseDto> users = service.getUsersByIds(List.of());
+
+        assertTrue(users.isEmpty());
+        verifyNoInteractions(userClient);
+    }
+
+    private UserResponseDto user(Long id) {
+        UserResponseDto user = new UserResponseDto();
+        user.setId(id);
+        user.setEmail("user" + id + "@gmail.com");
+        return user;
+    }
+
+    private FeignException notFound() {
+        Request request = Request.create(Request.HttpMethod.GET, "/users/get", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        return new FeignException.NotFound("Not Found", request, null, Map.of());
+    }
+}
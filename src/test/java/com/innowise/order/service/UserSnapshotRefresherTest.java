@@ -0,0 +1,73 @@
+package com.innowise.order.service;
+
+import com.innowise.order.client.AuthorizationContext;
+import com.innowise.order.client.UserResponseDto;
+import com.innowise.order.client.UserSnapshotStore;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.beans.factory.ObjectProvider;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class UserSnapshotRefresherTest {
+
+    @Mock
+    private UserLookupService userLookupService;
+
+    @Mock
+    private ObjectProvider<CircuitBreakerRegistry> circuitBreakerRegistry;
+
+    private UserSnapshotStore snapshotStore;
+    private CircuitBreakerRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        snapshotStore = new UserSnapshotStore(100);
+        registry = CircuitBreakerRegistry.ofDefaults();
+        when(circuitBreakerRegistry.getIfAvailable()).thenReturn(registry);
+
+        UserResponseDto user = new UserResponseDto();
+        user.setId(1L);
+        snapshotStore.save(user);
+        AuthorizationContext.callWith("Bearer caller-token", () -> snapshotStore.serveStaleById(1L));
+    }
+
+    @Test
+    void testRevalidateWithServiceCredential() {
+        when(userLookupService.revalidateUser(1L)).thenAnswer(invocation -> {
+            assertEquals("Bearer service-token", AuthorizationContext.currentAuthorization());
+            return true;
+        });
+
+        refresher("Bearer service-token").revalidate();
+
+        verify(userLookupService).revalidateUser(1L);
+    }
+
+    @Test
+    void testRevalidateWithoutServiceCredential() {
+        refresher("").revalidate();
+
+        verifyNoInteractions(userLookupService);
+    }
+
+    @Test
+    void testRevalidateWhileCircuitIsOpen() {
+        registry.circuitBreaker("userService").transitionToOpenState();
+
+        refresher("Bearer service-token").revalidate();
+
+        verify(userLookupService, never()).revalidateUser(any());
+    }
+
+    private UserSnapshotRefresher refresher(String serviceAuthorization) {
+        return new UserSnapshotRefresher(snapshotStore, userLookupService, circuitBreakerRegistry, "userService",
+                serviceAuthorization, 100);
+    }
+}